@@ -0,0 +1,25 @@
+package pl.edu.salonmanager.salon_manager.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "salon.availability-cache")
+@Validated
+@Data
+public class AvailabilityCacheProperties {
+
+    private boolean enabled = true;
+
+    @Min(0)
+    private long maximumSize = 10_000;
+
+    @NotNull
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,44 @@
+package pl.edu.salonmanager.salon_manager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@link DataSourcePoolProperties} to the Hikari pool before it opens its first connection.
+ * Pool metrics (hikaricp.connections.*) are bound by Spring Boot using the pool name as a tag.
+ */
+@Configuration
+@Slf4j
+public class DataSourcePoolConfig {
+
+    @Bean
+    public static BeanPostProcessor hikariPoolCustomizer(ObjectProvider<DataSourcePoolProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    apply(properties.getObject(), dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static void apply(DataSourcePoolProperties pool, HikariDataSource dataSource) {
+        dataSource.setPoolName(pool.getName());
+        dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+        dataSource.setMinimumIdle(Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()));
+        dataSource.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+        dataSource.setIdleTimeout(pool.getIdleTimeout().toMillis());
+        dataSource.setMaxLifetime(pool.getMaxLifetime().toMillis());
+        dataSource.setLeakDetectionThreshold(pool.getLeakDetectionThreshold().toMillis());
+
+        log.info("Connection pool {}: max {} connections, min idle {}, connection timeout {}, leak detection {}",
+                pool.getName(), pool.getMaximumPoolSize(), dataSource.getMinimumIdle(),
+                pool.getConnectionTimeout(), pool.getLeakDetectionThreshold());
+    }
+}
@@ -0,0 +1,46 @@
+package pl.edu.salonmanager.salon_manager.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "salon.datasource.pool")
+@Validated
+@Data
+public class DataSourcePoolProperties {
+
+    @NotBlank
+    private String name = "salon-pool";
+
+    @Min(1)
+    private int maximumPoolSize = 10;
+
+    @Min(0)
+    private int minimumIdle = 10;
+
+    /**
+     * How long a request waits for a free connection before failing.
+     */
+    @NotNull
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    @NotNull
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @NotNull
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    /**
+     * Logs a warning with the borrower's stack trace when a connection is held longer than this.
+     * Zero disables leak detection.
+     */
+    @NotNull
+    private Duration leakDetectionThreshold = Duration.ZERO;
+}
@@ -36,7 +36,8 @@ public class OpenApiConfig {
                 .description("REST API dla systemu rezerwacji salonu beauty\n\n" +
                         "**Uwierzytelnianie:**\n" +
                         "- Publiczne GET endpoints nie wymagają autoryzacji\n" +
-                        "- Pozostałe endpointy wymagają HTTP Basic Auth\n" +
+                        "- Pozostałe endpointy wymagają tokena Bearer (POST /api/v1/users/login) lub HTTP Basic Auth\n" +
+                        "- Wygasły token odświeżysz przez POST /api/v1/users/token/refresh\n" +
                         "- ADMIN role: admin@salon.pl / admin123\n" +
                         "- USER role: zobacz DataInitializer dla przykładowych użytkowników lub zarejestruj się")
                 .contact(contact)
@@ -48,13 +49,22 @@ public class OpenApiConfig {
                 .scheme("basic")
                 .description("HTTP Basic Authentication - użyj email i hasła");
 
+        SecurityScheme bearerAuthScheme = new SecurityScheme()
+                .name("bearerAuth")
+                .type(SecurityScheme.Type.HTTP)
+                .scheme("bearer")
+                .bearerFormat("JWT")
+                .description("Token dostępowy z POST /api/v1/users/login");
+
         SecurityRequirement securityRequirement = new SecurityRequirement()
+                .addList("bearerAuth")
                 .addList("basicAuth");
 
         return new OpenAPI()
                 .info(info)
                 .servers(List.of(localServer))
                 .components(new Components()
+                        .addSecuritySchemes("bearerAuth", bearerAuthScheme)
                         .addSecuritySchemes("basicAuth", basicAuthScheme))
                 .addSecurityItem(securityRequirement);
     }
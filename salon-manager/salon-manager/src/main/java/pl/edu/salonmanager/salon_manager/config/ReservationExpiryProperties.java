@@ -0,0 +1,39 @@
+package pl.edu.salonmanager.salon_manager.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "salon.reservation-expiry")
+@Validated
+@Data
+public class ReservationExpiryProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Delay between runs; read by the scheduler.
+     */
+    @NotNull
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * CREATED reservations starting earlier than now plus this margin are cancelled.
+     */
+    @NotNull
+    private Duration expireBeforeStart = Duration.ZERO;
+
+    @Min(1)
+    @Max(10_000)
+    private int batchSize = 200;
+
+    @Min(1)
+    private int maxBatchesPerRun = 50;
+}
@@ -21,6 +21,9 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import pl.edu.salonmanager.salon_manager.security.CachingAuthenticationProvider;
+import pl.edu.salonmanager.salon_manager.security.CredentialCache;
+import pl.edu.salonmanager.salon_manager.security.TokenService;
 
 import java.util.Arrays;
 
@@ -31,6 +34,8 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
+    private final TokenService tokenService;
+    private final CredentialCache credentialCache;
 
     @Bean
     @Order(1)
@@ -42,16 +47,27 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .httpBasic(Customizer.withDefaults())
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt
+                                .decoder(tokenService.accessTokenDecoder())
+                                .jwtAuthenticationConverter(tokenService::toAuthentication)))
 
                 .authorizeHttpRequests(auth -> auth
                         // Publiczne endpoints - autentykacja
                         .requestMatchers(HttpMethod.POST, "/api/v1/users/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/users/token/refresh").permitAll()
+
+                        // Eksporty CSV - tylko ADMIN, muszą być przed publicznymi GET /**
+                        .requestMatchers(HttpMethod.GET, "/api/v1/services/export/csv").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/reservations/export/csv").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/reviews/export/csv").hasRole("ADMIN")
 
                         // Publiczne GET endpoints
                         .requestMatchers(HttpMethod.GET, "/api/v1/services/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/employees/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/reviews/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/reservations/availability").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/reservations/availability/range").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/salon/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/employee-specializations/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/users/register").permitAll()
@@ -63,7 +79,6 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/reservations/employee/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/employees/*/schedule").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/statistics/**").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/v1/services/export/csv").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/v1/services/import/csv").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/v1/services/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/services/**").hasRole("ADMIN")
@@ -102,6 +117,34 @@ public class SecurityConfig {
 
     @Bean
     @Order(2)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
+
+                .authorizeHttpRequests(auth -> auth
+                        // Healthcheck kontenera działa bez logowania
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+
+                        // Metryki i scrape Prometheusa - tylko ADMIN
+                        .anyRequest().hasRole("ADMIN")
+                )
+
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((request, response, authException) ->
+                                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized"))
+                        .accessDeniedHandler((request, response, accessDeniedException) ->
+                                response.sendError(HttpServletResponse.SC_FORBIDDEN, "Forbidden"))
+                );
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(3)
     public SecurityFilterChain mvcSecurityFilterChain(HttpSecurity http) throws Exception {
         http
                 .securityMatcher("/**")
@@ -144,9 +187,8 @@ public class SecurityConfig {
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new CachingAuthenticationProvider(passwordEncoder(), credentialCache);
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
         return authProvider;
     }
 
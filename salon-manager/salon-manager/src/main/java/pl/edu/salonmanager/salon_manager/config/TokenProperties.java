@@ -0,0 +1,34 @@
+package pl.edu.salonmanager.salon_manager.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "salon.security.token")
+@Validated
+@Data
+public class TokenProperties {
+
+    /**
+     * HMAC-SHA256 signing key, at least 256 bits.
+     */
+    @NotBlank
+    @Size(min = 32)
+    private String secret;
+
+    @NotBlank
+    private String issuer = "salon-manager";
+
+    @NotNull
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
+    @NotNull
+    private Duration refreshTokenTtl = Duration.ofDays(7);
+}
@@ -5,23 +5,28 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
-import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityRangeResponseDto;
 import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityResponseDto;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.UpdateReservationRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.response.ReservationDetailDto;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.response.ReservationPageDto;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.CreateReservationRequest;
 import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.CurrentUserId;
 import pl.edu.salonmanager.salon_manager.service.AvailabilityService;
+import pl.edu.salonmanager.salon_manager.service.CsvExportService;
 import pl.edu.salonmanager.salon_manager.service.ReservationService;
 
 import java.time.LocalDate;
@@ -36,7 +41,7 @@ public class ReservationController {
 
     private final ReservationService reservationService;
     private final AvailabilityService availabilityService;
-    private final UserRepository userRepository;
+    private final CsvExportService csvExportService;
 
     // GET /api/v1/reservations/availability
     @GetMapping("/availability")
@@ -52,30 +57,41 @@ public class ReservationController {
         return ResponseEntity.ok(result);
     }
 
+    // GET /api/v1/reservations/availability/range
+    @GetMapping("/availability/range")
+    @Operation(summary = "Search availability in date range (PUBLIC)", description = "Finds available time slots for selected services for every day between dateFrom and dateTo")
+    public ResponseEntity<AvailabilityRangeResponseDto> searchAvailabilityInRange(
+            @RequestParam LocalDate dateFrom,
+            @RequestParam LocalDate dateTo,
+            @RequestParam List<Long> serviceIds) {
+
+        log.info("REST request to search availability from {} to {} for services: {}", dateFrom, dateTo, serviceIds);
+
+        AvailabilityRangeResponseDto result = availabilityService.findAvailableSlotsInRange(dateFrom, dateTo, serviceIds);
+
+        return ResponseEntity.ok(result);
+    }
+
     // GET /api/v1/reservations/my
     @GetMapping("/my")
-    @Operation(summary = "Get my reservations (USER)", description = "Returns all reservations for the authenticated user")
-    public ResponseEntity<List<ReservationDetailDto>> getMyReservations() {
+    @Operation(summary = "Get my reservations (USER)",
+               description = "Returns one page of the authenticated user's reservations (page, size, sort)")
+    public ResponseEntity<ReservationPageDto> getMyReservations(
+            @CurrentUserId Long userId,
+            @PageableDefault(size = 20, sort = "startTime", direction = Sort.Direction.DESC) Pageable pageable) {
 
-        Long userId = getCurrentUserId();
         log.info("REST request to get reservations for authenticated user: {}", userId);
 
-        List<Reservation> reservations = reservationService.getMyReservations(userId);
-
-        List<ReservationDetailDto> result = reservations.stream()
-                .map(this::mapToDto)
-                .toList();
-
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(ReservationPageDto.of(reservationService.getMyReservations(userId, pageable)));
     }
 
     // POST /api/v1/reservations
     @PostMapping
     @Operation(summary = "Create reservation (USER)", description = "Creates a new reservation for the authenticated user")
     public ResponseEntity<ReservationDetailDto> createReservation(
-            @Valid @RequestBody CreateReservationRequest request) {
+            @Valid @RequestBody CreateReservationRequest request,
+            @CurrentUserId Long userId) {
 
-        Long userId = getCurrentUserId();
         log.info("REST request to create reservation for authenticated user: {}", userId);
 
         Reservation saved = reservationService.createReservation(request, userId);
@@ -85,9 +101,9 @@ public class ReservationController {
     // PUT /api/v1/reservations/{id}/confirm
     @PutMapping("/{id}/confirm")
     @Operation(summary = "Confirm reservation (USER)", description = "Confirms a reservation by the authenticated user")
-    public ResponseEntity<ReservationDetailDto> confirmReservation(@PathVariable Long id) {
+    public ResponseEntity<ReservationDetailDto> confirmReservation(@PathVariable Long id,
+                                                                   @CurrentUserId Long userId) {
 
-        Long userId = getCurrentUserId();
         log.info("REST request to confirm reservation {} by authenticated user {}", id, userId);
 
         Reservation updated = reservationService.confirmReservation(id, userId);
@@ -105,58 +121,69 @@ public class ReservationController {
 
     // GET /api/v1/reservations (ADMIN)
     @GetMapping
-    @Operation(summary = "Get all reservations (ADMIN)", description = "Returns all reservations with optional status filter")
-    public ResponseEntity<List<ReservationDetailDto>> getAllReservations(
-            @RequestParam(required = false) ReservationStatus status) {
-
-        List<Reservation> reservations = reservationService.getAllReservations(status);
-        List<ReservationDetailDto> result = reservations.stream()
-                .map(this::mapToDto)
-                .toList();
+    @Operation(summary = "Get all reservations (ADMIN)",
+               description = "Returns one page of reservations with optional status filter (page, size, sort)")
+    public ResponseEntity<ReservationPageDto> getAllReservations(
+            @RequestParam(required = false) ReservationStatus status,
+            @PageableDefault(size = 20, sort = "startTime", direction = Sort.Direction.DESC) Pageable pageable) {
 
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(ReservationPageDto.of(reservationService.getAllReservations(status, pageable)));
     }
 
     // GET /api/v1/reservations/employee/{employeeId} (ADMIN)
     @GetMapping("/employee/{employeeId}")
-    @Operation(summary = "Get reservations by employee (ADMIN)", description = "Returns all reservations for a specific employee with optional date range")
-    public ResponseEntity<List<ReservationDetailDto>> getReservationsByEmployee(
+    @Operation(summary = "Get reservations by employee (ADMIN)",
+               description = "Returns one page of reservations for a specific employee with optional date range (page, size, sort)")
+    public ResponseEntity<ReservationPageDto> getReservationsByEmployee(
             @PathVariable Long employeeId,
-            @RequestParam(required = false) java.time.LocalDate startDate,
-            @RequestParam(required = false) java.time.LocalDate endDate) {
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @PageableDefault(size = 20, sort = "startTime") Pageable pageable) {
 
         log.info("REST request to get reservations for employee: {} from {} to {}", employeeId, startDate, endDate);
 
-        List<Reservation> reservations;
+        Page<ReservationDetailDto> reservations;
         if (startDate != null && endDate != null) {
-            reservations = reservationService.getReservationsByEmployeeAndDateRange(employeeId, startDate, endDate);
+            reservations = reservationService.getReservationsByEmployeeAndDateRange(employeeId, startDate, endDate, pageable);
         } else if (startDate != null) {
-            reservations = reservationService.getReservationsByEmployeeAndDateRange(employeeId, startDate, startDate.plusDays(30));
+            reservations = reservationService.getReservationsByEmployeeAndDateRange(employeeId, startDate, startDate.plusDays(30), pageable);
         } else {
-            java.time.LocalDate today = java.time.LocalDate.now();
-            reservations = reservationService.getReservationsByEmployeeAndDateRange(employeeId, today.minusYears(1), today.plusYears(1));
+            LocalDate today = LocalDate.now();
+            reservations = reservationService.getReservationsByEmployeeAndDateRange(employeeId, today.minusYears(1), today.plusYears(1), pageable);
         }
 
-        List<ReservationDetailDto> result = reservations.stream()
-                .map(this::mapToDto)
-                .toList();
+        return ResponseEntity.ok(ReservationPageDto.of(reservations));
+    }
 
-        return ResponseEntity.ok(result);
+    // GET /api/v1/reservations/export/csv (ADMIN)
+    @GetMapping("/export/csv")
+    @Operation(summary = "Export reservations to CSV (ADMIN)",
+               description = "Streams reservations starting between dateFrom and dateTo (inclusive) as a CSV file")
+    public ResponseEntity<StreamingResponseBody> exportToCsv(
+            @RequestParam LocalDate dateFrom,
+            @RequestParam LocalDate dateTo) {
+        log.info("REST request to export reservations from {} to {} to CSV", dateFrom, dateTo);
+
+        if (dateTo.isBefore(dateFrom)) {
+            throw new BadRequestException("dateTo must not be before dateFrom");
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations.csv\"")
+                .body(out -> csvExportService.writeReservations(dateFrom, dateTo, out));
     }
 
     // PUT /api/v1/reservations/{id}/cancel (ADMIN + USER with ownership)
     @PutMapping("/{id}/cancel")
     @Operation(summary = "Cancel reservation (ADMIN or USER with ownership)",
                description = "Cancels a reservation. Admin can cancel any reservation, user can only cancel their own (except APPROVED ones)")
-    public ResponseEntity<ReservationDetailDto> cancelReservation(@PathVariable Long id) {
+    public ResponseEntity<ReservationDetailDto> cancelReservation(@PathVariable Long id,
+                                                                  @CurrentUserId Long userId) {
 
-        Long userId = getCurrentUserId();
         log.info("REST request to cancel reservation {} by {}", id, userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-
-        Reservation updated = reservationService.cancelReservation(id, user);
+        Reservation updated = reservationService.cancelReservation(id, userId);
 
         return ResponseEntity.ok(mapToDto(updated));
     }
@@ -167,29 +194,16 @@ public class ReservationController {
                description = "Updates a reservation. Cannot update APPROVED reservations for users. Admin can update any reservation.")
     public ResponseEntity<ReservationDetailDto> updateReservation(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateReservationRequest request) {
+            @Valid @RequestBody UpdateReservationRequest request,
+            @CurrentUserId Long userId) {
 
-        Long userId = getCurrentUserId();
         log.info("REST request to update reservation {} by {}", id, userId);
 
-        Reservation updated = reservationService.updateReservation(id, request);
+        Reservation updated = reservationService.updateReservation(id, request, userId);
 
         return ResponseEntity.ok(mapToDto(updated));
     }
 
-    private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new UnauthorizedException("User not authenticated");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-
-        return user.getId();
-    }
-
     private ReservationDetailDto mapToDto(Reservation reservation) {
         return new ReservationDetailDto(
                 reservation.getId(),
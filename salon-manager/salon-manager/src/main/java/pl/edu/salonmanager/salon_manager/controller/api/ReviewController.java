@@ -10,16 +10,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
-import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pl.edu.salonmanager.salon_manager.model.dto.review.response.ReviewDto;
 import pl.edu.salonmanager.salon_manager.model.dto.review.request.CreateReviewRequest;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.CurrentUserId;
+import pl.edu.salonmanager.salon_manager.service.CsvExportService;
 import pl.edu.salonmanager.salon_manager.service.ReviewService;
 
 import java.io.IOException;
@@ -34,7 +31,7 @@ import java.util.List;
 public class ReviewController {
 
     private final ReviewService reviewService;
-    private final UserRepository userRepository;
+    private final CsvExportService csvExportService;
 
     @GetMapping
     @Operation(summary = "Get all reviews (PUBLIC)", description = "Returns list of all reviews")
@@ -44,6 +41,16 @@ public class ReviewController {
         return ResponseEntity.ok(reviews);
     }
 
+    @GetMapping("/export/csv")
+    @Operation(summary = "Export reviews to CSV (ADMIN)", description = "Streams all reviews as a CSV file")
+    public ResponseEntity<StreamingResponseBody> exportToCsv() {
+        log.info("REST request to export reviews to CSV");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reviews.csv\"")
+                .body(csvExportService::writeReviews);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get review by ID (PUBLIC)", description = "Returns a single review by ID")
     public ResponseEntity<ReviewDto> getReviewById(@PathVariable Long id) {
@@ -69,9 +76,8 @@ public class ReviewController {
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete review (USER, owner only)", description = "Deletes a review with its image")
-    public ResponseEntity<Void> deleteReview(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteReview(@PathVariable Long id, @CurrentUserId Long userId) {
         log.info("REST request to delete review: {}", id);
-        Long userId = getCurrentUserId();
         reviewService.deleteReview(id, userId);
         return ResponseEntity.noContent().build();
     }
@@ -98,17 +104,4 @@ public class ReviewController {
                        "inline; filename=\"" + resource.getFilename() + "\"")
                 .body(resource);
     }
-
-    private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new UnauthorizedException("User not authenticated");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-
-        return user.getId();
-    }
 }
@@ -10,10 +10,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.CsvImportReportDto;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.ServiceOfferDto;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.UpdateServiceRequest;
+import pl.edu.salonmanager.salon_manager.service.CsvExportService;
 import pl.edu.salonmanager.salon_manager.service.ServiceOfferCsvService;
 import pl.edu.salonmanager.salon_manager.service.ServiceOfferService;
 
@@ -28,6 +32,7 @@ public class ServiceOfferController {
 
     private final ServiceOfferService serviceOfferService;
     private final ServiceOfferCsvService csvService;
+    private final CsvExportService csvExportService;
 
     // GET /api/v1/services
     @GetMapping
@@ -73,11 +78,18 @@ public class ServiceOfferController {
 
     // GET /api/v1/services/export/csv
     @GetMapping("/export/csv")
-    @Operation(summary = "Export services to CSV (ADMIN)", description = "Exports all service offers to CSV file")
-    public ResponseEntity<String> exportToCsv() {
+    @Operation(summary = "Export services to CSV (ADMIN)",
+               description = "Streams all service offers as a CSV file. Supports If-None-Match and If-Modified-Since; "
+                       + "an unchanged catalog returns 304")
+    public ResponseEntity<StreamingResponseBody> exportToCsv(WebRequest request) {
         log.info("REST request to export services to CSV");
 
-        String csv = csvService.exportToCsv();
+        // Read the version before streaming: a change committed meanwhile only makes the tag stale
+        String eTag = csvExportService.serviceOffersETag();
+        long lastModified = csvExportService.serviceOffersLastModified().toEpochMilli();
+        if (request.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("text/csv; charset=UTF-8"));
@@ -85,19 +97,22 @@ public class ServiceOfferController {
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(csv);
+                .body(csvExportService::writeServiceOffers);
     }
 
     // POST /api/v1/services/import/csv
     @PostMapping(value = "/import/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @Operation(summary = "Import services from CSV (ADMIN)", description = "Imports service offers from CSV file")
-    public ResponseEntity<List<ServiceOfferDto>> importFromCsv(
+    @Operation(summary = "Import services from CSV (ADMIN)",
+               description = "Imports service offers from an RFC 4180 CSV file. Nothing is imported if any row "
+                       + "is invalid; the report then lists the invalid rows and the status is 400")
+    public ResponseEntity<CsvImportReportDto> importFromCsv(
             @RequestParam("file") MultipartFile file) {
         log.info("REST request to import services from CSV: {}", file.getOriginalFilename());
 
-        List<ServiceOfferDto> imported = csvService.importFromCsv(file);
+        CsvImportReportDto report = csvService.importFromCsv(file);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(imported);
+        HttpStatus status = report.isSuccessful() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(report);
     }
 }
 
@@ -4,11 +4,25 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsPageDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.EmployeeRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ServiceRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.enums.ClientStatisticsSort;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+import pl.edu.salonmanager.salon_manager.service.ClientStatisticsExportService;
+import pl.edu.salonmanager.salon_manager.service.RevenueAnalyticsService;
 import pl.edu.salonmanager.salon_manager.service.StatisticsService;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/statistics")
 @RequiredArgsConstructor
@@ -17,6 +31,40 @@ import pl.edu.salonmanager.salon_manager.service.StatisticsService;
 public class StatisticsController {
 
     private final StatisticsService statisticsService;
+    private final ClientStatisticsExportService exportService;
+    private final RevenueAnalyticsService revenueAnalyticsService;
+
+    @GetMapping("/clients")
+    @Operation(summary = "List client statistics (ADMIN)",
+               description = "Returns one page of client statistics sorted descending by spending or visits. "
+                       + "Pass nextCursor from the previous page as cursor to get the next one")
+    public ResponseEntity<ClientStatisticsPageDto> getClientStatistics(
+            @RequestParam(defaultValue = "SPENDING") ClientStatisticsSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("REST request to get client statistics sorted by {}", sort);
+        return ResponseEntity.ok(statisticsService.getClientStatisticsPage(sort, cursor, limit));
+    }
+
+    @GetMapping("/clients/export")
+    @Operation(summary = "Stream all client statistics (ADMIN)",
+               description = "Streams statistics of all clients as a JSON array or CSV (format=json|csv)")
+    public ResponseEntity<StreamingResponseBody> exportClientStatistics(
+            @RequestParam(defaultValue = "SPENDING") ClientStatisticsSort sort,
+            @RequestParam(defaultValue = "json") String format) {
+        log.info("REST request to export client statistics as {}", format);
+
+        return switch (format) {
+            case "json" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> exportService.writeJson(sort, out));
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"client-statistics.csv\"")
+                    .body(out -> exportService.writeCsv(sort, out));
+            default -> throw new BadRequestException("Unsupported format: " + format + ". Use json or csv");
+        };
+    }
 
     @GetMapping("/clients/{id}")
     @Operation(summary = "Get client statistics by ID (ADMIN)",
@@ -26,4 +74,29 @@ public class StatisticsController {
         ClientStatisticsDto statistics = statisticsService.getClientStatisticsById(id);
         return ResponseEntity.ok(statistics);
     }
+
+    @GetMapping("/employees/revenue")
+    @Operation(summary = "Get employee revenue and utilization (ADMIN)",
+               description = "Returns bookings, revenue, booked and scheduled minutes per employee, "
+                       + "bucketed by DAY, WEEK or MONTH")
+    public ResponseEntity<List<EmployeeRevenueDto>> getEmployeeRevenue(
+            @RequestParam(defaultValue = "DAY") StatisticsPeriod period,
+            @RequestParam LocalDate dateFrom,
+            @RequestParam LocalDate dateTo,
+            @RequestParam(required = false) Long employeeId) {
+        log.info("REST request to get {} employee revenue from {} to {}", period, dateFrom, dateTo);
+        return ResponseEntity.ok(revenueAnalyticsService.getEmployeeRevenue(period, dateFrom, dateTo, employeeId));
+    }
+
+    @GetMapping("/services/revenue")
+    @Operation(summary = "Get service revenue (ADMIN)",
+               description = "Returns bookings and revenue per service, bucketed by DAY, WEEK or MONTH")
+    public ResponseEntity<List<ServiceRevenueDto>> getServiceRevenue(
+            @RequestParam(defaultValue = "DAY") StatisticsPeriod period,
+            @RequestParam LocalDate dateFrom,
+            @RequestParam LocalDate dateTo,
+            @RequestParam(required = false) Long serviceId) {
+        log.info("REST request to get {} service revenue from {} to {}", period, dateFrom, dateTo);
+        return ResponseEntity.ok(revenueAnalyticsService.getServiceRevenue(period, dateFrom, dateTo, serviceId));
+    }
 }
@@ -17,10 +17,12 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 import pl.edu.salonmanager.salon_manager.model.dto.auth.LoginRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.auth.LoginResponse;
+import pl.edu.salonmanager.salon_manager.model.dto.auth.RefreshTokenRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.user.request.UserRegistrationDto;
 import pl.edu.salonmanager.salon_manager.model.dto.user.response.UserDto;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.SalonUserPrincipal;
+import pl.edu.salonmanager.salon_manager.security.TokenPair;
+import pl.edu.salonmanager.salon_manager.security.TokenService;
 import pl.edu.salonmanager.salon_manager.service.UserService;
 
 import java.util.List;
@@ -35,7 +37,7 @@ public class UserController {
 
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
+    private final TokenService tokenService;
 
     @GetMapping
     @Operation(summary = "Get all users (ADMIN)", description = "Returns list of all users with their roles")
@@ -61,7 +63,7 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    @Operation(summary = "Login user (PUBLIC)", description = "Authenticates user and returns user details with roles")
+    @Operation(summary = "Login user (PUBLIC)", description = "Authenticates user and returns user details, roles and a bearer token pair")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @ApiResponse(responseCode = "401", description = "Invalid credentials")
@@ -77,22 +79,10 @@ public class UserController {
                     )
             );
 
-            User user = userRepository.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new BadCredentialsException("User not found"));
-
-            LoginResponse response = LoginResponse.builder()
-                    .id(user.getId())
-                    .email(user.getEmail())
-                    .firstName(user.getFirstName())
-                    .lastName(user.getLastName())
-                    .roles(authentication.getAuthorities().stream()
-                            .map(GrantedAuthority::getAuthority)
-                            .collect(Collectors.toSet()))
-                    .message("Login successful")
-                    .build();
+            SalonUserPrincipal user = (SalonUserPrincipal) authentication.getPrincipal();
 
             log.info("User {} logged in successfully via REST API", request.getEmail());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(tokenResponse(user, tokenService.issueTokens(user), "Login successful"));
 
         } catch (BadCredentialsException e) {
             log.warn("Failed login attempt for user: {}", request.getEmail());
@@ -103,8 +93,19 @@ public class UserController {
         }
     }
 
+    @PostMapping("/token/refresh")
+    @Operation(summary = "Refresh tokens (PUBLIC)", description = "Exchanges a refresh token for a new bearer token pair")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed"),
+            @ApiResponse(responseCode = "401", description = "Invalid or expired refresh token")
+    })
+    public ResponseEntity<LoginResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        TokenService.RefreshedTokens refreshed = tokenService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(tokenResponse(refreshed.user(), refreshed.tokens(), "Token refreshed"));
+    }
+
     @GetMapping("/me")
-    @Operation(summary = "Get current user", description = "Returns details of currently authenticated user (requires Basic Auth header)")
+    @Operation(summary = "Get current user", description = "Returns details of currently authenticated user (Basic Auth header or Bearer token)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User details returned"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
@@ -117,11 +118,7 @@ public class UserController {
                             .build());
         }
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElse(null);
-
-        if (user == null) {
+        if (!(authentication.getPrincipal() instanceof SalonUserPrincipal user)) {
             return ResponseEntity.status(401)
                     .body(LoginResponse.builder()
                             .message("User not found")
@@ -141,4 +138,21 @@ public class UserController {
 
         return ResponseEntity.ok(response);
     }
+
+    private LoginResponse tokenResponse(SalonUserPrincipal user, TokenPair tokens, String message) {
+        return LoginResponse.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .roles(user.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toSet()))
+                .message(message)
+                .accessToken(tokens.accessToken())
+                .refreshToken(tokens.refreshToken())
+                .tokenType("Bearer")
+                .expiresIn(tokens.expiresInSeconds())
+                .build();
+    }
 }
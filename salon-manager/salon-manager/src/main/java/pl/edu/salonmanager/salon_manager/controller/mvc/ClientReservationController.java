@@ -7,18 +7,13 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
-import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.CreateReservationRequest;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.CurrentUserId;
 import pl.edu.salonmanager.salon_manager.service.EmployeeService;
 import pl.edu.salonmanager.salon_manager.service.ReservationService;
 import pl.edu.salonmanager.salon_manager.service.ServiceOfferService;
@@ -33,11 +28,9 @@ import java.util.Set;
 public class ClientReservationController {
 
     private final ReservationService reservationService;
-    private final UserRepository userRepository;
 
     @GetMapping
-    public String myReservations(Model model) {
-        Long userId = getCurrentUserId();
+    public String myReservations(@CurrentUserId Long userId, Model model) {
         model.addAttribute("reservations", reservationService.getMyReservations(userId));
         return "client/reservations/list";
     }
@@ -45,13 +38,10 @@ public class ClientReservationController {
     @PostMapping("/{id}/cancel")
     public String cancelReservation(
             @PathVariable Long id,
+            @CurrentUserId Long userId,
             RedirectAttributes redirectAttributes) {
         try {
-            Long userId = getCurrentUserId();
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-
-            reservationService.cancelReservation(id, user);
+            reservationService.cancelReservation(id, userId);
             redirectAttributes.addFlashAttribute("successMessage", "Rezerwacja anulowana");
             return "redirect:/client/reservations";
         } catch (Exception e) {
@@ -64,9 +54,9 @@ public class ClientReservationController {
     @PostMapping("/{id}/confirm")
     public String confirmReservation(
             @PathVariable Long id,
+            @CurrentUserId Long userId,
             RedirectAttributes redirectAttributes) {
         try {
-            Long userId = getCurrentUserId();
             reservationService.confirmReservation(id, userId);
             redirectAttributes.addFlashAttribute("successMessage", "Rezerwacja potwierdzona");
             return "redirect:/client/reservations";
@@ -77,17 +67,4 @@ public class ClientReservationController {
         }
     }
 
-    private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new UnauthorizedException("User not authenticated");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return user.getId();
-    }
-
 }
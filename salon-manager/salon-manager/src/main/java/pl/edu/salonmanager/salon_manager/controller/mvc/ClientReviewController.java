@@ -6,18 +6,13 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
-import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
 import pl.edu.salonmanager.salon_manager.model.dto.review.request.CreateReviewRequest;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.CurrentUserId;
 import pl.edu.salonmanager.salon_manager.service.ReviewService;
 
 @Controller
@@ -27,7 +22,6 @@ import pl.edu.salonmanager.salon_manager.service.ReviewService;
 public class ClientReviewController {
 
     private final ReviewService reviewService;
-    private final UserRepository userRepository;
 
     @GetMapping("/add")
     public String showAddReviewForm(Model model) {
@@ -39,6 +33,7 @@ public class ClientReviewController {
     public String addReview(
             @Valid @ModelAttribute("reviewForm") ReviewForm form,
             BindingResult bindingResult,
+            @CurrentUserId Long userId,
             RedirectAttributes redirectAttributes,
             Model model) {
 
@@ -47,7 +42,6 @@ public class ClientReviewController {
         }
 
         try {
-            Long userId = getCurrentUserId();
             log.debug("Adding review for user ID: {}", userId);
 
             CreateReviewRequest request = new CreateReviewRequest();
@@ -65,19 +59,6 @@ public class ClientReviewController {
         }
     }
 
-    private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new UnauthorizedException("User not authenticated");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-
-        return user.getId();
-    }
-
     @Data
     public static class ReviewForm {
         @NotBlank(message = "Treść opinii jest wymagana")
@@ -0,0 +1,145 @@
+package pl.edu.salonmanager.salon_manager.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.ReservationExportView;
+import pl.edu.salonmanager.salon_manager.model.dto.review.projection.ReviewExportView;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only cursors over the tables offered as CSV exports. Rows are handed to the
+ * consumer as they are fetched and never collected into a list.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExportDao {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void streamServiceOffers(Consumer<ServiceOfferView> consumer) {
+        stream("""
+                SELECT id, name, price, duration_minutes
+                FROM service_offers
+                ORDER BY name, id
+                """, rs -> consumer.accept(new ServiceOfferView(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getBigDecimal("price"),
+                rs.getInt("duration_minutes"))));
+    }
+
+    /**
+     * Reservations starting in {@code [from, to)}. The query returns one row per booked service,
+     * ordered by reservation, so consecutive rows are folded into a single view.
+     */
+    public void streamReservations(LocalDateTime from, LocalDateTime to, Consumer<ReservationExportView> consumer) {
+        ReservationRowFolder folder = new ReservationRowFolder(consumer);
+
+        stream("""
+                SELECT
+                    r.id,
+                    r.start_time,
+                    r.end_time,
+                    r.status,
+                    r.total_price,
+                    u.email as client_email,
+                    CONCAT(e.first_name, ' ', e.last_name) as employee_name,
+                    so.name as service_name
+                FROM reservations r
+                JOIN users u ON u.id = r.user_id
+                JOIN employees e ON e.id = r.employee_id
+                LEFT JOIN reservation_services rs ON rs.reservation_id = r.id
+                LEFT JOIN service_offers so ON so.id = rs.service_offer_id
+                WHERE r.start_time >= ? AND r.start_time < ?
+                ORDER BY r.start_time, r.id, so.name
+                """, folder, from, to);
+
+        folder.finish();
+    }
+
+    public void streamReviews(Consumer<ReviewExportView> consumer) {
+        stream("""
+                SELECT rv.id, rv.created_at, u.email as author_email, rv.content, rv.image_filename
+                FROM reviews rv
+                JOIN users u ON u.id = rv.user_id
+                ORDER BY rv.created_at, rv.id
+                """, rs -> consumer.accept(new ReviewExportView(
+                rs.getLong("id"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getString("author_email"),
+                rs.getString("content"),
+                rs.getString("image_filename"))));
+    }
+
+    private void stream(String sql, RowCallbackHandler handler, Object... params) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            return statement;
+        }, handler);
+    }
+
+    private static final class ReservationRowFolder implements RowCallbackHandler {
+
+        private final Consumer<ReservationExportView> consumer;
+
+        private Long id;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private String status;
+        private BigDecimal totalPrice;
+        private String clientEmail;
+        private String employeeName;
+        private List<String> serviceNames = new ArrayList<>();
+
+        private ReservationRowFolder(Consumer<ReservationExportView> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowId = rs.getLong("id");
+            if (id == null || id != rowId) {
+                finish();
+                id = rowId;
+                startTime = rs.getObject("start_time", LocalDateTime.class);
+                endTime = rs.getObject("end_time", LocalDateTime.class);
+                status = rs.getString("status");
+                totalPrice = rs.getBigDecimal("total_price");
+                clientEmail = rs.getString("client_email");
+                employeeName = rs.getString("employee_name");
+            }
+
+            String serviceName = rs.getString("service_name");
+            if (serviceName != null) {
+                serviceNames.add(serviceName);
+            }
+        }
+
+        private void finish() {
+            if (id == null) {
+                return;
+            }
+            consumer.accept(new ReservationExportView(id, startTime, endTime, status, totalPrice,
+                    clientEmail, employeeName, List.copyOf(serviceNames)));
+            id = null;
+            serviceNames = new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package pl.edu.salonmanager.salon_manager.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+@Repository
+@RequiredArgsConstructor
+public class LockTimeoutDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Limits how long row locks taken later in the current transaction wait before failing with
+     * a lock timeout. PostgreSQL ignores the JPA lock timeout hint, so this sets lock_timeout for
+     * the rest of the transaction instead; on other databases it does nothing.
+     */
+    public void limitLockWait(Duration timeout) {
+        if (isPostgres()) {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + timeout.toMillis() + "ms'");
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            current = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            postgres = current;
+        }
+        return current;
+    }
+}
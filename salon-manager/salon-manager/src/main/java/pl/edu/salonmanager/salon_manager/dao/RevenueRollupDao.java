@@ -0,0 +1,221 @@
+package pl.edu.salonmanager.salon_manager.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.EmployeeRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ServiceRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+@Repository
+@RequiredArgsConstructor
+public class RevenueRollupDao {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the deltas to the bucket, creating it on first use. A single PostgreSQL upsert, so a
+     * concurrent first write to the same bucket does not abort the reservation transaction.
+     */
+    public void applyEmployeeDelta(Long employeeId, StatisticsPeriod period, LocalDate bucketStart,
+                                   long bookings, BigDecimal revenue, long bookedMinutes) {
+        jdbcTemplate.update("""
+            INSERT INTO employee_revenue_rollups (employee_id, period, bucket_start, booking_count, revenue, booked_minutes)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (employee_id, period, bucket_start) DO UPDATE
+            SET booking_count = employee_revenue_rollups.booking_count + EXCLUDED.booking_count,
+                revenue = employee_revenue_rollups.revenue + EXCLUDED.revenue,
+                booked_minutes = employee_revenue_rollups.booked_minutes + EXCLUDED.booked_minutes
+            """, employeeId, period.name(), Date.valueOf(bucketStart), bookings, revenue, bookedMinutes);
+    }
+
+    public void applyServiceDelta(Long serviceOfferId, StatisticsPeriod period, LocalDate bucketStart,
+                                  long bookings, BigDecimal revenue) {
+        jdbcTemplate.update("""
+            INSERT INTO service_revenue_rollups (service_offer_id, period, bucket_start, booking_count, revenue)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (service_offer_id, period, bucket_start) DO UPDATE
+            SET booking_count = service_revenue_rollups.booking_count + EXCLUDED.booking_count,
+                revenue = service_revenue_rollups.revenue + EXCLUDED.revenue
+            """, serviceOfferId, period.name(), Date.valueOf(bucketStart), bookings, revenue);
+    }
+
+    /**
+     * Buckets starting in {@code [from, to]}, ordered by bucket and employee. Scheduled minutes and
+     * utilization are left empty.
+     */
+    public List<EmployeeRevenueDto> findEmployeeRevenue(StatisticsPeriod period, LocalDate from, LocalDate to,
+                                                        Long employeeId) {
+        String sql = """
+            SELECT
+                r.employee_id,
+                CONCAT(e.first_name, ' ', e.last_name) as employee_name,
+                r.bucket_start,
+                r.booking_count,
+                r.revenue,
+                r.booked_minutes
+            FROM employee_revenue_rollups r
+            JOIN employees e ON e.id = r.employee_id
+            WHERE r.period = ?
+                AND r.bucket_start BETWEEN ? AND ?
+                AND r.booking_count > 0
+                AND (CAST(? AS BIGINT) IS NULL OR r.employee_id = ?)
+            ORDER BY r.bucket_start, r.employee_id
+            """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new EmployeeRevenueDto(
+                rs.getLong("employee_id"),
+                rs.getString("employee_name"),
+                rs.getDate("bucket_start").toLocalDate(),
+                rs.getLong("booking_count"),
+                rs.getBigDecimal("revenue"),
+                rs.getLong("booked_minutes"),
+                null,
+                null
+        ), period.name(), Date.valueOf(from), Date.valueOf(to), employeeId, employeeId);
+    }
+
+    /**
+     * Buckets starting in {@code [from, to]}, ordered by bucket and service.
+     */
+    public List<ServiceRevenueDto> findServiceRevenue(StatisticsPeriod period, LocalDate from, LocalDate to,
+                                                      Long serviceOfferId) {
+        String sql = """
+            SELECT
+                r.service_offer_id,
+                s.name as service_name,
+                r.bucket_start,
+                r.booking_count,
+                r.revenue
+            FROM service_revenue_rollups r
+            JOIN service_offers s ON s.id = r.service_offer_id
+            WHERE r.period = ?
+                AND r.bucket_start BETWEEN ? AND ?
+                AND r.booking_count > 0
+                AND (CAST(? AS BIGINT) IS NULL OR r.service_offer_id = ?)
+            ORDER BY r.bucket_start, r.service_offer_id
+            """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ServiceRevenueDto(
+                rs.getLong("service_offer_id"),
+                rs.getString("service_name"),
+                rs.getDate("bucket_start").toLocalDate(),
+                rs.getLong("booking_count"),
+                rs.getBigDecimal("revenue")
+        ), period.name(), Date.valueOf(from), Date.valueOf(to), serviceOfferId, serviceOfferId);
+    }
+
+    /**
+     * Recomputes both rollup tables from counted reservations. Reservations are read with a fetch size
+     * and folded into buckets in memory, so memory grows with the number of buckets only. Must run
+     * inside a transaction: the EXCLUSIVE locks taken first make overlapping rebuilds and booking
+     * deltas wait for each other until commit instead of colliding on the bucket keys.
+     *
+     * @return number of rollup rows written
+     */
+    public int rebuildRollups() {
+        jdbcTemplate.execute("LOCK TABLE employee_revenue_rollups, service_revenue_rollups IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM employee_revenue_rollups");
+        jdbcTemplate.update("DELETE FROM service_revenue_rollups");
+
+        Map<BucketKey, Totals> employeeTotals = new HashMap<>();
+        stream("""
+            SELECT r.employee_id, r.start_time, r.end_time, r.total_price
+            FROM reservations r
+            WHERE r.status IN ('APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT')
+            """, rs -> {
+            LocalDateTime start = rs.getTimestamp("start_time").toLocalDateTime();
+            long minutes = ChronoUnit.MINUTES.between(start, rs.getTimestamp("end_time").toLocalDateTime());
+            addToBuckets(employeeTotals, rs.getLong("employee_id"), start.toLocalDate(),
+                    rs.getBigDecimal("total_price"), minutes);
+        });
+
+        Map<BucketKey, Totals> serviceTotals = new HashMap<>();
+        stream("""
+            SELECT rs.service_offer_id, r.start_time, rs.price
+            FROM reservations r
+            JOIN reservation_services rs ON rs.reservation_id = r.id
+            WHERE r.status IN ('APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT')
+            """, rs -> addToBuckets(serviceTotals,
+                rs.getLong("service_offer_id"), rs.getTimestamp("start_time").toLocalDateTime().toLocalDate(),
+                rs.getBigDecimal("price"), 0));
+
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO employee_revenue_rollups (employee_id, period, bucket_start, booking_count, revenue, booked_minutes)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (employee_id, period, bucket_start) DO UPDATE
+            SET booking_count = EXCLUDED.booking_count,
+                revenue = EXCLUDED.revenue,
+                booked_minutes = EXCLUDED.booked_minutes
+            """, employeeTotals.entrySet(), 500, (ps, entry) -> {
+            setKey(ps, entry.getKey());
+            ps.setLong(4, entry.getValue().bookings);
+            ps.setBigDecimal(5, entry.getValue().revenue);
+            ps.setLong(6, entry.getValue().minutes);
+        });
+
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO service_revenue_rollups (service_offer_id, period, bucket_start, booking_count, revenue)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (service_offer_id, period, bucket_start) DO UPDATE
+            SET booking_count = EXCLUDED.booking_count,
+                revenue = EXCLUDED.revenue
+            """, serviceTotals.entrySet(), 500, (ps, entry) -> {
+            setKey(ps, entry.getKey());
+            ps.setLong(4, entry.getValue().bookings);
+            ps.setBigDecimal(5, entry.getValue().revenue);
+        });
+
+        return employeeTotals.size() + serviceTotals.size();
+    }
+
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+
+    private static void addToBuckets(Map<BucketKey, Totals> totals, long id, LocalDate date,
+                                     BigDecimal revenue, long minutes) {
+        for (StatisticsPeriod period : StatisticsPeriod.values()) {
+            totals.computeIfAbsent(new BucketKey(id, period, period.bucketStart(date)), key -> new Totals())
+                    .add(revenue, minutes);
+        }
+    }
+
+    private static void setKey(PreparedStatement ps, BucketKey key) throws SQLException {
+        ps.setLong(1, key.id());
+        ps.setString(2, key.period().name());
+        ps.setDate(3, Date.valueOf(key.bucketStart()));
+    }
+
+    private record BucketKey(long id, StatisticsPeriod period, LocalDate bucketStart) {
+    }
+
+    private static final class Totals {
+        private long bookings;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long minutes;
+
+        private void add(BigDecimal amount, long bookedMinutes) {
+            bookings++;
+            revenue = revenue.add(amount);
+            minutes += bookedMinutes;
+        }
+    }
+}
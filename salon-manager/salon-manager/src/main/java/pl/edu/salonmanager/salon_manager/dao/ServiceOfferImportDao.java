@@ -0,0 +1,73 @@
+package pl.edu.salonmanager.salon_manager.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ServiceOfferImportDao {
+
+    static final int INSERT_BATCH_SIZE = 500;
+
+    /**
+     * Must match the allocationSize of the service_offers_seq generator on ServiceOffer.
+     */
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the offers with JDBC batches of {@value #INSERT_BATCH_SIZE} rows. Must run inside
+     * a transaction for the import to be all-or-nothing.
+     */
+    public int insertAll(List<CreateServiceRequest> offers) {
+        List<Long> ids = allocateIds(offers.size());
+        List<Row> rows = new ArrayList<>(offers.size());
+        for (int i = 0; i < offers.size(); i++) {
+            rows.add(new Row(ids.get(i), offers.get(i)));
+        }
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO service_offers (id, name, price, duration_minutes)
+                VALUES (?, ?, ?, ?)
+                """, rows, INSERT_BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.id());
+            ps.setString(2, row.offer().getName());
+            ps.setBigDecimal(3, row.offer().getPrice());
+            ps.setInt(4, row.offer().getDurationMinutes());
+        });
+
+        return offers.size();
+    }
+
+    /**
+     * Takes ids the same way Hibernate's pooled optimizer does: each sequence value reserves the
+     * {@value #ID_ALLOCATION_SIZE} ids ending at that value, so imported rows never collide with
+     * ids handed out by the entity manager. All blocks the import needs come from one statement.
+     */
+    private List<Long> allocateIds(int count) {
+        if (count == 0) {
+            return List.of();
+        }
+
+        List<Long> blockEnds = jdbcTemplate.queryForList(
+                "SELECT nextval('service_offers_seq') FROM generate_series(1, ?)",
+                Long.class, Math.ceilDiv(count, ID_ALLOCATION_SIZE));
+
+        List<Long> ids = new ArrayList<>(count);
+        for (long hi : blockEnds) {
+            for (long id = Math.max(1, hi - ID_ALLOCATION_SIZE + 1); id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private record Row(long id, CreateServiceRequest offer) {
+    }
+}
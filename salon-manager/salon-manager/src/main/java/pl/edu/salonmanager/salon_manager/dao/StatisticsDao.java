@@ -2,94 +2,166 @@ package pl.edu.salonmanager.salon_manager.dao;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
 import pl.edu.salonmanager.salon_manager.model.dto.statistics.*;
+import pl.edu.salonmanager.salon_manager.model.enums.ClientStatisticsSort;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
 @RequiredArgsConstructor
 public class StatisticsDao {
 
-    private final JdbcTemplate jdbcTemplate;
+    private static final int STREAM_FETCH_SIZE = 500;
 
-    public List<ClientStatisticsDto> getClientStatistics() {
-        String sql = """
+    private static final String CLIENT_STATS_SELECT = """
             SELECT
                 u.id as client_id,
                 CONCAT(u.first_name, ' ', u.last_name) as client_name,
                 u.email as client_email,
-                COUNT(r.id) as total_visits,
-                COALESCE(CAST(AVG(EXTRACT(EPOCH FROM (r.end_time - r.start_time)) / 60) AS INTEGER), 0) as average_duration_minutes,
-                COALESCE(AVG(r.total_price), 0) as average_spending,
-                COALESCE(SUM(r.total_price), 0) as total_spending
-            FROM users u
-            LEFT JOIN reservations r ON u.id = r.user_id
-                AND r.status IN ('APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT')
-            GROUP BY u.id, u.first_name, u.last_name, u.email
-            HAVING COUNT(r.id) > 0
-            ORDER BY total_spending DESC
+                s.visit_count,
+                s.duration_seconds_sum,
+                s.spending_sum
+            FROM client_stats s
+            JOIN users u ON u.id = s.user_id
             """;
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Integer avgDuration = rs.getInt("average_duration_minutes");
-            if (rs.wasNull()) {
-                avgDuration = 0;
-            }
+    private static final RowMapper<ClientStatisticsDto> CLIENT_STATS_ROW_MAPPER = (rs, rowNum) -> {
+        long visits = rs.getLong("visit_count");
+        long durationSeconds = rs.getLong("duration_seconds_sum");
+        BigDecimal spending = rs.getBigDecimal("spending_sum");
 
-            return new ClientStatisticsDto(
+        return new ClientStatisticsDto(
                 rs.getLong("client_id"),
                 rs.getString("client_name"),
                 rs.getString("client_email"),
-                rs.getLong("total_visits"),
-                avgDuration,
-                rs.getBigDecimal("average_spending"),
-                rs.getBigDecimal("total_spending")
-            );
-        });
+                visits,
+                (int) Math.round(durationSeconds / 60.0 / visits),
+                spending.divide(BigDecimal.valueOf(visits), 2, RoundingMode.HALF_UP),
+                spending
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ClientStatisticsDto> getClientStatistics() {
+        String sql = CLIENT_STATS_SELECT + """
+            WHERE s.visit_count > 0
+            ORDER BY s.spending_sum DESC
+            """;
+
+        return jdbcTemplate.query(sql, CLIENT_STATS_ROW_MAPPER);
     }
 
     public Optional<ClientStatisticsDto> getClientStatisticsById(Long userId) {
-        String sql = """
-            SELECT
-                u.id as client_id,
-                CONCAT(u.first_name, ' ', u.last_name) as client_name,
-                u.email as client_email,
-                COUNT(r.id) as total_visits,
-                COALESCE(CAST(AVG(EXTRACT(EPOCH FROM (r.end_time - r.start_time)) / 60) AS INTEGER), 0) as average_duration_minutes,
-                COALESCE(AVG(r.total_price), 0) as average_spending,
-                COALESCE(SUM(r.total_price), 0) as total_spending
-            FROM users u
-            LEFT JOIN reservations r ON u.id = r.user_id
-                AND r.status IN ('APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT')
-            WHERE u.id = ?
-            GROUP BY u.id, u.first_name, u.last_name, u.email
-            HAVING COUNT(r.id) > 0
+        String sql = CLIENT_STATS_SELECT + """
+            WHERE s.user_id = ?
+                AND s.visit_count > 0
             """;
 
-        List<ClientStatisticsDto> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Integer avgDuration = rs.getInt("average_duration_minutes");
-            if (rs.wasNull()) {
-                avgDuration = 0;
-            }
-
-            return new ClientStatisticsDto(
-                rs.getLong("client_id"),
-                rs.getString("client_name"),
-                rs.getString("client_email"),
-                rs.getLong("total_visits"),
-                avgDuration,
-                rs.getBigDecimal("average_spending"),
-                rs.getBigDecimal("total_spending")
-            );
-        }, userId);
+        List<ClientStatisticsDto> results = jdbcTemplate.query(sql, CLIENT_STATS_ROW_MAPPER, userId);
 
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
+    /**
+     * Returns up to {@code limit} clients ordered by the sort column and client id, both descending,
+     * starting after the given position. Pass a null {@code afterValue} for the first page.
+     */
+    public List<ClientStatisticsDto> getClientStatisticsPage(ClientStatisticsSort sort, Number afterValue,
+                                                             Long afterClientId, int limit) {
+        String column = sortColumn(sort);
+        List<Object> params = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder(CLIENT_STATS_SELECT).append("WHERE s.visit_count > 0\n");
+        if (afterValue != null) {
+            sql.append("AND (s.").append(column).append(", s.user_id) < (?, ?)\n");
+            params.add(afterValue);
+            params.add(afterClientId);
+        }
+        sql.append("ORDER BY s.").append(column).append(" DESC, s.user_id DESC\n")
+           .append("LIMIT ?");
+        params.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), CLIENT_STATS_ROW_MAPPER, params.toArray());
+    }
+
+    /**
+     * Passes every client to {@code consumer} as rows arrive from the database. Must run inside a
+     * transaction, otherwise the PostgreSQL driver ignores the fetch size and buffers the whole result.
+     */
+    public void streamClientStatistics(ClientStatisticsSort sort, Consumer<ClientStatisticsDto> consumer) {
+        String column = sortColumn(sort);
+        String sql = CLIENT_STATS_SELECT
+                + "WHERE s.visit_count > 0\n"
+                + "ORDER BY s." + column + " DESC, s.user_id DESC";
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(CLIENT_STATS_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    /**
+     * Adds the given deltas to the client's aggregate row, creating it on first use. A single
+     * PostgreSQL upsert, so a concurrent first write waits for the other row instead of failing
+     * the surrounding reservation transaction.
+     */
+    public void applyClientStatsDelta(Long userId, long visits, long durationSeconds, BigDecimal spending) {
+        jdbcTemplate.update("""
+            INSERT INTO client_stats (user_id, visit_count, duration_seconds_sum, spending_sum)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (user_id) DO UPDATE
+            SET visit_count = client_stats.visit_count + EXCLUDED.visit_count,
+                duration_seconds_sum = client_stats.duration_seconds_sum + EXCLUDED.duration_seconds_sum,
+                spending_sum = client_stats.spending_sum + EXCLUDED.spending_sum
+            """, userId, visits, durationSeconds, spending);
+    }
+
+    /**
+     * Recomputes all client aggregates from the reservations table. Must run inside a transaction:
+     * the EXCLUSIVE lock taken first makes overlapping rebuilds and booking deltas wait for each
+     * other until commit instead of colliding on user_id.
+     *
+     * @return number of clients with statistics
+     */
+    public int rebuildClientStats() {
+        jdbcTemplate.execute("LOCK TABLE client_stats IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM client_stats");
+
+        String sql = """
+            INSERT INTO client_stats (user_id, visit_count, duration_seconds_sum, spending_sum)
+            SELECT
+                r.user_id,
+                COUNT(*),
+                CAST(SUM(EXTRACT(EPOCH FROM (r.end_time - r.start_time))) AS BIGINT),
+                SUM(r.total_price)
+            FROM reservations r
+            WHERE r.status IN ('APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT')
+            GROUP BY r.user_id
+            ON CONFLICT (user_id) DO UPDATE
+            SET visit_count = EXCLUDED.visit_count,
+                duration_seconds_sum = EXCLUDED.duration_seconds_sum,
+                spending_sum = EXCLUDED.spending_sum
+            """;
+
+        return jdbcTemplate.update(sql);
+    }
 
     public int cancelOldPendingReservations(LocalDateTime cutoffDate) {
         String sql = """
@@ -101,4 +173,53 @@ public class StatisticsDao {
 
         return jdbcTemplate.update(sql, cutoffDate);
     }
+
+    /**
+     * Locks up to {@code limit} CREATED reservations starting before {@code cutoff}. Rows already locked
+     * by another transaction are skipped, so concurrent callers receive disjoint batches.
+     */
+    public List<ReservationSnapshot> lockExpiredPendingReservations(LocalDateTime cutoff, int limit) {
+        String sql = """
+            SELECT id, user_id, employee_id, start_time, end_time, total_price
+            FROM reservations
+            WHERE status = 'CREATED'
+                AND start_time < ?
+            ORDER BY start_time
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ReservationSnapshot(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getLong("employee_id"),
+                rs.getTimestamp("start_time").toLocalDateTime(),
+                rs.getTimestamp("end_time").toLocalDateTime(),
+                rs.getBigDecimal("total_price"),
+                ReservationStatus.CREATED,
+                Map.of()
+        ), cutoff, limit);
+    }
+
+    public int cancelPendingReservations(List<Long> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+
+        String sql = """
+            UPDATE reservations
+            SET status = 'CANCELLED'
+            WHERE status = 'CREATED'
+                AND id IN (%s)
+            """.formatted(String.join(", ", Collections.nCopies(reservationIds.size(), "?")));
+
+        return jdbcTemplate.update(sql, reservationIds.toArray());
+    }
+
+    private static String sortColumn(ClientStatisticsSort sort) {
+        return switch (sort) {
+            case SPENDING -> "spending_sum";
+            case VISITS -> "visit_count";
+        };
+    }
 }
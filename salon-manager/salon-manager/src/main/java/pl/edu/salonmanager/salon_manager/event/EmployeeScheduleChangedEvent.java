@@ -0,0 +1,4 @@
+package pl.edu.salonmanager.salon_manager.event;
+
+public record EmployeeScheduleChangedEvent(Long employeeId) {
+}
@@ -0,0 +1,7 @@
+package pl.edu.salonmanager.salon_manager.event;
+
+/**
+ * Published after a reservation is written. {@code before} is null for new reservations.
+ */
+public record ReservationChangedEvent(ReservationSnapshot before, ReservationSnapshot after) {
+}
@@ -0,0 +1,70 @@
+package pl.edu.salonmanager.salon_manager.event;
+
+import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+
+public record ReservationSnapshot(
+        Long id,
+        Long userId,
+        Long employeeId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BigDecimal totalPrice,
+        ReservationStatus status,
+        Map<Long, BigDecimal> servicePrices
+) {
+
+    /**
+     * @param servicePrices booked services with their prices at booking time, passed in rather than
+     *                      read from the reservation so a status change does not load the collection
+     */
+    public static ReservationSnapshot of(Reservation reservation, Map<Long, BigDecimal> servicePrices) {
+        return new ReservationSnapshot(
+                reservation.getId(),
+                reservation.getUser() != null ? reservation.getUser().getId() : null,
+                reservation.getEmployee() != null ? reservation.getEmployee().getId() : null,
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                reservation.getTotalPrice(),
+                reservation.getStatus(),
+                Map.copyOf(servicePrices)
+        );
+    }
+
+    public ReservationSnapshot withStatus(ReservationStatus newStatus) {
+        return new ReservationSnapshot(id, userId, employeeId, startTime, endTime, totalPrice, newStatus, servicePrices);
+    }
+
+    public boolean isActive() {
+        return status != ReservationStatus.CANCELLED;
+    }
+
+    /**
+     * Whether the reservation is included in client statistics.
+     */
+    public boolean countsAsVisit() {
+        return status == ReservationStatus.APPROVED_BY_SALON || status == ReservationStatus.CONFIRMED_BY_CLIENT;
+    }
+
+    public long durationSeconds() {
+        return Duration.between(startTime, endTime).toSeconds();
+    }
+
+    public long durationMinutes() {
+        return Duration.between(startTime, endTime).toMinutes();
+    }
+
+    public boolean occupiesSameTimeAs(ReservationSnapshot other) {
+        return other != null
+                && isActive() == other.isActive()
+                && Objects.equals(employeeId, other.employeeId)
+                && Objects.equals(startTime, other.startTime)
+                && Objects.equals(endTime, other.endTime);
+    }
+}
@@ -0,0 +1,7 @@
+package pl.edu.salonmanager.salon_manager.event;
+
+/**
+ * Published when a service offer is created, updated or deleted.
+ */
+public record ServiceCatalogChangedEvent() {
+}
@@ -0,0 +1,8 @@
+package pl.edu.salonmanager.salon_manager.event;
+
+/**
+ * Published when employee specializations are added or removed, directly or by deleting
+ * an employee or a service.
+ */
+public record SpecializationsChangedEvent() {
+}
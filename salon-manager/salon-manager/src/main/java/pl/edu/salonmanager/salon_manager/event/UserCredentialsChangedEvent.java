@@ -0,0 +1,8 @@
+package pl.edu.salonmanager.salon_manager.event;
+
+/**
+ * Published when a user is deleted, disabled or changes password, so that cached
+ * credential verifications for that email are dropped.
+ */
+public record UserCredentialsChangedEvent(String email) {
+}
@@ -19,4 +19,8 @@ public class LoginResponse {
     private String lastName;
     private Set<String> roles;
     private String message;
+    private String accessToken;
+    private String refreshToken;
+    private String tokenType;
+    private Long expiresIn;
 }
@@ -0,0 +1,18 @@
+package pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityRangeResponseDto {
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    private Integer totalDurationMinutes;
+    private List<AvailabilityResponseDto> days;
+}
@@ -0,0 +1,4 @@
+package pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.projection;
+
+public record SpecializationPair(Long employeeId, Long serviceOfferId) {
+}
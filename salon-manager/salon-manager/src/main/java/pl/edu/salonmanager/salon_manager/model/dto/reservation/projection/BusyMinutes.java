@@ -0,0 +1,8 @@
+package pl.edu.salonmanager.salon_manager.model.dto.reservation.projection;
+
+/**
+ * Active reservation of an employee as minutes since midnight of the queried day.
+ * {@code endMinute} is capped at 1440 for reservations running past midnight.
+ */
+public record BusyMinutes(Long employeeId, int startMinute, int endMinute) {
+}
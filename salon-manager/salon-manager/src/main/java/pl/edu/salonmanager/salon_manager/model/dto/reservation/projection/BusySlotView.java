@@ -0,0 +1,6 @@
+package pl.edu.salonmanager.salon_manager.model.dto.reservation.projection;
+
+import java.time.LocalDateTime;
+
+public record BusySlotView(Long employeeId, LocalDateTime startTime, LocalDateTime endTime) {
+}
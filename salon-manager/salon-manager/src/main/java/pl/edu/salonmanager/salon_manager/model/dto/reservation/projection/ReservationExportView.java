@@ -0,0 +1,10 @@
+package pl.edu.salonmanager.salon_manager.model.dto.reservation.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ReservationExportView(Long id, LocalDateTime startTime, LocalDateTime endTime, String status,
+                                   BigDecimal totalPrice, String clientEmail, String employeeName,
+                                   List<String> serviceNames) {
+}
@@ -0,0 +1,6 @@
+package pl.edu.salonmanager.salon_manager.model.dto.reservation.projection;
+
+import java.math.BigDecimal;
+
+public record ReservationServiceIdView(Long reservationId, Long serviceId, BigDecimal price) {
+}
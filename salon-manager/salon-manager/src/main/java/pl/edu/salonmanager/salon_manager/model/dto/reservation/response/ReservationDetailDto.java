@@ -24,4 +24,12 @@ public class ReservationDetailDto {
     private String employeeFirstName;
     private String employeeLastName;
     private Set<Long> serviceIds;
+
+    public ReservationDetailDto(Long reservationId, LocalDateTime startTime, LocalDateTime endTime,
+                                ReservationStatus status, BigDecimal totalPrice, String clientFirstName,
+                                String clientLastName, String clientEmail, String employeeFirstName,
+                                String employeeLastName) {
+        this(reservationId, startTime, endTime, status, totalPrice, clientFirstName, clientLastName,
+                clientEmail, employeeFirstName, employeeLastName, Set.of());
+    }
 }
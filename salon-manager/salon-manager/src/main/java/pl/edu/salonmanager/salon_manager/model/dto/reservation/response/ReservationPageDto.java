@@ -0,0 +1,24 @@
+package pl.edu.salonmanager.salon_manager.model.dto.reservation.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationPageDto {
+    private List<ReservationDetailDto> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public static ReservationPageDto of(Page<ReservationDetailDto> page) {
+        return new ReservationPageDto(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -0,0 +1,7 @@
+package pl.edu.salonmanager.salon_manager.model.dto.review.projection;
+
+import java.time.LocalDateTime;
+
+public record ReviewExportView(Long id, LocalDateTime createdAt, String authorEmail, String content,
+                               String imageFilename) {
+}
@@ -0,0 +1,6 @@
+package pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection;
+
+import java.math.BigDecimal;
+
+public record ServiceOfferView(Long id, String name, BigDecimal price, int durationMinutes) {
+}
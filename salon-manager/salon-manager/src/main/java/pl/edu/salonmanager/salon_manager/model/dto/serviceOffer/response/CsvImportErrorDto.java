@@ -0,0 +1,13 @@
+package pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CsvImportErrorDto {
+    private int line;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import. Rows are imported only when {@code errorCount} is 0;
+ * {@code errors} holds at most the first 100 of them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CsvImportReportDto {
+    private int rowsRead;
+    private int imported;
+    private int errorCount;
+    private List<CsvImportErrorDto> errors;
+
+    public boolean isSuccessful() {
+        return errorCount == 0;
+    }
+}
@@ -0,0 +1,15 @@
+package pl.edu.salonmanager.salon_manager.model.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientStatisticsPageDto {
+    private List<ClientStatisticsDto> content;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package pl.edu.salonmanager.salon_manager.model.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeRevenueDto {
+    private Long employeeId;
+    private String employeeName;
+    private LocalDate bucketStart;
+    private Long bookings;
+    private BigDecimal revenue;
+    private Long bookedMinutes;
+    private Long scheduledMinutes;
+    private BigDecimal utilization;
+}
@@ -0,0 +1,19 @@
+package pl.edu.salonmanager.salon_manager.model.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceRevenueDto {
+    private Long serviceId;
+    private String serviceName;
+    private LocalDate bucketStart;
+    private Long bookings;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,31 @@
+package pl.edu.salonmanager.salon_manager.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-client aggregate of counted reservations, maintained by {@code ClientStatsUpdater}.
+ */
+@Entity
+@Table(name = "client_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "visit_count", nullable = false)
+    private Long visitCount;
+
+    @Column(name = "duration_seconds_sum", nullable = false)
+    private Long durationSecondsSum;
+
+    @Column(name = "spending_sum", nullable = false, precision = 12, scale = 2)
+    private BigDecimal spendingSum;
+}
@@ -0,0 +1,53 @@
+package pl.edu.salonmanager.salon_manager.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Counted reservations per employee and time bucket, maintained by {@code RevenueRollupUpdater}.
+ */
+@Entity
+@Table(name = "employee_revenue_rollups")
+@IdClass(EmployeeRevenueRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeRevenueRollup {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private StatisticsPeriod period;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDate bucketStart;
+
+    @Column(name = "booking_count", nullable = false)
+    private Long bookingCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private Long bookedMinutes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private StatisticsPeriod period;
+        private LocalDate bucketStart;
+    }
+}
@@ -18,7 +18,8 @@ import java.time.LocalTime;
 public class EmployeeSchedule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_schedules_seq")
+    @SequenceGenerator(name = "employee_schedules_seq", sequenceName = "employee_schedules_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
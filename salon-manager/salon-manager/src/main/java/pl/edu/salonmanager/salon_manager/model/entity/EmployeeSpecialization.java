@@ -12,7 +12,8 @@ import lombok.*;
 public class EmployeeSpecialization {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_specializations_seq")
+    @SequenceGenerator(name = "employee_specializations_seq", sequenceName = "employee_specializations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -6,7 +6,8 @@ import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -19,7 +20,8 @@ import java.util.stream.Collectors;
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_time", nullable = false)
@@ -43,20 +45,30 @@ public class Reservation {
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
-    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
-    @JoinTable(
-            name = "reservation_services",
-            joinColumns = @JoinColumn(name = "reservation_id"),
-            inverseJoinColumns = @JoinColumn(name = "service_offer_id")
-    )
+    /**
+     * Booked services, each with the price it had when the reservation was made.
+     */
+    @ElementCollection
+    @CollectionTable(name = "reservation_services", joinColumns = @JoinColumn(name = "reservation_id"))
+    @MapKeyJoinColumn(name = "service_offer_id")
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @Builder.Default
-    private Set<ServiceOffer> services = new HashSet<>();
+    private Map<ServiceOffer, BigDecimal> servicePrices = new HashMap<>();
+
+    public Set<ServiceOffer> getServices() {
+        return this.servicePrices.keySet();
+    }
 
     public Set<Long> getServicesIds() {
-        return this.services.stream()
+        return this.servicePrices.keySet().stream()
                 .map(ServiceOffer::getId)
                 .collect(Collectors.toSet());
     }
+
+    public Map<Long, BigDecimal> getServicePricesById() {
+        return this.servicePrices.entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().getId(), Map.Entry::getValue));
+    }
 }
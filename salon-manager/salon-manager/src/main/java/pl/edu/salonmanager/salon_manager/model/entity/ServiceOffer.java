@@ -16,7 +16,8 @@ import java.util.List;
 public class ServiceOffer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_offers_seq")
+    @SequenceGenerator(name = "service_offers_seq", sequenceName = "service_offers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -33,10 +34,4 @@ public class ServiceOffer {
     @EqualsAndHashCode.Exclude
     @Builder.Default
     private List<EmployeeSpecialization> employeeSpecializations = new ArrayList<>();
-
-    @ManyToMany(mappedBy = "services")
-    @ToString.Exclude
-    @EqualsAndHashCode.Exclude
-    @Builder.Default
-    private List<Reservation> reservations = new ArrayList<>();
 }
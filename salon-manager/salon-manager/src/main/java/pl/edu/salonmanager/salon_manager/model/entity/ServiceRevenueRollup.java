@@ -0,0 +1,50 @@
+package pl.edu.salonmanager.salon_manager.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Counted reservations per service and time bucket, maintained by {@code RevenueRollupUpdater}.
+ */
+@Entity
+@Table(name = "service_revenue_rollups")
+@IdClass(ServiceRevenueRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceRevenueRollup {
+
+    @Id
+    @Column(name = "service_offer_id")
+    private Long serviceOfferId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private StatisticsPeriod period;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDate bucketStart;
+
+    @Column(name = "booking_count", nullable = false)
+    private Long bookingCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long serviceOfferId;
+        private StatisticsPeriod period;
+        private LocalDate bucketStart;
+    }
+}
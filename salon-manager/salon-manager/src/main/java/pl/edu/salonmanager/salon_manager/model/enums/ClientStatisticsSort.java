@@ -0,0 +1,6 @@
+package pl.edu.salonmanager.salon_manager.model.enums;
+
+public enum ClientStatisticsSort {
+    SPENDING,
+    VISITS
+}
@@ -19,5 +19,7 @@ public interface EmployeeScheduleRepository extends JpaRepository<EmployeeSchedu
 
     List<EmployeeSchedule> findByEmployeeIdInAndDayOfWeek(List<Long> employeeIds, DayOfWeek dayOfWeek);
 
+    List<EmployeeSchedule> findByEmployeeIdIn(List<Long> employeeIds);
+
     boolean existsByEmployeeAndDayOfWeek(Employee employee, DayOfWeek dayOfWeek);
 }
@@ -2,9 +2,8 @@ package pl.edu.salonmanager.salon_manager.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import pl.edu.salonmanager.salon_manager.model.entity.Employee;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.projection.SpecializationPair;
 import pl.edu.salonmanager.salon_manager.model.entity.EmployeeSpecialization;
 
 import java.util.List;
@@ -18,19 +17,7 @@ public interface EmployeeSpecializationRepository extends JpaRepository<Employee
 
     List<EmployeeSpecialization> findByEmployeeIdAndServiceOfferId(Long employeeId, Long serviceOfferId);
 
-    @Query("SELECT DISTINCT es.employee FROM EmployeeSpecialization es " +
-           "WHERE es.serviceOffer.id IN :serviceIds " +
-           "GROUP BY es.employee " +
-           "HAVING COUNT(DISTINCT es.serviceOffer.id) = :serviceCount")
-    List<Employee> findEmployeesWithAllServices(
-        @Param("serviceIds") List<Long> serviceIds,
-        @Param("serviceCount") Long serviceCount
-    );
-
-    @Query("SELECT COUNT(DISTINCT es.serviceOffer.id) FROM EmployeeSpecialization es " +
-           "WHERE es.employee.id = :employeeId AND es.serviceOffer.id IN :serviceIds")
-    long countEmployeeQualifiedServices(
-        @Param("employeeId") Long employeeId,
-        @Param("serviceIds") List<Long> serviceIds
-    );
+    @Query("SELECT new pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.projection.SpecializationPair(" +
+           "es.employee.id, es.serviceOffer.id) FROM EmployeeSpecialization es")
+    List<SpecializationPair> findAllSpecializationPairs();
 }
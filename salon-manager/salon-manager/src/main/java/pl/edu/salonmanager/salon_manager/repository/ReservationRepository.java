@@ -6,14 +6,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusyMinutes;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusySlotView;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.ReservationServiceIdView;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.response.ReservationDetailDto;
 import pl.edu.salonmanager.salon_manager.model.entity.Employee;
 import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
 import pl.edu.salonmanager.salon_manager.model.entity.User;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,17 +33,71 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByStatus(ReservationStatus status);
     List<Reservation> findByEmployeeAndStartTimeBetween(Employee employee, LocalDateTime startTime, LocalDateTime endTime);
 
-    Page<Reservation> findByUserId(Long userId, Pageable pageable);
-    Page<Reservation> findByStatus(ReservationStatus status, Pageable pageable);
+    String DETAIL_SELECT = "SELECT new pl.edu.salonmanager.salon_manager.model.dto.reservation.response.ReservationDetailDto(" +
+                           "r.id, r.startTime, r.endTime, r.status, r.totalPrice, " +
+                           "u.firstName, u.lastName, u.email, e.firstName, e.lastName) " +
+                           "FROM Reservation r JOIN r.user u JOIN r.employee e ";
 
-    @Query("SELECT r FROM Reservation r " +
-           "WHERE r.employee.id = :employeeId " +
-           "AND r.status != 'CANCELLED' " +
-           "AND DATE(r.startTime) = :date " +
-           "ORDER BY r.startTime ASC")
-    List<Reservation> findActiveReservationsByEmployeeAndDate(
+    @Query(value = DETAIL_SELECT,
+           countQuery = "SELECT COUNT(r) FROM Reservation r")
+    Page<ReservationDetailDto> findAllDetails(Pageable pageable);
+
+    @Query(value = DETAIL_SELECT + "WHERE r.status = :status",
+           countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.status = :status")
+    Page<ReservationDetailDto> findDetailsByStatus(@Param("status") ReservationStatus status, Pageable pageable);
+
+    @Query(value = DETAIL_SELECT + "WHERE u.id = :userId",
+           countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.user.id = :userId")
+    Page<ReservationDetailDto> findDetailsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = DETAIL_SELECT +
+                   "WHERE e.id = :employeeId " +
+                   "AND r.startTime >= :from " +
+                   "AND r.startTime < :to",
+           countQuery = "SELECT COUNT(r) FROM Reservation r " +
+                   "WHERE r.employee.id = :employeeId " +
+                   "AND r.startTime >= :from " +
+                   "AND r.startTime < :to")
+    Page<ReservationDetailDto> findDetailsByEmployeeIdAndStartTimeRange(
         @Param("employeeId") Long employeeId,
-        @Param("date") LocalDate date
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        Pageable pageable
+    );
+
+    @Query("SELECT new pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.ReservationServiceIdView(" +
+           "r.id, KEY(s).id, VALUE(s)) " +
+           "FROM Reservation r JOIN r.servicePrices s " +
+           "WHERE r.id IN :reservationIds")
+    List<ReservationServiceIdView> findServiceIdsByReservationIds(@Param("reservationIds") Collection<Long> reservationIds);
+
+    @Query("SELECT new pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusyMinutes(" +
+           "r.employee.id, " +
+           "EXTRACT(HOUR FROM r.startTime) * 60 + EXTRACT(MINUTE FROM r.startTime), " +
+           "CASE WHEN r.endTime >= :dayEnd THEN 1440 " +
+           "ELSE EXTRACT(HOUR FROM r.endTime) * 60 + EXTRACT(MINUTE FROM r.endTime) END) " +
+           "FROM Reservation r " +
+           "WHERE r.employee.id IN :employeeIds " +
+           "AND r.status != 'CANCELLED' " +
+           "AND r.startTime >= :dayStart " +
+           "AND r.startTime < :dayEnd")
+    List<BusyMinutes> findBusyMinutesByEmployeesAndDay(
+        @Param("employeeIds") List<Long> employeeIds,
+        @Param("dayStart") LocalDateTime dayStart,
+        @Param("dayEnd") LocalDateTime dayEnd
+    );
+
+    @Query("SELECT new pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusySlotView(" +
+           "r.employee.id, r.startTime, r.endTime) " +
+           "FROM Reservation r " +
+           "WHERE r.employee.id IN :employeeIds " +
+           "AND r.status != 'CANCELLED' " +
+           "AND r.startTime >= :dayStart " +
+           "AND r.startTime < :dayEnd")
+    List<BusySlotView> findBusySlotsByEmployeesAndStartTimeRange(
+        @Param("employeeIds") List<Long> employeeIds,
+        @Param("dayStart") LocalDateTime dayStart,
+        @Param("dayEnd") LocalDateTime dayEnd
     );
 
 
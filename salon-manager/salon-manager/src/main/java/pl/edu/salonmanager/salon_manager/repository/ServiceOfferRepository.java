@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
 import pl.edu.salonmanager.salon_manager.model.entity.ServiceOffer;
 
 import java.math.BigDecimal;
@@ -29,4 +30,8 @@ public interface ServiceOfferRepository extends JpaRepository<ServiceOffer, Long
     List<ServiceOffer> findByEmployeeId(@Param("employeeId") Long employeeId);
 
     Page<ServiceOffer> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    @Query("SELECT new pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView(" +
+           "s.id, s.name, s.price, s.durationMinutes) FROM ServiceOffer s")
+    List<ServiceOfferView> findAllViews();
 }
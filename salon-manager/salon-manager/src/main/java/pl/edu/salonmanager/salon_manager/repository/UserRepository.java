@@ -2,6 +2,7 @@ package pl.edu.salonmanager.salon_manager.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,17 +15,13 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 
-    @Query("""
-        SELECT COUNT(r) > 0
-        FROM User u
-        JOIN u.roles r
-        WHERE u.id = :userId
-          AND r.name = 'ADMIN'
-     """)
-    boolean hasAdminRole(@Param("userId") Long userId);
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u")
+    List<User> findAllWithRoles();
 
     @Query("SELECT DISTINCT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findUsersByRoleName(@Param("roleName") String roleName);
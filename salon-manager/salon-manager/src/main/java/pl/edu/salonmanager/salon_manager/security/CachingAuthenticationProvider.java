@@ -0,0 +1,54 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * {@link DaoAuthenticationProvider} that serves repeated username/password pairs from the
+ * {@link CredentialCache}, skipping the user lookup and the password hash comparison.
+ */
+public class CachingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final CredentialCache credentialCache;
+
+    public CachingAuthenticationProvider(PasswordEncoder passwordEncoder, CredentialCache credentialCache) {
+        super(passwordEncoder);
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        if (!credentialCache.isEnabled() || username == null
+                || !(authentication.getCredentials() instanceof String password)) {
+            return super.authenticate(authentication);
+        }
+
+        UserDetails cached = credentialCache.get(username, password);
+        if (cached != null) {
+            return createSuccessAuthentication(cached, authentication, cached);
+        }
+
+        long generation = credentialCache.currentGeneration();
+        long start = cpuTime();
+        Authentication result = super.authenticate(authentication);
+        long elapsed = cpuTime() - start;
+
+        if (result.getPrincipal() instanceof UserDetails user) {
+            credentialCache.put(generation, username, password, user, elapsed);
+        }
+        return result;
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
@@ -0,0 +1,137 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.edu.salonmanager.salon_manager.config.CredentialCacheProperties;
+import pl.edu.salonmanager.salon_manager.event.UserCredentialsChangedEvent;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Successful username/password verifications, keyed by an HMAC of both values under a
+ * per-process key so the cache never holds anything that could be used to log in.
+ * Entries are evicted after credential changes commit.
+ */
+@Component
+@Slf4j
+public class CredentialCache {
+
+    static final String CACHE_NAME = "credentials";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Cache<String, UserDetails> cache;
+    private final SecretKey hashKey;
+    private final AtomicLong generation = new AtomicLong();
+    private final Timer verificationTimer;
+    private final Counter savedTime;
+
+    public CredentialCache(CredentialCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.hashKey = generateKey();
+
+        this.verificationTimer = Timer.builder("salon.security.credential.verification")
+                .description("CPU time of password verifications that missed the credential cache")
+                .register(meterRegistry);
+        this.savedTime = Counter.builder("salon.security.credential.cache.saved")
+                .description("Estimated verification CPU time avoided by credential cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Must be read before verifying the credentials that are later passed to {@link #put}.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public UserDetails get(String username, String password) {
+        if (!enabled) {
+            return null;
+        }
+
+        UserDetails user = cache.getIfPresent(key(username, password));
+        if (user != null) {
+            savedTime.increment(verificationTimer.mean(TimeUnit.SECONDS));
+        }
+        return user;
+    }
+
+    public void put(long verifiedAtGeneration, String username, String password, UserDetails user, long verificationNanos) {
+        verificationTimer.record(verificationNanos, TimeUnit.NANOSECONDS);
+        if (!enabled) {
+            return;
+        }
+
+        String key = key(username, password);
+        cache.put(key, user);
+
+        // Credentials may have changed between verifying and putting; drop the possibly stale entry
+        if (generation.get() != verifiedAtGeneration) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void evictUser(String username) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(user -> user.getUsername().equalsIgnoreCase(username));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCredentialsChanged(UserCredentialsChangedEvent event) {
+        log.debug("Evicting cached credentials for {}", event.email());
+        evictUser(event.email());
+    }
+
+    private String key(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hashKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot hash credentials", e);
+        }
+    }
+
+    private static SecretKey generateKey() {
+        try {
+            return KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot create credential cache key", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Binds a controller method parameter to the id of the authenticated {@link SalonUserPrincipal}.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUserId {
+}
@@ -0,0 +1,38 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated user as loaded by {@code CustomUserDetailsService}. Carries the user id
+ * and profile names so controllers do not have to look the user up again by email.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class SalonUserPrincipal extends User {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+
+    public SalonUserPrincipal(Long id,
+                              String email,
+                              String password,
+                              String firstName,
+                              String lastName,
+                              boolean enabled,
+                              Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, enabled, true, true, true, authorities);
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return getUsername();
+    }
+}
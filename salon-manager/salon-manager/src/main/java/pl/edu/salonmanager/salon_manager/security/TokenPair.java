@@ -0,0 +1,4 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+public record TokenPair(String accessToken, String refreshToken, long expiresInSeconds) {
+}
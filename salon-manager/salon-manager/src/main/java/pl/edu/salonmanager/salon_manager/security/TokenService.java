@@ -0,0 +1,160 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.stereotype.Service;
+import pl.edu.salonmanager.salon_manager.config.TokenProperties;
+import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and verifies the HMAC-signed bearer tokens of the REST API. Access tokens carry
+ * everything needed to build a {@link SalonUserPrincipal}, so verifying a request costs one
+ * HMAC check instead of a BCrypt match and a user query.
+ */
+@Service
+@Slf4j
+public class TokenService {
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_FIRST_NAME = "given_name";
+    static final String CLAIM_LAST_NAME = "family_name";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_TOKEN_USE = "token_use";
+
+    static final String ACCESS = "access";
+    static final String REFRESH = "refresh";
+
+    private final TokenProperties properties;
+    private final UserDetailsService userDetailsService;
+    private final JwtEncoder encoder;
+    private final JwtDecoder accessTokenDecoder;
+    private final JwtDecoder refreshTokenDecoder;
+
+    public TokenService(TokenProperties properties, UserDetailsService userDetailsService) {
+        this.properties = properties;
+        this.userDetailsService = userDetailsService;
+
+        SecretKey key = new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        this.accessTokenDecoder = decoder(key, ACCESS);
+        this.refreshTokenDecoder = decoder(key, REFRESH);
+    }
+
+    public TokenPair issueTokens(SalonUserPrincipal user) {
+        Instant now = Instant.now();
+
+        JwtClaimsSet access = JwtClaimsSet.builder()
+                .issuer(properties.getIssuer())
+                .subject(user.getEmail())
+                .issuedAt(now)
+                .expiresAt(now.plus(properties.getAccessTokenTtl()))
+                .claim(CLAIM_TOKEN_USE, ACCESS)
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_FIRST_NAME, user.getFirstName())
+                .claim(CLAIM_LAST_NAME, user.getLastName())
+                .claim(CLAIM_ROLES, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .build();
+
+        JwtClaimsSet refresh = JwtClaimsSet.builder()
+                .issuer(properties.getIssuer())
+                .subject(user.getEmail())
+                .id(UUID.randomUUID().toString())
+                .issuedAt(now)
+                .expiresAt(now.plus(properties.getRefreshTokenTtl()))
+                .claim(CLAIM_TOKEN_USE, REFRESH)
+                .claim(CLAIM_USER_ID, user.getId())
+                .build();
+
+        return new TokenPair(encode(access), encode(refresh), properties.getAccessTokenTtl().toSeconds());
+    }
+
+    /**
+     * Exchanges a refresh token for a new token pair. The user is reloaded so that disabled
+     * accounts and role changes take effect at the latest when the access token expires.
+     */
+    public RefreshedTokens refresh(String refreshToken) {
+        Jwt jwt;
+        try {
+            jwt = refreshTokenDecoder.decode(refreshToken);
+        } catch (JwtException e) {
+            log.debug("Rejected refresh token: {}", e.getMessage());
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        UserDetails details;
+        try {
+            details = userDetailsService.loadUserByUsername(jwt.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        if (!(details instanceof SalonUserPrincipal user) || !user.getId().equals(userId(jwt))) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        return new RefreshedTokens(user, issueTokens(user));
+    }
+
+    public JwtDecoder accessTokenDecoder() {
+        return accessTokenDecoder;
+    }
+
+    public AbstractAuthenticationToken toAuthentication(Jwt jwt) {
+        List<SimpleGrantedAuthority> authorities = jwt.getClaimAsStringList(CLAIM_ROLES).stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+
+        SalonUserPrincipal principal = new SalonUserPrincipal(
+                userId(jwt),
+                jwt.getSubject(),
+                "",
+                jwt.getClaimAsString(CLAIM_FIRST_NAME),
+                jwt.getClaimAsString(CLAIM_LAST_NAME),
+                true,
+                authorities
+        );
+
+        return UsernamePasswordAuthenticationToken.authenticated(principal, jwt, authorities);
+    }
+
+    private String encode(JwtClaimsSet claims) {
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    private JwtDecoder decoder(SecretKey key, String tokenUse) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(properties.getIssuer()),
+                new JwtClaimValidator<String>(CLAIM_TOKEN_USE, tokenUse::equals)
+        ));
+        return decoder;
+    }
+
+    private static Long userId(Jwt jwt) {
+        Object value = jwt.getClaims().get(CLAIM_USER_ID);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public record RefreshedTokens(SalonUserPrincipal user, TokenPair tokens) {
+    }
+}
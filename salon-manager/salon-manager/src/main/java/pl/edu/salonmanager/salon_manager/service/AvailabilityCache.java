@@ -0,0 +1,156 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.edu.salonmanager.salon_manager.config.AvailabilityCacheProperties;
+import pl.edu.salonmanager.salon_manager.event.EmployeeScheduleChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Free slot starts per (employee, date, slots needed). Entries are evicted after
+ * reservation and schedule writes commit.
+ * <p>
+ * Every eviction stamps the affected day or employee with the next value of one clock, and
+ * {@link #generation} of a key is the latest stamp covering it. The employee stamp is part of
+ * the key, so a schedule change makes all days of that employee unreachable at once.
+ */
+@Component
+@Slf4j
+public class AvailabilityCache {
+
+    static final String CACHE_NAME = "availability";
+
+    private final boolean enabled;
+    private final Cache<Key, List<LocalTime>> cache;
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Long, Long> employeeGenerations = new ConcurrentHashMap<>();
+    private final Map<Day, Long> dayGenerations = new ConcurrentHashMap<>();
+    private final Set<Integer> slotCounts = ConcurrentHashMap.newKeySet();
+    private volatile LocalDate prunedBefore = LocalDate.MIN;
+
+    public AvailabilityCache(AvailabilityCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Must be read before loading the data that is later passed to {@link #put}.
+     */
+    public long generation(Long employeeId, LocalDate date) {
+        return Math.max(
+                employeeGenerations.getOrDefault(employeeId, 0L),
+                dayGenerations.getOrDefault(new Day(employeeId, date), 0L));
+    }
+
+    public List<LocalTime> get(Long employeeId, LocalDate date, int slotsNeeded) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(key(employeeId, date, slotsNeeded));
+    }
+
+    public void put(long loadedAtGeneration, Long employeeId, LocalDate date, int slotsNeeded, List<LocalTime> slots) {
+        if (!enabled) {
+            return;
+        }
+
+        slotCounts.add(slotsNeeded);
+        Key key = key(employeeId, date, slotsNeeded);
+        cache.put(key, List.copyOf(slots));
+
+        // An eviction of this day or employee may have run between loading and putting
+        if (generation(employeeId, date) != loadedAtGeneration) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void evictDay(Long employeeId, LocalDate date) {
+        dayGenerations.put(new Day(employeeId, date), clock.incrementAndGet());
+
+        long employeeGeneration = employeeGenerations.getOrDefault(employeeId, 0L);
+        for (int slotsNeeded : slotCounts) {
+            cache.invalidate(new Key(employeeId, employeeGeneration, date, slotsNeeded));
+        }
+
+        pruneDayGenerations();
+    }
+
+    public void evictEmployee(Long employeeId) {
+        employeeGenerations.put(employeeId, clock.incrementAndGet());
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        ReservationSnapshot before = event.before();
+        ReservationSnapshot after = event.after();
+
+        if (after != null && after.occupiesSameTimeAs(before)) {
+            return;
+        }
+
+        evictReservationDay(before);
+        evictReservationDay(after);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeScheduleChanged(EmployeeScheduleChangedEvent event) {
+        log.debug("Evicting cached availability for employee {}", event.employeeId());
+        evictEmployee(event.employeeId());
+    }
+
+    private void evictReservationDay(ReservationSnapshot snapshot) {
+        if (snapshot == null || snapshot.employeeId() == null || snapshot.startTime() == null) {
+            return;
+        }
+
+        log.debug("Evicting cached availability for employee {} on {}",
+                snapshot.employeeId(), snapshot.startTime().toLocalDate());
+        evictDay(snapshot.employeeId(), snapshot.startTime().toLocalDate());
+    }
+
+    private Key key(Long employeeId, LocalDate date, int slotsNeeded) {
+        return new Key(employeeId, employeeGenerations.getOrDefault(employeeId, 0L), date, slotsNeeded);
+    }
+
+    /**
+     * Past days are never searched, so their stamps can go once per day.
+     */
+    private void pruneDayGenerations() {
+        LocalDate today = LocalDate.now();
+        if (prunedBefore.isBefore(today)) {
+            prunedBefore = today;
+            dayGenerations.keySet().removeIf(day -> day.date().isBefore(today));
+        }
+    }
+
+    private record Day(Long employeeId, LocalDate date) {
+    }
+
+    private record Key(Long employeeId, long employeeGeneration, LocalDate date, int slotsNeeded) {
+    }
+}
@@ -7,32 +7,44 @@ import org.springframework.transaction.annotation.Transactional;
 import pl.edu.salonmanager.salon_manager.config.SalonProperties;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityRangeResponseDto;
 import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityResponseDto;
 import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.EmployeeAvailabilityDto;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusyMinutes;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusySlotView;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
 import pl.edu.salonmanager.salon_manager.model.entity.Employee;
 import pl.edu.salonmanager.salon_manager.model.entity.EmployeeSchedule;
-import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
-import pl.edu.salonmanager.salon_manager.model.entity.ServiceOffer;
 import pl.edu.salonmanager.salon_manager.repository.*;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AvailabilityService {
 
-    private final ServiceOfferRepository serviceOfferRepository;
-    private final EmployeeSpecializationRepository employeeSpecializationRepository;
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private final ServiceCatalog serviceCatalog;
+    private final SpecializationIndex specializationIndex;
     private final EmployeeScheduleRepository employeeScheduleRepository;
     private final ReservationRepository reservationRepository;
     private final SalonProperties salonProperties;
     private final EmployeeRepository employeeRepository;
+    private final AvailabilityCache availabilityCache;
 
     @Transactional(readOnly = true)
     public AvailabilityResponseDto findAvailableSlots(LocalDate date, List<Long> serviceIds) {
@@ -43,17 +55,62 @@ public class AvailabilityService {
         int totalDurationMinutes = calculateTotalDuration(serviceIds);
         List<Employee> qualifiedEmployees = findQualifiedEmployees(serviceIds);
 
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-
         List<EmployeeAvailabilityDto> employeeAvailabilities = new ArrayList<>();
 
+        if (qualifiedEmployees.isEmpty()) {
+            return new AvailabilityResponseDto(date, totalDurationMinutes, employeeAvailabilities);
+        }
+
+        int slotsNeeded = calculateSlotsNeeded(totalDurationMinutes);
+
+        Map<Long, List<LocalTime>> slotsByEmployee = new HashMap<>();
+        Map<Long, Long> cacheGenerations = new HashMap<>();
+        List<Employee> uncachedEmployees = new ArrayList<>();
+
         for (Employee employee : qualifiedEmployees) {
-            EmployeeAvailabilityDto availability = findEmployeeAvailableSlots(
-                employee, date, dayOfWeek, totalDurationMinutes
+            long cacheGeneration = availabilityCache.generation(employee.getId(), date);
+            List<LocalTime> cachedSlots = availabilityCache.get(employee.getId(), date, slotsNeeded);
+            if (cachedSlots != null) {
+                slotsByEmployee.put(employee.getId(), cachedSlots);
+            } else {
+                cacheGenerations.put(employee.getId(), cacheGeneration);
+                uncachedEmployees.add(employee);
+            }
+        }
+
+        if (!uncachedEmployees.isEmpty()) {
+            Map<Long, EmployeeSchedule> schedulesByEmployee = findWorkingSchedules(uncachedEmployees, date.getDayOfWeek());
+            Map<Long, BusyIntervals> busyByEmployee = findBusyIntervals(
+                new ArrayList<>(schedulesByEmployee.keySet()), date
             );
 
-            if (availability != null && !availability.getAvailableSlots().isEmpty()) {
-                employeeAvailabilities.add(availability);
+            for (Employee employee : uncachedEmployees) {
+                List<LocalTime> slots = findEmployeeAvailableSlots(
+                    employee,
+                    date,
+                    schedulesByEmployee.get(employee.getId()),
+                    busyByEmployee.getOrDefault(employee.getId(), BusyIntervals.empty()),
+                    slotsNeeded
+                );
+
+                availabilityCache.put(
+                    cacheGenerations.get(employee.getId()), employee.getId(), date, slotsNeeded, slots
+                );
+                slotsByEmployee.put(employee.getId(), slots);
+            }
+        }
+
+        for (Employee employee : qualifiedEmployees) {
+            List<LocalTime> slots = slotsByEmployee.get(employee.getId());
+
+            if (!slots.isEmpty()) {
+                employeeAvailabilities.add(new EmployeeAvailabilityDto(
+                    employee.getId(),
+                    employee.getFirstName(),
+                    employee.getLastName(),
+                    employee.getEmail(),
+                    slots
+                ));
             }
         }
 
@@ -62,6 +119,95 @@ public class AvailabilityService {
         return new AvailabilityResponseDto(date, totalDurationMinutes, employeeAvailabilities);
     }
 
+    @Transactional(readOnly = true)
+    public AvailabilityRangeResponseDto findAvailableSlotsInRange(LocalDate dateFrom,
+                                                                  LocalDate dateTo,
+                                                                  List<Long> serviceIds) {
+        log.debug("Finding available slots from {} to {} for services: {}", dateFrom, dateTo, serviceIds);
+
+        validateSearchRequest(dateFrom, serviceIds);
+        validateDateRange(dateFrom, dateTo);
+
+        int totalDurationMinutes = calculateTotalDuration(serviceIds);
+        List<Employee> qualifiedEmployees = findQualifiedEmployees(serviceIds);
+
+        int slotsNeeded = calculateSlotsNeeded(totalDurationMinutes);
+
+        Map<LocalDate, Map<Long, List<LocalTime>>> slotsByDay = new HashMap<>();
+        Map<LocalDate, Map<Long, Long>> cacheGenerationsByDay = new HashMap<>();
+        Map<Long, Employee> uncachedEmployees = new LinkedHashMap<>();
+
+        for (LocalDate date = dateFrom; !date.isAfter(dateTo); date = date.plusDays(1)) {
+            Map<Long, List<LocalTime>> slotsByEmployee = slotsByDay.computeIfAbsent(date, day -> new HashMap<>());
+
+            for (Employee employee : qualifiedEmployees) {
+                long cacheGeneration = availabilityCache.generation(employee.getId(), date);
+                List<LocalTime> cachedSlots = availabilityCache.get(employee.getId(), date, slotsNeeded);
+                if (cachedSlots != null) {
+                    slotsByEmployee.put(employee.getId(), cachedSlots);
+                } else {
+                    cacheGenerationsByDay.computeIfAbsent(date, day -> new HashMap<>())
+                        .put(employee.getId(), cacheGeneration);
+                    uncachedEmployees.put(employee.getId(), employee);
+                }
+            }
+        }
+
+        if (!uncachedEmployees.isEmpty()) {
+            Map<Long, Map<DayOfWeek, EmployeeSchedule>> weeklySchedules =
+                findWeeklySchedules(new ArrayList<>(uncachedEmployees.keySet()));
+            Map<Long, Map<LocalDate, BusyIntervals>> busyByEmployeeAndDay =
+                findBusyIntervalsInRange(new ArrayList<>(weeklySchedules.keySet()), dateFrom, dateTo);
+
+            for (Map.Entry<LocalDate, Map<Long, Long>> day : cacheGenerationsByDay.entrySet()) {
+                LocalDate date = day.getKey();
+                Map<Long, List<LocalTime>> slotsByEmployee = slotsByDay.get(date);
+
+                for (Map.Entry<Long, Long> uncached : day.getValue().entrySet()) {
+                    Employee employee = uncachedEmployees.get(uncached.getKey());
+                    List<LocalTime> slots = findEmployeeAvailableSlots(
+                        employee,
+                        date,
+                        weeklySchedules.getOrDefault(employee.getId(), Map.of()).get(date.getDayOfWeek()),
+                        busyByEmployeeAndDay.getOrDefault(employee.getId(), Map.of())
+                            .getOrDefault(date, BusyIntervals.empty()),
+                        slotsNeeded
+                    );
+
+                    availabilityCache.put(uncached.getValue(), employee.getId(), date, slotsNeeded, slots);
+                    slotsByEmployee.put(employee.getId(), slots);
+                }
+            }
+        }
+
+        List<AvailabilityResponseDto> days = new ArrayList<>();
+
+        for (LocalDate date = dateFrom; !date.isAfter(dateTo); date = date.plusDays(1)) {
+            List<EmployeeAvailabilityDto> employeeAvailabilities = new ArrayList<>();
+            Map<Long, List<LocalTime>> slotsByEmployee = slotsByDay.get(date);
+
+            for (Employee employee : qualifiedEmployees) {
+                List<LocalTime> slots = slotsByEmployee.get(employee.getId());
+
+                if (!slots.isEmpty()) {
+                    employeeAvailabilities.add(new EmployeeAvailabilityDto(
+                        employee.getId(),
+                        employee.getFirstName(),
+                        employee.getLastName(),
+                        employee.getEmail(),
+                        slots
+                    ));
+                }
+            }
+
+            days.add(new AvailabilityResponseDto(date, totalDurationMinutes, employeeAvailabilities));
+        }
+
+        log.info("Computed availability for {} days from {} to {}", days.size(), dateFrom, dateTo);
+
+        return new AvailabilityRangeResponseDto(dateFrom, dateTo, totalDurationMinutes, days);
+    }
+
     @Transactional(readOnly = true)
     public boolean isSlotAvailable(Long employeeId,
                                    LocalDateTime startTime,
@@ -136,135 +282,164 @@ public class AvailabilityService {
         }
     }
 
+    private void validateDateRange(LocalDate dateFrom, LocalDate dateTo) {
+        if (dateTo == null) {
+            throw new BadRequestException("End date cannot be null");
+        }
+
+        if (dateTo.isBefore(dateFrom)) {
+            throw new BadRequestException("End date cannot be before start date");
+        }
+
+        if (ChronoUnit.DAYS.between(dateFrom, dateTo) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
     private int calculateTotalDuration(List<Long> serviceIds) {
-        List<ServiceOffer> services = serviceOfferRepository.findAllById(serviceIds);
+        List<ServiceOfferView> services = serviceCatalog.findAllById(serviceIds);
 
         if (services.size() != serviceIds.size()) {
             throw new ResourceNotFoundException("One or more services not found");
         }
 
         return services.stream()
-            .mapToInt(ServiceOffer::getDurationMinutes)
+            .mapToInt(ServiceOfferView::durationMinutes)
             .sum();
     }
 
     private List<Employee> findQualifiedEmployees(List<Long> serviceIds) {
-        return employeeSpecializationRepository.findEmployeesWithAllServices(
-            serviceIds,
-            (long) serviceIds.size()
-        );
+        List<Long> employeeIds = specializationIndex.findQualifiedEmployeeIds(serviceIds);
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+
+        return employeeRepository.findAllById(employeeIds).stream()
+            .sorted(Comparator.comparing(Employee::getId))
+            .toList();
+    }
+
+    private Map<Long, EmployeeSchedule> findWorkingSchedules(List<Employee> employees, DayOfWeek dayOfWeek) {
+        List<Long> employeeIds = employees.stream()
+            .map(Employee::getId)
+            .toList();
+
+        return employeeScheduleRepository.findByEmployeeIdInAndDayOfWeek(employeeIds, dayOfWeek).stream()
+            .filter(EmployeeSchedule::getIsWorkingDay)
+            .collect(Collectors.toMap(schedule -> schedule.getEmployee().getId(), Function.identity()));
+    }
+
+    private Map<Long, BusyIntervals> findBusyIntervals(List<Long> employeeIds, LocalDate date) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return reservationRepository.findBusyMinutesByEmployeesAndDay(
+                employeeIds,
+                date.atStartOfDay(),
+                date.plusDays(1).atStartOfDay()
+            ).stream()
+            .collect(Collectors.groupingBy(
+                BusyMinutes::employeeId,
+                Collectors.collectingAndThen(Collectors.toList(), BusyIntervals::fromBusyMinutes)
+            ));
+    }
+
+    private Map<Long, Map<DayOfWeek, EmployeeSchedule>> findWeeklySchedules(List<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return employeeScheduleRepository.findByEmployeeIdIn(employeeIds).stream()
+            .filter(EmployeeSchedule::getIsWorkingDay)
+            .collect(Collectors.groupingBy(
+                schedule -> schedule.getEmployee().getId(),
+                Collectors.toMap(EmployeeSchedule::getDayOfWeek, Function.identity())
+            ));
+    }
+
+    private Map<Long, Map<LocalDate, BusyIntervals>> findBusyIntervalsInRange(List<Long> employeeIds,
+                                                                             LocalDate dateFrom,
+                                                                             LocalDate dateTo) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return reservationRepository.findBusySlotsByEmployeesAndStartTimeRange(
+                employeeIds,
+                dateFrom.atStartOfDay(),
+                dateTo.plusDays(1).atStartOfDay()
+            ).stream()
+            .collect(Collectors.groupingBy(
+                BusySlotView::employeeId,
+                Collectors.groupingBy(
+                    busy -> busy.startTime().toLocalDate(),
+                    Collectors.mapping(
+                        AvailabilityService::toBusyMinutes,
+                        Collectors.collectingAndThen(Collectors.toList(), BusyIntervals::fromBusyMinutes)
+                    )
+                )
+            ));
+    }
+
+    /**
+     * Same minutes {@code findBusyMinutesByEmployeesAndDay} projects for the day the reservation starts on.
+     */
+    private static BusyMinutes toBusyMinutes(BusySlotView busy) {
+        LocalDateTime dayEnd = busy.startTime().toLocalDate().plusDays(1).atStartOfDay();
+        int startMinute = busy.startTime().toLocalTime().toSecondOfDay() / 60;
+        int endMinute = busy.endTime().isBefore(dayEnd) ? busy.endTime().toLocalTime().toSecondOfDay() / 60 : 1440;
+        return new BusyMinutes(busy.employeeId(), startMinute, endMinute);
     }
 
     private boolean isEmployeeQualified(Long employeeId, List<Long> serviceIds) {
-        long qualifiedCount = employeeSpecializationRepository
-                .countEmployeeQualifiedServices(employeeId, serviceIds);
-        return qualifiedCount == serviceIds.size();
+        return specializationIndex.isQualified(employeeId, serviceIds);
+    }
+
+    private int calculateSlotsNeeded(int totalDurationMinutes) {
+        return (int) Math.ceil((double) totalDurationMinutes / salonProperties.getSlotDurationMinutes());
     }
 
-    private EmployeeAvailabilityDto findEmployeeAvailableSlots(
+    private List<LocalTime> findEmployeeAvailableSlots(
             Employee employee,
             LocalDate date,
-            DayOfWeek dayOfWeek,
-            int totalDurationMinutes) {
+            EmployeeSchedule schedule,
+            BusyIntervals busyIntervals,
+            int slotsNeeded) {
 
         log.debug("Checking availability for employee: {} {} on {}",
             employee.getFirstName(), employee.getLastName(), date);
 
-        EmployeeSchedule schedule = employeeScheduleRepository
-            .findByEmployeeIdAndDayOfWeek(employee.getId(), dayOfWeek)
-            .orElse(null);
-
-        if (schedule == null || !schedule.getIsWorkingDay()) {
-            log.debug("Employee {} does not work on {}", employee.getId(), dayOfWeek);
-            return null;
+        if (schedule == null) {
+            log.debug("Employee {} does not work on {}", employee.getId(), date.getDayOfWeek());
+            return List.of();
         }
 
-        List<Reservation> reservations = reservationRepository
-            .findActiveReservationsByEmployeeAndDate(employee.getId(), date);
-
-        log.debug("Employee has {} existing reservations on {}", reservations.size(), date);
+        log.debug("Employee has {} busy intervals on {}", busyIntervals.size(), date);
 
         List<LocalTime> availableSlots = generateAvailableSlots(
             schedule.getStartTime(),
             schedule.getEndTime(),
-            totalDurationMinutes,
-            reservations,
-            date
+            slotsNeeded,
+            busyIntervals
         );
 
-        if (availableSlots.isEmpty()) {
-            log.debug("No available slots found for employee {}", employee.getId());
-            return null;
-        }
-
         log.debug("Found {} available slots for employee {}", availableSlots.size(), employee.getId());
 
-        return new EmployeeAvailabilityDto(
-            employee.getId(),
-            employee.getFirstName(),
-            employee.getLastName(),
-            employee.getEmail(),
-            availableSlots
-        );
+        return availableSlots;
     }
 
     private List<LocalTime> generateAvailableSlots(
             LocalTime workStart,
             LocalTime workEnd,
-            int totalDurationMinutes,
-            List<Reservation> reservations,
-            LocalDate date) {
+            int slotsNeeded,
+            BusyIntervals busyIntervals) {
 
-        List<LocalTime> availableSlots = new ArrayList<>();
         int slotDuration = salonProperties.getSlotDurationMinutes();
-
-        int slotsNeeded = (int) Math.ceil((double) totalDurationMinutes / slotDuration);
         int totalMinutesNeeded = slotsNeeded * slotDuration;
 
-        log.debug("Need {} slots ({} minutes) for total duration of {} minutes",
-            slotsNeeded, totalMinutesNeeded, totalDurationMinutes);
-
-        LocalTime currentSlot = workStart;
-
-        while (currentSlot.plusMinutes(totalMinutesNeeded).isBefore(workEnd)
-               || currentSlot.plusMinutes(totalMinutesNeeded).equals(workEnd)) {
-
-            LocalTime slotEndTime = currentSlot.plusMinutes(totalMinutesNeeded);
-
-            if (isSlotFree(currentSlot, slotEndTime, reservations, date)) {
-                availableSlots.add(currentSlot);
-            }
-
-            currentSlot = currentSlot.plusMinutes(slotDuration);
-        }
-
-        return availableSlots;
-    }
-
-    private boolean isSlotFree(
-            LocalTime slotStart,
-            LocalTime slotEnd,
-            List<Reservation> reservations,
-            LocalDate date) {
-
-        LocalDateTime requestedStart = LocalDateTime.of(date, slotStart);
-        LocalDateTime requestedEnd = LocalDateTime.of(date, slotEnd);
-
-        for (Reservation reservation : reservations) {
-            if (timesOverlap(requestedStart, requestedEnd, reservation.getStartTime(), reservation.getEndTime())) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
-    private boolean timesOverlap(
-            LocalDateTime start1,
-            LocalDateTime end1,
-            LocalDateTime start2,
-            LocalDateTime end2) {
+        log.debug("Need {} slots ({} minutes)", slotsNeeded, totalMinutesNeeded);
 
-        return start1.isBefore(end2) && end1.isAfter(start2);
+        return busyIntervals.freeSlotStarts(workStart, workEnd, slotDuration, totalMinutesNeeded);
     }
 }
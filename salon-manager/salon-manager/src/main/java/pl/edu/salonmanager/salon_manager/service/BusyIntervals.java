@@ -0,0 +1,129 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusyMinutes;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Busy time of a single employee on a single day, kept as sorted, non-overlapping
+ * half-open intervals of minutes since midnight.
+ */
+public final class BusyIntervals {
+
+    private static final BusyIntervals EMPTY = new BusyIntervals(new int[0], new int[0], 0);
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int size;
+
+    private BusyIntervals(int[] starts, int[] ends, int size) {
+        this.starts = starts;
+        this.ends = ends;
+        this.size = size;
+    }
+
+    public static BusyIntervals empty() {
+        return EMPTY;
+    }
+
+    public static BusyIntervals fromBusyMinutes(Collection<BusyMinutes> busyMinutes) {
+        if (busyMinutes.isEmpty()) {
+            return EMPTY;
+        }
+
+        long[] packed = new long[busyMinutes.size()];
+        int count = 0;
+
+        for (BusyMinutes busy : busyMinutes) {
+            if (busy.startMinute() < busy.endMinute()) {
+                packed[count++] = pack(busy.startMinute(), busy.endMinute());
+            }
+        }
+
+        return fromPacked(packed, count);
+    }
+
+    /**
+     * Sweeps candidate starts aligned to {@code stepMinutes} from {@code workStart}
+     * and returns those where a block of {@code lengthMinutes} fits before {@code workEnd}
+     * without touching any busy interval.
+     */
+    public List<LocalTime> freeSlotStarts(LocalTime workStart, LocalTime workEnd, int stepMinutes, int lengthMinutes) {
+        int dayStart = workStart.toSecondOfDay() / 60;
+        int dayEnd = workEnd.toSecondOfDay() / 60;
+
+        List<LocalTime> slots = new ArrayList<>();
+        int interval = firstEndingAfter(dayStart);
+        int candidate = dayStart;
+
+        while (candidate + lengthMinutes <= dayEnd) {
+            while (interval < size && ends[interval] <= candidate) {
+                interval++;
+            }
+
+            if (interval < size && starts[interval] < candidate + lengthMinutes) {
+                int stepsToSkip = Math.ceilDiv(ends[interval] - dayStart, stepMinutes);
+                candidate = Math.max(candidate + stepMinutes, dayStart + stepsToSkip * stepMinutes);
+                continue;
+            }
+
+            slots.add(LocalTime.of(candidate / 60, candidate % 60));
+            candidate += stepMinutes;
+        }
+
+        return slots;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int firstEndingAfter(int minute) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static BusyIntervals fromPacked(long[] packed, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+
+        Arrays.sort(packed, 0, count);
+
+        int[] mergedStarts = new int[count];
+        int[] mergedEnds = new int[count];
+        int merged = 0;
+
+        for (int i = 0; i < count; i++) {
+            int start = (int) (packed[i] >> 32);
+            int end = (int) packed[i];
+
+            if (merged > 0 && start <= mergedEnds[merged - 1]) {
+                mergedEnds[merged - 1] = Math.max(mergedEnds[merged - 1], end);
+            } else {
+                mergedStarts[merged] = start;
+                mergedEnds[merged] = end;
+                merged++;
+            }
+        }
+
+        return new BusyIntervals(mergedStarts, mergedEnds, merged);
+    }
+
+    private static long pack(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,78 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
+import pl.edu.salonmanager.salon_manager.model.enums.ClientStatisticsSort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes all client statistics to a stream row by row, so memory use does not grow with the
+ * number of clients.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClientStatisticsExportService {
+
+    private static final String CSV_HEADER =
+            "clientId,clientName,clientEmail,totalVisits,averageDurationMinutes,averageSpending,totalSpending";
+
+    private final StatisticsDao statisticsDao;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeJson(ClientStatisticsSort sort, OutputStream out) throws IOException {
+        AtomicLong count = new AtomicLong();
+
+        JsonGenerator generator = objectMapper.createGenerator(out);
+
+        try {
+            generator.writeStartArray();
+            statisticsDao.streamClientStatistics(sort, stats -> {
+                try {
+                    generator.writeObject(stats);
+                    count.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Streamed {} client statistics as JSON", count.get());
+    }
+
+    @Transactional(readOnly = true)
+    public void writeCsv(ClientStatisticsSort sort, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+
+        try {
+            csv.writeHeader(CSV_HEADER);
+            statisticsDao.streamClientStatistics(sort, stats -> csv.writeRowUnchecked(
+                    stats.getClientId(),
+                    stats.getClientName(),
+                    stats.getClientEmail(),
+                    stats.getTotalVisits(),
+                    stats.getAverageDurationMinutes(),
+                    stats.getAverageSpending(),
+                    stats.getTotalSpending()));
+            csv.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Streamed {} client statistics as CSV", csv.rowCount());
+    }
+}
@@ -0,0 +1,69 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Keeps {@code client_stats} in step with reservations. Deltas are written before the
+ * reservation transaction commits, so both changes succeed or roll back together.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClientStatsUpdater {
+
+    private final StatisticsDao statisticsDao;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        ReservationSnapshot before = counted(event.before());
+        ReservationSnapshot after = counted(event.after());
+
+        if (before != null && after != null && Objects.equals(before.userId(), after.userId())) {
+            apply(after.userId(),
+                    0,
+                    after.durationSeconds() - before.durationSeconds(),
+                    after.totalPrice().subtract(before.totalPrice()));
+            return;
+        }
+
+        if (before != null) {
+            apply(before.userId(), -1, -before.durationSeconds(), before.totalPrice().negate());
+        }
+        if (after != null) {
+            apply(after.userId(), 1, after.durationSeconds(), after.totalPrice());
+        }
+    }
+
+    @Scheduled(cron = "${salon.statistics.client-stats-reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        int clients = statisticsDao.rebuildClientStats();
+        log.info("Rebuilt client statistics for {} clients", clients);
+    }
+
+    private void apply(Long userId, long visits, long durationSeconds, BigDecimal spending) {
+        if (visits == 0 && durationSeconds == 0 && spending.signum() == 0) {
+            return;
+        }
+
+        log.debug("Applying client statistics delta for user {}: visits {}, seconds {}, spending {}",
+                userId, visits, durationSeconds, spending);
+        statisticsDao.applyClientStatsDelta(userId, visits, durationSeconds, spending);
+    }
+
+    private static ReservationSnapshot counted(ReservationSnapshot snapshot) {
+        return snapshot != null && snapshot.countsAsVisit() ? snapshot : null;
+    }
+}
@@ -0,0 +1,98 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.dao.ExportDao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Streams service offers, reservations and reviews as CSV straight from a database cursor
+ * to the response, so memory use does not grow with the number of rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CsvExportService {
+
+    static final String SERVICE_OFFERS_HEADER = "name,price,durationMinutes";
+    static final String RESERVATIONS_HEADER =
+            "id,startTime,endTime,status,totalPrice,clientEmail,employeeName,services";
+    static final String REVIEWS_HEADER = "id,createdAt,authorEmail,content,imageFilename";
+
+    private static final String SERVICE_NAMES_SEPARATOR = ";";
+
+    private final ExportDao exportDao;
+    private final ServiceCatalog serviceCatalog;
+
+    /**
+     * Entity tag of the service offer export; changes with every committed catalog change.
+     */
+    public String serviceOffersETag() {
+        return "\"services-" + serviceCatalog.versionTag() + "\"";
+    }
+
+    public Instant serviceOffersLastModified() {
+        return serviceCatalog.lastModified();
+    }
+
+    @Transactional(readOnly = true)
+    public void writeServiceOffers(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeHeader(SERVICE_OFFERS_HEADER);
+
+        write(csv, () -> exportDao.streamServiceOffers(offer ->
+                csv.writeRowUnchecked(offer.name(), offer.price(), offer.durationMinutes())));
+
+        log.info("Streamed {} service offers as CSV", csv.rowCount());
+    }
+
+    @Transactional(readOnly = true)
+    public void writeReservations(LocalDate dateFrom, LocalDate dateTo, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeHeader(RESERVATIONS_HEADER);
+
+        write(csv, () -> exportDao.streamReservations(dateFrom.atStartOfDay(), dateTo.plusDays(1).atStartOfDay(),
+                reservation -> csv.writeRowUnchecked(
+                        reservation.id(),
+                        reservation.startTime(),
+                        reservation.endTime(),
+                        reservation.status(),
+                        reservation.totalPrice(),
+                        reservation.clientEmail(),
+                        reservation.employeeName(),
+                        String.join(SERVICE_NAMES_SEPARATOR, reservation.serviceNames()))));
+
+        log.info("Streamed {} reservations from {} to {} as CSV", csv.rowCount(), dateFrom, dateTo);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeReviews(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeHeader(REVIEWS_HEADER);
+
+        write(csv, () -> exportDao.streamReviews(review -> csv.writeRowUnchecked(
+                review.id(),
+                review.createdAt(),
+                review.authorEmail(),
+                review.content(),
+                review.imageFilename())));
+
+        log.info("Streamed {} reviews as CSV", csv.rowCount());
+    }
+
+    private void write(CsvWriter csv, Runnable rows) throws IOException {
+        try {
+            rows.run();
+            csv.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 record reader, the counterpart of {@link CsvWriter}. Quoted fields may contain
+ * delimiters, doubled quotes and line breaks; records end with LF or CRLF. A malformed quoted
+ * field makes the rest of the input unreadable, so it fails the whole read.
+ */
+public class CsvReader {
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private int line = 1;
+    private int recordLine;
+    private int pending = -2;
+    private boolean firstChar = true;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Next record, or {@code null} at end of input. A blank line is returned as a single empty field.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+
+        while (true) {
+            if (c == QUOTE && field.isEmpty()) {
+                c = readQuoted(field);
+            } else {
+                while (c != -1 && c != DELIMITER && c != '\n' && c != '\r') {
+                    field.append((char) c);
+                    c = read();
+                }
+            }
+
+            fields.add(field.toString());
+            field.setLength(0);
+
+            if (c == DELIMITER) {
+                c = read();
+                continue;
+            }
+            if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+            }
+            if (c == '\r' || c == '\n') {
+                line++;
+            }
+            return fields;
+        }
+    }
+
+    /**
+     * Line on which the last returned record started (1-based).
+     */
+    public int recordLine() {
+        return recordLine;
+    }
+
+    private int readQuoted(StringBuilder field) throws IOException {
+        int startLine = line;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new BadRequestException("Unterminated quoted field starting on line " + startLine);
+            }
+            if (c == QUOTE) {
+                int next = read();
+                if (next == QUOTE) {
+                    field.append(QUOTE);
+                    continue;
+                }
+                if (next != DELIMITER && next != '\n' && next != '\r' && next != -1) {
+                    throw new BadRequestException("Unexpected character after closing quote on line " + line);
+                }
+                return next;
+            }
+            if (c == '\n') {
+                line++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+
+        int c = reader.read();
+        if (firstChar) {
+            firstChar = false;
+            if (c == BYTE_ORDER_MARK) {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
@@ -0,0 +1,76 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered RFC 4180 row writer for streamed CSV exports. Values containing a delimiter,
+ * quote or line break are quoted; {@code null} is written as an empty field.
+ */
+public class CsvWriter implements Flushable {
+
+    private static final char DELIMITER = ',';
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final Writer writer;
+    private long rows;
+
+    public CsvWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    public void writeHeader(String header) throws IOException {
+        writer.write(header);
+        writer.write(LINE_SEPARATOR);
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(DELIMITER);
+            }
+            writer.write(format(values[i]));
+        }
+        writer.write(LINE_SEPARATOR);
+        rows++;
+    }
+
+    /**
+     * Same as {@link #writeRow} for use inside row callbacks that cannot throw checked exceptions.
+     */
+    public void writeRowUnchecked(Object... values) {
+        try {
+            writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long rowCount() {
+        return rows;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return escape(value.toString());
+    }
+
+    static String escape(String value) {
+        if (value.indexOf(DELIMITER) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
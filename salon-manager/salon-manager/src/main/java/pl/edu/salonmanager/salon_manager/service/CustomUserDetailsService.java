@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 import pl.edu.salonmanager.salon_manager.model.entity.Role;
 import pl.edu.salonmanager.salon_manager.model.entity.User;
 import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.SalonUserPrincipal;
 
 import java.util.Collection;
 import java.util.stream.Collectors;
@@ -36,13 +37,13 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User account is disabled: " + email);
         }
 
-        return new org.springframework.security.core.userdetails.User(
+        return new SalonUserPrincipal(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
+                user.getFirstName(),
+                user.getLastName(),
                 user.getEnabled(),
-                true, // accountNonExpired
-                true, // credentialsNonExpired
-                true, // accountNonLocked
                 mapRoles(user.getRoles())
         );
     }
@@ -3,8 +3,11 @@ package pl.edu.salonmanager.salon_manager.service;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.event.EmployeeScheduleChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.SpecializationsChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.dto.employee.response.EmployeeDto;
@@ -29,6 +32,7 @@ public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final EmployeeScheduleRepository employeeScheduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<EmployeeDto> getAllEmployees() {
@@ -96,6 +100,8 @@ public class EmployeeService {
         }
 
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new EmployeeScheduleChangedEvent(id));
+        eventPublisher.publishEvent(new SpecializationsChangedEvent());
         log.info("Employee deleted successfully with id: {}", id);
     }
 
@@ -147,6 +153,7 @@ public class EmployeeService {
         }
 
         List<EmployeeSchedule> saved = employeeScheduleRepository.saveAll(schedules);
+        eventPublisher.publishEvent(new EmployeeScheduleChangedEvent(employee.getId()));
 
         log.info("Schedule created successfully for employee: {}", employee.getId());
         return saved.stream()
@@ -170,6 +177,7 @@ public class EmployeeService {
             });
 
         employeeScheduleRepository.deleteById(schedule.getId());
+        eventPublisher.publishEvent(new EmployeeScheduleChangedEvent(employee.getId()));
         log.info("Schedule deleted successfully with id");
     }
 
@@ -205,6 +213,7 @@ public class EmployeeService {
         }
 
         List<EmployeeSchedule> saved = employeeScheduleRepository.saveAll(updatedSchedules);
+        eventPublisher.publishEvent(new EmployeeScheduleChangedEvent(employee.getId()));
 
         log.info("Schedule updated successfully for employee: {}", employee.getId());
         return saved.stream()
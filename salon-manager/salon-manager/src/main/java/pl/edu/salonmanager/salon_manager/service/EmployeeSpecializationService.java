@@ -2,8 +2,10 @@ package pl.edu.salonmanager.salon_manager.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.event.SpecializationsChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.response.EmployeeSpecializationDto;
 import pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.request.CreateEmployeeSpecializationRequest;
@@ -25,6 +27,7 @@ public class EmployeeSpecializationService {
     private final EmployeeSpecializationRepository employeeSpecializationRepository;
     private final EmployeeRepository employeeRepository;
     private final ServiceOfferRepository serviceOfferRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<EmployeeSpecializationDto> getAllSpecializations() {
@@ -69,6 +72,7 @@ public class EmployeeSpecializationService {
         specialization.setExperienceYears(request.getExperienceYears());
 
         EmployeeSpecialization saved = employeeSpecializationRepository.save(specialization);
+        eventPublisher.publishEvent(new SpecializationsChangedEvent());
         log.info("Specialization created successfully with id: {}", saved.getId());
         return mapToDto(saved);
     }
@@ -82,6 +86,7 @@ public class EmployeeSpecializationService {
         }
 
         employeeSpecializationRepository.deleteById(id);
+        eventPublisher.publishEvent(new SpecializationsChangedEvent());
         log.info("Specialization deleted successfully with id: {}", id);
     }
 
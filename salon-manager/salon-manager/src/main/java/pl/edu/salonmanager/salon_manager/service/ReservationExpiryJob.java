@@ -0,0 +1,89 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.edu.salonmanager.salon_manager.config.ReservationExpiryProperties;
+import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cancels CREATED reservations that were not approved before they start. Each batch runs in its
+ * own short transaction and only locks the rows it cancels, so several instances can run the job
+ * at the same time without blocking each other or the booking flow for long.
+ */
+@Component
+@Slf4j
+public class ReservationExpiryJob {
+
+    private final StatisticsDao statisticsDao;
+    private final ReservationExpiryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter expiredCounter;
+
+    public ReservationExpiryJob(StatisticsDao statisticsDao,
+                                ReservationExpiryProperties properties,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry) {
+        this.statisticsDao = statisticsDao;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.expiredCounter = Counter.builder("salon.reservations.expired")
+                .description("CREATED reservations cancelled by the expiry job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${salon.reservation-expiry.interval:PT5M}",
+               initialDelayString = "${salon.reservation-expiry.interval:PT5M}")
+    public void expireStaleReservations() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().plus(properties.getExpireBeforeStart());
+        int total = 0;
+
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer expired = transactionTemplate.execute(status -> expireBatch(cutoff));
+            total += expired;
+            if (expired < properties.getBatchSize()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Expired {} CREATED reservations starting before {}", total, cutoff);
+        }
+    }
+
+    private int expireBatch(LocalDateTime cutoff) {
+        List<ReservationSnapshot> locked = statisticsDao.lockExpiredPendingReservations(cutoff, properties.getBatchSize());
+        if (locked.isEmpty()) {
+            return 0;
+        }
+
+        statisticsDao.cancelPendingReservations(locked.stream().map(ReservationSnapshot::id).toList());
+
+        // Listeners run after this batch commits, e.g. to evict cached availability of the freed days
+        for (ReservationSnapshot reservation : locked) {
+            eventPublisher.publishEvent(new ReservationChangedEvent(
+                    reservation, reservation.withStatus(ReservationStatus.CANCELLED)));
+        }
+
+        expiredCounter.increment(locked.size());
+        log.debug("Expired batch of {} reservations", locked.size());
+        return locked.size();
+    }
+}
@@ -1,42 +1,51 @@
 package pl.edu.salonmanager.salon_manager.service;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.annotation.Transactional;
 import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
 
+/**
+ * Ownership and status rules for changing reservations. The admin check reads the
+ * authorities of the authenticated principal instead of querying the user's roles.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class ReservationSecurityService {
 
-    private final UserRepository userRepository;
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
 
-    @Transactional(readOnly = true)
-    public boolean canEditReservation(Reservation reservation, User user) {
+    public boolean canEditReservation(Reservation reservation, Long userId) {
 
-        if (userRepository.hasAdminRole(user.getId())) {
+        if (isAdmin()) {
             return true;
         }
 
-        return reservation.getUser().getId().equals(user.getId())
+        return reservation.getUser().getId().equals(userId)
                 && reservation.getStatus() != ReservationStatus.APPROVED_BY_SALON
                 && reservation.getStatus() != ReservationStatus.CANCELLED;
     }
 
-    @Transactional(readOnly = true)
-    public boolean canCancelReservation(Reservation reservation, User user) {
+    public boolean canCancelReservation(Reservation reservation, Long userId) {
 
-        if (userRepository.hasAdminRole(user.getId())) {
+        if (isAdmin()) {
             return true;
         }
 
-        return reservation.getUser().getId().equals(user.getId())
+        return reservation.getUser().getId().equals(userId)
                 && reservation.getStatus() != ReservationStatus.CANCELLED
                 && reservation.getStatus() != ReservationStatus.CONFIRMED_BY_CLIENT;
     }
+
+    private boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .anyMatch(ADMIN_AUTHORITY::equals);
+    }
 }
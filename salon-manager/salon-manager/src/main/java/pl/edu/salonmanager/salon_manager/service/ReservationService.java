@@ -2,14 +2,25 @@ package pl.edu.salonmanager.salon_manager.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.dao.LockTimeoutDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.ReservationServiceIdView;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.CreateReservationRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.ReservationRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.UpdateReservationRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.response.ReservationDetailDto;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
 import pl.edu.salonmanager.salon_manager.model.entity.Employee;
 import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
 import pl.edu.salonmanager.salon_manager.model.entity.ServiceOffer;
@@ -17,14 +28,16 @@ import pl.edu.salonmanager.salon_manager.model.entity.User;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
 import pl.edu.salonmanager.salon_manager.repository.EmployeeRepository;
 import pl.edu.salonmanager.salon_manager.repository.ReservationRepository;
-import pl.edu.salonmanager.salon_manager.repository.ServiceOfferRepository;
 import pl.edu.salonmanager.salon_manager.repository.UserRepository;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -32,20 +45,32 @@ import java.util.Set;
 @Slf4j
 public class ReservationService {
 
+    private static final Duration EMPLOYEE_LOCK_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "startTime", "endTime", "status", "totalPrice");
+
     private final ReservationRepository reservationRepository;
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
-    private final ServiceOfferRepository serviceOfferRepository;
+    private final LockTimeoutDao lockTimeoutDao;
+    private final ServiceCatalog serviceCatalog;
     private final ReservationSecurityService securityService;
     private final AvailabilityService availabilityService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * One page of reservations, newest first by default. Rows are projected straight into DTOs, so
+     * nothing is loaded into the persistence context; service ids of the whole page come with one
+     * more id-only query.
+     */
     @Transactional(readOnly = true)
-    public List<Reservation> getAllReservations(ReservationStatus status) {
-        log.debug("Fetching all reservations with status filter: {}", status);
-        if (status == null) {
-            return reservationRepository.findAll();
-        }
-        return reservationRepository.findByStatus(status);
+    public Page<ReservationDetailDto> getAllReservations(ReservationStatus status, Pageable pageable) {
+        log.debug("Fetching reservations page {} with status filter: {}", pageable, status);
+        Pageable stablePageable = stablePageable(pageable);
+        Page<ReservationDetailDto> page = status == null
+                ? reservationRepository.findAllDetails(stablePageable)
+                : reservationRepository.findDetailsByStatus(status, stablePageable);
+        return withServiceIds(page);
     }
 
     @Transactional(readOnly = true)
@@ -62,17 +87,26 @@ public class ReservationService {
     }
 
     @Transactional(readOnly = true)
-    public List<Reservation> getReservationsByEmployeeAndDateRange(Long employeeId, LocalDate startDate, LocalDate endDate) {
+    public Page<ReservationDetailDto> getMyReservations(Long userId, Pageable pageable) {
+        log.debug("Fetching reservations page {} for user id: {}", pageable, userId);
+        return withServiceIds(reservationRepository.findDetailsByUserId(userId, stablePageable(pageable)));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReservationDetailDto> getReservationsByEmployeeAndDateRange(Long employeeId, LocalDate startDate,
+                                                                            LocalDate endDate, Pageable pageable) {
         log.debug("Fetching reservations for employee {} between {} and {}", employeeId, startDate, endDate);
 
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found with id: " + employeeId);
+        }
 
-        return reservationRepository.findByEmployeeAndStartTimeBetween(
-                employee,
+        return withServiceIds(reservationRepository.findDetailsByEmployeeIdAndStartTimeRange(
+                employeeId,
                 startDate.atStartOfDay(),
-                endDate.plusDays(1).atStartOfDay()
-        );
+                endDate.plusDays(1).atStartOfDay(),
+                stablePageable(pageable)
+        ));
     }
 
     @Transactional
@@ -89,6 +123,7 @@ public class ReservationService {
         applyReservationDetails(reservation, request, null);
 
         Reservation saved = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationChangedEvent(null, ReservationSnapshot.of(saved, saved.getServicePricesById())));
         log.info("Reservation created successfully with id: {}", saved.getId());
         return saved;
     }
@@ -105,8 +140,10 @@ public class ReservationService {
             throw new BadRequestException("Reservation cannot be approved in current status: " + reservation.getStatus());
         }
 
+        ReservationSnapshot before = snapshotWithStoredPrices(reservation);
         reservation.setStatus(ReservationStatus.APPROVED_BY_SALON);
         Reservation updated = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationChangedEvent(before, ReservationSnapshot.of(updated, before.servicePrices())));
 
         log.info("Reservation {} approved successfully by salon", id);
         return updated;
@@ -129,8 +166,10 @@ public class ReservationService {
             throw new BadRequestException("Reservation cannot be confirmed in current status: " + reservation.getStatus());
         }
 
+        ReservationSnapshot before = snapshotWithStoredPrices(reservation);
         reservation.setStatus(ReservationStatus.CONFIRMED_BY_CLIENT);
         Reservation updated = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationChangedEvent(before, ReservationSnapshot.of(updated, before.servicePrices())));
 
         log.info("Reservation {} confirmed successfully by client", id);
         return updated;
@@ -138,41 +177,45 @@ public class ReservationService {
 
 
     @Transactional
-    public Reservation updateReservation(Long id, UpdateReservationRequest request) {
-        log.debug("Updating reservation with id: {}", id);
+    public Reservation updateReservation(Long id, UpdateReservationRequest request, Long currentUserId) {
+        log.debug("Updating reservation {} by user {}", id, currentUserId);
 
         Reservation reservation = reservationRepository.findByIdWithUserAndEmployee(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
 
-        if (!securityService.canEditReservation(reservation, reservation.getUser())) {
-            log.warn("Not authorized to update reservation: {}", id);
+        if (!securityService.canEditReservation(reservation, currentUserId)) {
+            log.warn("User {} not authorized to update reservation {}", currentUserId, id);
             throw new UnauthorizedException("Not authorized to update this reservation or reservation is already APPROVED_BY_SALON or CANCELLED");
         }
 
+        ReservationSnapshot before = snapshotWithStoredPrices(reservation);
         applyReservationDetails(reservation, request, id);
 
         Reservation updated = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationChangedEvent(before, ReservationSnapshot.of(updated, updated.getServicePricesById())));
         log.info("Reservation {} updated successfully", id);
         return updated;
     }
 
     @Transactional
-    public Reservation cancelReservation(Long reservationId, User currentUser) {
-        log.debug("Cancelling reservation {} by user {}", reservationId, currentUser.getId());
+    public Reservation cancelReservation(Long reservationId, Long currentUserId) {
+        log.debug("Cancelling reservation {} by user {}", reservationId, currentUserId);
 
         Reservation reservation = reservationRepository.findByIdWithUserAndEmployee(reservationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + reservationId));
 
-        if (!securityService.canCancelReservation(reservation, currentUser)) {
+        if (!securityService.canCancelReservation(reservation, currentUserId)) {
             log.warn("User {} not authorized to cancel reservation {}",
-                    currentUser.getId(), reservationId);
+                    currentUserId, reservationId);
             throw new UnauthorizedException("Not authorized to cancel this reservation or reservation status is already CANCELLED or CONFIRMED_BY_CLIENT");
         }
 
+        ReservationSnapshot before = snapshotWithStoredPrices(reservation);
         reservation.setStatus(ReservationStatus.CANCELLED);
         Reservation updated = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationChangedEvent(before, ReservationSnapshot.of(updated, before.servicePrices())));
 
-        log.info("Reservation {} cancelled successfully by user {}", reservationId, currentUser.getId());
+        log.info("Reservation {} cancelled successfully by user {}", reservationId, currentUserId);
         return updated;
     }
 
@@ -192,7 +235,10 @@ public class ReservationService {
     private void applyReservationDetails(Reservation reservation, ReservationRequest request, Long excludeReservationId) {
         validateReservationTime(request.getStartTime());
 
-        Employee employee = employeeRepository.findById(request.getEmployeeId())
+        // Row lock on the employee serializes bookings per employee until commit,
+        // so the overlap check below cannot race with a concurrent insert
+        lockTimeoutDao.limitLockWait(EMPLOYEE_LOCK_TIMEOUT);
+        Employee employee = employeeRepository.findByIdForUpdate(request.getEmployeeId())
             .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + request.getEmployeeId()));
 
         ReservationCalculation calculation = calculateReservationDetails(request.getServiceIds());
@@ -210,28 +256,28 @@ public class ReservationService {
         reservation.setEmployee(employee);
         reservation.setStartTime(request.getStartTime());
         reservation.setEndTime(endTime);
-        reservation.setServices(calculation.services());
+        reservation.setServicePrices(calculation.servicePrices());
         reservation.setTotalPrice(calculation.totalPrice());
     }
 
     private record ReservationCalculation(
-        Set<ServiceOffer> services,
+        Map<ServiceOffer, BigDecimal> servicePrices,
         BigDecimal totalPrice,
         int totalDurationMinutes
     ) {}
 
     private ReservationCalculation calculateReservationDetails(Set<Long> serviceIds) {
 
-        Set<ServiceOffer> services = new HashSet<>();
+        Map<ServiceOffer, BigDecimal> servicePrices = new HashMap<>();
         BigDecimal totalPrice = BigDecimal.ZERO;
         int totalDurationMinutes = 0;
 
         for (Long serviceId : serviceIds) {
-            ServiceOffer service = serviceOfferRepository.findById(serviceId)
+            ServiceOfferView offer = serviceCatalog.findById(serviceId)
                     .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + serviceId));
-            services.add(service);
-            totalPrice = totalPrice.add(service.getPrice());
-            totalDurationMinutes += service.getDurationMinutes();
+            servicePrices.put(toServiceReference(offer), offer.price());
+            totalPrice = totalPrice.add(offer.price());
+            totalDurationMinutes += offer.durationMinutes();
         }
 
         if (totalDurationMinutes <= 0) {
@@ -239,7 +285,62 @@ public class ReservationService {
             throw new BadRequestException("Total service duration must be greater than 0");
         }
 
-        return new ReservationCalculation(services, totalPrice, totalDurationMinutes);
+        return new ReservationCalculation(servicePrices, totalPrice, totalDurationMinutes);
+    }
+
+    // Detached instance built from the catalog; only its id is written to reservation_services
+    private ServiceOffer toServiceReference(ServiceOfferView offer) {
+        ServiceOffer service = new ServiceOffer();
+        service.setId(offer.id());
+        service.setName(offer.name());
+        service.setPrice(offer.price());
+        service.setDurationMinutes(offer.durationMinutes());
+        return service;
+    }
+
+    /**
+     * Rejects sorting on anything but reservation columns and appends the id, so rows with equal
+     * sort values keep their order between pages.
+     */
+    private Pageable stablePageable(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort reservations by: " + order.getProperty()
+                        + ". Use one of " + SORTABLE_PROPERTIES);
+            }
+        }
+
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(Sort.Direction.DESC, "id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    /**
+     * Snapshot carrying the prices stored on reservation_services, read with the projection query
+     * instead of initializing the reservation's service collection.
+     */
+    private ReservationSnapshot snapshotWithStoredPrices(Reservation reservation) {
+        Map<Long, BigDecimal> servicePrices = new HashMap<>();
+        for (ReservationServiceIdView row : reservationRepository.findServiceIdsByReservationIds(List.of(reservation.getId()))) {
+            servicePrices.put(row.serviceId(), row.price());
+        }
+        return ReservationSnapshot.of(reservation, servicePrices);
     }
 
+    private Page<ReservationDetailDto> withServiceIds(Page<ReservationDetailDto> page) {
+        if (page.isEmpty()) {
+            return page;
+        }
+
+        List<Long> ids = page.getContent().stream().map(ReservationDetailDto::getReservationId).toList();
+        Map<Long, Set<Long>> serviceIds = new HashMap<>();
+        for (ReservationServiceIdView row : reservationRepository.findServiceIdsByReservationIds(ids)) {
+            serviceIds.computeIfAbsent(row.reservationId(), id -> new HashSet<>()).add(row.serviceId());
+        }
+
+        page.forEach(dto -> dto.setServiceIds(serviceIds.getOrDefault(dto.getReservationId(), Set.of())));
+        return page;
+    }
 }
@@ -0,0 +1,105 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.dao.RevenueRollupDao;
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.EmployeeRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ServiceRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.entity.EmployeeSchedule;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+import pl.edu.salonmanager.salon_manager.repository.EmployeeScheduleRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Revenue, bookings and utilization per time bucket, read from the pre-aggregated rollups.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueAnalyticsService {
+
+    static final int MAX_BUCKETS = 366;
+
+    private final RevenueRollupDao revenueRollupDao;
+    private final EmployeeScheduleRepository employeeScheduleRepository;
+
+    @Transactional(readOnly = true)
+    public List<EmployeeRevenueDto> getEmployeeRevenue(StatisticsPeriod period, LocalDate from, LocalDate to,
+                                                       Long employeeId) {
+        log.debug("Fetching {} employee revenue from {} to {} for employee {}", period, from, to, employeeId);
+        validateRange(period, from, to);
+
+        List<EmployeeRevenueDto> buckets = revenueRollupDao.findEmployeeRevenue(
+                period, period.bucketStart(from), to, employeeId);
+        if (buckets.isEmpty()) {
+            return buckets;
+        }
+
+        List<Long> employeeIds = buckets.stream().map(EmployeeRevenueDto::getEmployeeId).distinct().toList();
+        Map<Long, Map<DayOfWeek, Long>> weeklyMinutes = employeeScheduleRepository.findByEmployeeIdIn(employeeIds)
+                .stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getEmployee().getId(),
+                        Collectors.toMap(EmployeeSchedule::getDayOfWeek, RevenueAnalyticsService::scheduledMinutes)));
+
+        for (EmployeeRevenueDto bucket : buckets) {
+            long scheduled = scheduledMinutes(
+                    weeklyMinutes.getOrDefault(bucket.getEmployeeId(), Map.of()),
+                    bucket.getBucketStart(),
+                    period.nextBucketStart(bucket.getBucketStart()));
+            bucket.setScheduledMinutes(scheduled);
+            bucket.setUtilization(scheduled > 0
+                    ? BigDecimal.valueOf(bucket.getBookedMinutes()).divide(BigDecimal.valueOf(scheduled), 4, RoundingMode.HALF_UP)
+                    : null);
+        }
+
+        return buckets;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ServiceRevenueDto> getServiceRevenue(StatisticsPeriod period, LocalDate from, LocalDate to,
+                                                     Long serviceId) {
+        log.debug("Fetching {} service revenue from {} to {} for service {}", period, from, to, serviceId);
+        validateRange(period, from, to);
+
+        return revenueRollupDao.findServiceRevenue(period, period.bucketStart(from), to, serviceId);
+    }
+
+    private void validateRange(StatisticsPeriod period, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Start date must not be after end date");
+        }
+
+        int buckets = 0;
+        for (LocalDate start = period.bucketStart(from); !start.isAfter(to); start = period.nextBucketStart(start)) {
+            if (++buckets > MAX_BUCKETS) {
+                throw new BadRequestException("Date range too long, at most " + MAX_BUCKETS + " buckets of " + period);
+            }
+        }
+    }
+
+    private static long scheduledMinutes(EmployeeSchedule schedule) {
+        if (!Boolean.TRUE.equals(schedule.getIsWorkingDay())
+                || schedule.getStartTime() == null || schedule.getEndTime() == null) {
+            return 0;
+        }
+        return Duration.between(schedule.getStartTime(), schedule.getEndTime()).toMinutes();
+    }
+
+    private static long scheduledMinutes(Map<DayOfWeek, Long> weeklyMinutes, LocalDate from, LocalDate until) {
+        long total = 0;
+        for (LocalDate day = from; day.isBefore(until); day = day.plusDays(1)) {
+            total += weeklyMinutes.getOrDefault(day.getDayOfWeek(), 0L);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,97 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.edu.salonmanager.salon_manager.dao.RevenueRollupDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the employee and service revenue rollups in step with reservations, in the same
+ * transaction as the reservation write.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueRollupUpdater {
+
+    private final RevenueRollupDao revenueRollupDao;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        Map<Bucket, Delta> employeeDeltas = new LinkedHashMap<>();
+        Map<Bucket, Delta> serviceDeltas = new LinkedHashMap<>();
+
+        collect(event.before(), -1, employeeDeltas, serviceDeltas);
+        collect(event.after(), 1, employeeDeltas, serviceDeltas);
+
+        employeeDeltas.forEach((bucket, delta) -> {
+            if (!delta.isZero()) {
+                revenueRollupDao.applyEmployeeDelta(bucket.id(), bucket.period(), bucket.start(),
+                        delta.bookings, delta.revenue, delta.minutes);
+            }
+        });
+        serviceDeltas.forEach((bucket, delta) -> {
+            if (!delta.isZero()) {
+                revenueRollupDao.applyServiceDelta(bucket.id(), bucket.period(), bucket.start(),
+                        delta.bookings, delta.revenue);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${salon.statistics.revenue-rollup-reconcile-cron:0 45 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        int rows = revenueRollupDao.rebuildRollups();
+        log.info("Rebuilt revenue rollups, {} rows", rows);
+    }
+
+    private static void collect(ReservationSnapshot snapshot, int sign,
+                                Map<Bucket, Delta> employeeDeltas, Map<Bucket, Delta> serviceDeltas) {
+        if (snapshot == null || !snapshot.countsAsVisit()) {
+            return;
+        }
+
+        LocalDate date = snapshot.startTime().toLocalDate();
+        for (StatisticsPeriod period : StatisticsPeriod.values()) {
+            LocalDate start = period.bucketStart(date);
+
+            employeeDeltas.computeIfAbsent(new Bucket(snapshot.employeeId(), period, start), bucket -> new Delta())
+                    .add(sign, snapshot.totalPrice(), snapshot.durationMinutes());
+
+            snapshot.servicePrices().forEach((serviceId, price) ->
+                    serviceDeltas.computeIfAbsent(new Bucket(serviceId, period, start), bucket -> new Delta())
+                            .add(sign, price, 0));
+        }
+    }
+
+    private record Bucket(Long id, StatisticsPeriod period, LocalDate start) {
+    }
+
+    private static final class Delta {
+        private long bookings;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long minutes;
+
+        private void add(int sign, BigDecimal amount, long bookedMinutes) {
+            bookings += sign;
+            revenue = sign > 0 ? revenue.add(amount) : revenue.subtract(amount);
+            minutes += sign * bookedMinutes;
+        }
+
+        private boolean isZero() {
+            return bookings == 0 && revenue.signum() == 0 && minutes == 0;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.edu.salonmanager.salon_manager.event.ServiceCatalogChangedEvent;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
+import pl.edu.salonmanager.salon_manager.repository.ServiceOfferRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory copy of the service offers. A committed catalog change bumps the
+ * version, and the next lookup reloads the whole catalog. Changes committed by other instances
+ * are picked up by a periodic refresh, so the copy is at most one refresh interval stale.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceCatalog {
+
+    private final ServiceOfferRepository serviceOfferRepository;
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile Instant lastModified = Instant.now();
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of());
+
+    public Optional<ServiceOfferView> findById(Long id) {
+        return Optional.ofNullable(snapshot().offers().get(id));
+    }
+
+    /**
+     * Offers with the given ids; unknown ids are skipped.
+     */
+    public List<ServiceOfferView> findAllById(Collection<Long> ids) {
+        Map<Long, ServiceOfferView> offers = snapshot().offers();
+
+        List<ServiceOfferView> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ServiceOfferView offer = offers.get(id);
+            if (offer != null) {
+                found.add(offer);
+            }
+        }
+        return found;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Version qualified with an id of this application instance, so tags handed out before a
+     * restart or by another instance never match.
+     */
+    public String versionTag() {
+        return instanceId + "-" + version.get();
+    }
+
+    /**
+     * Commit time of the last catalog change seen by this instance, or its startup time.
+     */
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onServiceCatalogChanged(ServiceCatalogChangedEvent event) {
+        lastModified = Instant.now();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Reloads the catalog and bumps the version only if it differs from the loaded copy, so
+     * version tags stay stable while nothing changes.
+     */
+    @Scheduled(fixedDelayString = "${salon.service-catalog.refresh-interval:PT1M}",
+               initialDelayString = "${salon.service-catalog.refresh-interval:PT1M}")
+    public synchronized void refresh() {
+        Map<Long, ServiceOfferView> offers = loadOffers();
+        if (offers.equals(snapshot.offers())) {
+            return;
+        }
+
+        lastModified = Instant.now();
+        long refreshedVersion = version.incrementAndGet();
+        snapshot = new Snapshot(refreshedVersion, offers);
+        log.info("Service catalog changed in the database, refreshed to version {} with {} offers",
+                refreshedVersion, offers.size());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current.version() == version.get()) {
+            return current;
+        }
+
+        synchronized (this) {
+            long loadingVersion = version.get();
+            if (snapshot.version() != loadingVersion) {
+                // A change committed while loading bumps the version again, so the next lookup reloads
+                Map<Long, ServiceOfferView> offers = loadOffers();
+                snapshot = new Snapshot(loadingVersion, offers);
+                log.debug("Loaded service catalog version {} with {} offers", loadingVersion, offers.size());
+            }
+            return snapshot;
+        }
+    }
+
+    private Map<Long, ServiceOfferView> loadOffers() {
+        return serviceOfferRepository.findAllViews().stream()
+                .collect(Collectors.toUnmodifiableMap(ServiceOfferView::id, Function.identity()));
+    }
+
+    private record Snapshot(long version, Map<Long, ServiceOfferView> offers) {
+    }
+}
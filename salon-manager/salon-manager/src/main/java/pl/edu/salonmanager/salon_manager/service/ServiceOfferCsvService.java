@@ -2,13 +2,16 @@ package pl.edu.salonmanager.salon_manager.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import pl.edu.salonmanager.salon_manager.dao.ServiceOfferImportDao;
+import pl.edu.salonmanager.salon_manager.event.ServiceCatalogChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
-import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.ServiceOfferDto;
-import pl.edu.salonmanager.salon_manager.model.entity.ServiceOffer;
-import pl.edu.salonmanager.salon_manager.repository.ServiceOfferRepository;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.CsvImportErrorDto;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.CsvImportReportDto;
 
 import java.io.*;
 import java.math.BigDecimal;
@@ -16,138 +19,125 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Imports service offers from CSV. Every row is validated before anything is written; the
+ * rows are then inserted in JDBC batches within a single transaction, so a file is imported
+ * either completely or not at all.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ServiceOfferCsvService {
 
-    private final ServiceOfferRepository serviceOfferRepository;
-    private final ServiceOfferService serviceOfferService;
+    private static final List<String> CSV_HEADER = List.of(CsvExportService.SERVICE_OFFERS_HEADER.split(","));
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_PRICE_INTEGER_DIGITS = 8;
+    private static final int MAX_PRICE_SCALE = 2;
 
-    private static final String CSV_HEADER = "name,price,durationMinutes";
-    private static final String CSV_DELIMITER = ",";
+    private final ServiceOfferImportDao serviceOfferImportDao;
+    private final ApplicationEventPublisher eventPublisher;
 
-
-    public String exportToCsv() {
-        log.debug("Exporting service offers to CSV");
-
-        List<ServiceOfferDto> services = serviceOfferService.getAllServices();
-
-        StringBuilder csv = new StringBuilder();
-        csv.append(CSV_HEADER).append("\n");
-
-        for (ServiceOfferDto service : services) {
-            csv.append(escapeCsvValue(service.getName())).append(CSV_DELIMITER)
-               .append(service.getPrice()).append(CSV_DELIMITER)
-               .append(service.getDurationMinutes()).append("\n");
-        }
-
-        log.info("Exported {} service offers to CSV", services.size());
-        return csv.toString();
-    }
-
-
-    public List<ServiceOfferDto> importFromCsv(MultipartFile file) {
+    @Transactional
+    public CsvImportReportDto importFromCsv(MultipartFile file) {
         log.debug("Importing service offers from CSV file: {}", file.getOriginalFilename());
 
         if (file.isEmpty()) {
             throw new BadRequestException("File is empty");
         }
 
-        if (!file.getOriginalFilename().endsWith(".csv")) {
+        if (file.getOriginalFilename() == null || !file.getOriginalFilename().endsWith(".csv")) {
             throw new BadRequestException("File must be a CSV file");
         }
 
-        List<ServiceOfferDto> importedServices = new ArrayList<>();
+        List<CreateServiceRequest> rows = new ArrayList<>();
+        List<CsvImportErrorDto> errors = new ArrayList<>();
+        int errorCount = 0;
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+        try (Reader input = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            CsvReader reader = new CsvReader(input);
 
-            String headerLine = reader.readLine();
-            if (headerLine == null || !headerLine.equals(CSV_HEADER)) {
-                throw new BadRequestException("Invalid CSV format. Expected header: " + CSV_HEADER);
+            List<String> header = reader.readRecord();
+            if (header == null || !CSV_HEADER.equals(header)) {
+                throw new BadRequestException("Invalid CSV format. Expected header: " + CsvExportService.SERVICE_OFFERS_HEADER);
             }
 
-            String line;
-            int lineNumber = 1;
-
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-
-                if (line.trim().isEmpty()) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
                     continue;
                 }
 
                 try {
-                    ServiceOfferDto imported = parseCsvLine(line, lineNumber);
-                    importedServices.add(imported);
-                } catch (Exception e) {
-                    log.warn("Error parsing line {}: {}", lineNumber, e.getMessage());
-                    throw new BadRequestException("Error on line " + lineNumber + ": " + e.getMessage());
+                    rows.add(parseRecord(record));
+                } catch (BadRequestException e) {
+                    errorCount++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new CsvImportErrorDto(reader.recordLine(), e.getMessage()));
+                    }
                 }
             }
-
-            log.info("Successfully imported {} service offers from CSV", importedServices.size());
-            return importedServices;
-
         } catch (IOException e) {
             log.error("Error reading CSV file", e);
             throw new BadRequestException("Error reading CSV file: " + e.getMessage());
         }
-    }
 
-    private ServiceOfferDto parseCsvLine(String line, int lineNumber) {
-        String[] parts = line.split(CSV_DELIMITER, -1);
+        int rowsRead = rows.size() + errorCount;
+        if (errorCount > 0) {
+            log.warn("Rejected CSV import of {} rows with {} invalid rows", rowsRead, errorCount);
+            return new CsvImportReportDto(rowsRead, 0, errorCount, errors);
+        }
 
-        if (parts.length != 3) {
-            throw new BadRequestException("Expected 3 columns, found " + parts.length);
+        int imported = serviceOfferImportDao.insertAll(rows);
+        if (imported > 0) {
+            eventPublisher.publishEvent(new ServiceCatalogChangedEvent());
         }
 
-        String name = parts[0].trim();
+        log.info("Successfully imported {} service offers from CSV", imported);
+        return new CsvImportReportDto(rowsRead, imported, 0, List.of());
+    }
+
+    private CreateServiceRequest parseRecord(List<String> record) {
+        if (record.size() != CSV_HEADER.size()) {
+            throw new BadRequestException("Expected " + CSV_HEADER.size() + " columns, found " + record.size());
+        }
+
+        String name = record.get(0).trim();
         if (name.isEmpty()) {
             throw new BadRequestException("Name cannot be empty");
         }
-        if (name.length() > 100) {
-            throw new BadRequestException("Name too long (max 100 characters)");
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new BadRequestException("Name too long (max " + MAX_NAME_LENGTH + " characters)");
         }
 
         BigDecimal price;
         try {
-            price = new BigDecimal(parts[1].trim());
-            if (price.compareTo(BigDecimal.ZERO) <= 0) {
-                throw new BadRequestException("Price must be positive");
-            }
+            price = new BigDecimal(record.get(1).trim());
         } catch (NumberFormatException e) {
-            throw new BadRequestException("Invalid price format: " + parts[1]);
+            throw new BadRequestException("Invalid price format: " + record.get(1));
+        }
+        if (price.signum() <= 0) {
+            throw new BadRequestException("Price must be positive");
+        }
+        BigDecimal normalized = price.stripTrailingZeros();
+        if (normalized.scale() > MAX_PRICE_SCALE || normalized.precision() - normalized.scale() > MAX_PRICE_INTEGER_DIGITS) {
+            throw new BadRequestException("Price out of range: " + record.get(1));
         }
 
-        Integer durationMinutes;
+        int durationMinutes;
         try {
-            durationMinutes = Integer.parseInt(parts[2].trim());
-            if (durationMinutes <= 0) {
-                throw new BadRequestException("Duration must be positive");
-            }
+            durationMinutes = Integer.parseInt(record.get(2).trim());
         } catch (NumberFormatException e) {
-            throw new BadRequestException("Invalid duration format: " + parts[2]);
+            throw new BadRequestException("Invalid duration format: " + record.get(2));
+        }
+        if (durationMinutes <= 0) {
+            throw new BadRequestException("Duration must be positive");
         }
 
         CreateServiceRequest request = new CreateServiceRequest();
         request.setName(name);
         request.setPrice(price);
         request.setDurationMinutes(durationMinutes);
-
-        return serviceOfferService.createService(request);
-    }
-
-    private String escapeCsvValue(String value) {
-        if (value == null) {
-            return "";
-        }
-
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-
-        return value;
+        return request;
     }
 }
@@ -2,8 +2,11 @@ package pl.edu.salonmanager.salon_manager.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.event.ServiceCatalogChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.SpecializationsChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.ServiceOfferDto;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
@@ -20,6 +23,7 @@ import java.util.stream.Collectors;
 public class ServiceOfferService {
 
     private final ServiceOfferRepository serviceOfferRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ServiceOfferDto> getAllServices() {
@@ -47,6 +51,7 @@ public class ServiceOfferService {
         serviceOffer.setDurationMinutes(request.getDurationMinutes());
 
         ServiceOffer saved = serviceOfferRepository.save(serviceOffer);
+        eventPublisher.publishEvent(new ServiceCatalogChangedEvent());
         log.info("Service created successfully with id: {}", saved.getId());
         return mapToDto(saved);
     }
@@ -63,6 +68,7 @@ public class ServiceOfferService {
         existing.setDurationMinutes(request.getDurationMinutes());
 
         ServiceOffer updated = serviceOfferRepository.save(existing);
+        eventPublisher.publishEvent(new ServiceCatalogChangedEvent());
         log.info("Service updated successfully with id: {}", updated.getId());
         return mapToDto(updated);
     }
@@ -76,6 +82,8 @@ public class ServiceOfferService {
         }
 
         serviceOfferRepository.deleteById(id);
+        eventPublisher.publishEvent(new ServiceCatalogChangedEvent());
+        eventPublisher.publishEvent(new SpecializationsChangedEvent());
         log.info("Service deleted successfully with id: {}", id);
     }
 
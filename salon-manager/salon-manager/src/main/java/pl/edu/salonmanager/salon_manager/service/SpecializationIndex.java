@@ -0,0 +1,166 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.edu.salonmanager.salon_manager.event.SpecializationsChangedEvent;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.projection.SpecializationPair;
+import pl.edu.salonmanager.salon_manager.repository.EmployeeSpecializationRepository;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory copy of the employee specializations. Employees and services are numbered by
+ * position, so finding employees qualified for a service combination is an AND of bit sets.
+ * The whole index is reloaded after a specialization change commits, and periodically so that
+ * changes committed by other instances show up within one refresh interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpecializationIndex {
+
+    private final EmployeeSpecializationRepository employeeSpecializationRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Ids of employees specialized in every given service, ascending.
+     */
+    public List<Long> findQualifiedEmployeeIds(Collection<Long> serviceIds) {
+        Snapshot current = snapshot();
+
+        BitSet qualified = null;
+        for (Long serviceId : serviceIds) {
+            Integer servicePosition = current.servicePositions().get(serviceId);
+            if (servicePosition == null) {
+                return List.of();
+            }
+
+            BitSet employees = current.employeesByService()[servicePosition];
+            if (qualified == null) {
+                qualified = (BitSet) employees.clone();
+            } else {
+                qualified.and(employees);
+            }
+        }
+
+        if (qualified == null) {
+            return List.of();
+        }
+
+        List<Long> employeeIds = new ArrayList<>(qualified.cardinality());
+        for (int position = qualified.nextSetBit(0); position >= 0; position = qualified.nextSetBit(position + 1)) {
+            employeeIds.add(current.employeeIds()[position]);
+        }
+        return employeeIds;
+    }
+
+    public boolean isQualified(Long employeeId, Collection<Long> serviceIds) {
+        Snapshot current = snapshot();
+
+        Integer employeePosition = current.employeePositions().get(employeeId);
+        if (employeePosition == null) {
+            return false;
+        }
+
+        BitSet services = current.servicesByEmployee()[employeePosition];
+        for (Long serviceId : serviceIds) {
+            Integer servicePosition = current.servicePositions().get(serviceId);
+            if (servicePosition == null || !services.get(servicePosition)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reloads the index. Rebuilds are serialized, so the last one to run always sees the
+     * latest committed specializations.
+     */
+    public synchronized void rebuild() {
+        List<SpecializationPair> pairs = employeeSpecializationRepository.findAllSpecializationPairs();
+        snapshot = Snapshot.of(pairs);
+        log.debug("Rebuilt specialization index from {} specializations", pairs.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSpecializationsChanged(SpecializationsChangedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${salon.specialization-index.refresh-interval:PT1M}",
+               initialDelayString = "${salon.specialization-index.refresh-interval:PT1M}")
+    public void refresh() {
+        rebuild();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(long[] employeeIds,
+                            Map<Long, Integer> employeePositions,
+                            Map<Long, Integer> servicePositions,
+                            BitSet[] servicesByEmployee,
+                            BitSet[] employeesByService) {
+
+        static Snapshot of(List<SpecializationPair> pairs) {
+            TreeSet<Long> sortedEmployeeIds = new TreeSet<>();
+            TreeSet<Long> sortedServiceIds = new TreeSet<>();
+            for (SpecializationPair pair : pairs) {
+                sortedEmployeeIds.add(pair.employeeId());
+                sortedServiceIds.add(pair.serviceOfferId());
+            }
+
+            long[] employeeIds = new long[sortedEmployeeIds.size()];
+            Map<Long, Integer> employeePositions = new HashMap<>();
+            for (Long employeeId : sortedEmployeeIds) {
+                employeeIds[employeePositions.size()] = employeeId;
+                employeePositions.put(employeeId, employeePositions.size());
+            }
+
+            Map<Long, Integer> servicePositions = new HashMap<>();
+            for (Long serviceId : sortedServiceIds) {
+                servicePositions.put(serviceId, servicePositions.size());
+            }
+
+            BitSet[] servicesByEmployee = new BitSet[employeeIds.length];
+            for (int i = 0; i < servicesByEmployee.length; i++) {
+                servicesByEmployee[i] = new BitSet(servicePositions.size());
+            }
+            BitSet[] employeesByService = new BitSet[servicePositions.size()];
+            for (int i = 0; i < employeesByService.length; i++) {
+                employeesByService[i] = new BitSet(employeeIds.length);
+            }
+
+            for (SpecializationPair pair : pairs) {
+                int employeePosition = employeePositions.get(pair.employeeId());
+                int servicePosition = servicePositions.get(pair.serviceOfferId());
+                servicesByEmployee[employeePosition].set(servicePosition);
+                employeesByService[servicePosition].set(employeePosition);
+            }
+
+            return new Snapshot(employeeIds, Map.copyOf(employeePositions), Map.copyOf(servicePositions),
+                    servicesByEmployee, employeesByService);
+        }
+    }
+}
@@ -6,9 +6,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
 
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.model.dto.statistics.*;
+import pl.edu.salonmanager.salon_manager.model.enums.ClientStatisticsSort;
 
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -16,6 +21,8 @@ import java.util.List;
 @Slf4j
 public class StatisticsService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final StatisticsDao statisticsDao;
 
     @Transactional(readOnly = true)
@@ -24,6 +31,32 @@ public class StatisticsService {
         return statisticsDao.getClientStatistics();
     }
 
+    @Transactional(readOnly = true)
+    public ClientStatisticsPageDto getClientStatisticsPage(ClientStatisticsSort sort, String cursor, int limit) {
+        log.debug("Fetching client statistics page sorted by {} after cursor {}", sort, cursor);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Number afterValue = null;
+        Long afterClientId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorPosition position = decodeCursor(cursor, sort);
+            afterValue = position.value();
+            afterClientId = position.clientId();
+        }
+
+        // One extra row tells whether another page exists
+        List<ClientStatisticsDto> rows = statisticsDao.getClientStatisticsPage(sort, afterValue, afterClientId, limit + 1);
+        if (rows.size() <= limit) {
+            return new ClientStatisticsPageDto(rows, null);
+        }
+
+        List<ClientStatisticsDto> content = rows.subList(0, limit);
+        return new ClientStatisticsPageDto(List.copyOf(content), encodeCursor(sort, content.get(limit - 1)));
+    }
+
     @Transactional(readOnly = true)
     public ClientStatisticsDto getClientStatisticsById(Long userId) {
         log.debug("Fetching statistics for client id: {}", userId);
@@ -31,4 +64,26 @@ public class StatisticsService {
                 .orElse(null);
     }
 
+    private static String encodeCursor(ClientStatisticsSort sort, ClientStatisticsDto last) {
+        Object value = sort == ClientStatisticsSort.VISITS ? last.getTotalVisits() : last.getTotalSpending().toPlainString();
+        String position = sort + "|" + value + "|" + last.getClientId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CursorPosition decodeCursor(String cursor, ClientStatisticsSort sort) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 3 || !position[0].equals(sort.name())) {
+                throw new BadRequestException("Cursor does not match sort order " + sort);
+            }
+            // Fail on malformed numbers here rather than in the query
+            Number value = sort == ClientStatisticsSort.VISITS ? Long.valueOf(position[1]) : new BigDecimal(position[1]);
+            return new CursorPosition(value, Long.valueOf(position[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private record CursorPosition(Number value, Long clientId) {
+    }
 }
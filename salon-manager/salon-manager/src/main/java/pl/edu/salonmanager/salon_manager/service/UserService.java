@@ -2,9 +2,11 @@ package pl.edu.salonmanager.salon_manager.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.event.UserCredentialsChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.model.dto.user.request.UserRegistrationDto;
 import pl.edu.salonmanager.salon_manager.model.dto.user.response.UserDto;
@@ -14,6 +16,7 @@ import pl.edu.salonmanager.salon_manager.repository.RoleRepository;
 import pl.edu.salonmanager.salon_manager.repository.UserRepository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,11 +28,12 @@ public class UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
         log.debug("Fetching all users");
-        List<User> users = userRepository.findAll();
+        List<User> users = userRepository.findAllWithRoles();
         return users.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
@@ -65,12 +69,14 @@ public class UserService {
     @Transactional
     public void deleteUser(Long userId) {
 
-        if(userRepository.findById(userId).isEmpty()) {
+        Optional<User> user = userRepository.findById(userId);
+        if(user.isEmpty()) {
             log.warn("Deletion failed - user not found with id: {}", userId);
             throw new BadRequestException("User with id " + userId + " does not exist");
         }
 
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.get().getEmail()));
         log.info("User with id {} has been deleted", userId);
     }
 
@@ -0,0 +1,78 @@
+-- Schemat bazowy odpowiadający encjom JPA (wcześniej tworzony przez ddl-auto: update)
+
+CREATE TABLE roles (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(100) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    first_name VARCHAR(50)  NOT NULL,
+    last_name  VARCHAR(50)  NOT NULL,
+    enabled    BOOLEAN      NOT NULL
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (role_id, user_id)
+);
+
+CREATE TABLE employees (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(50)  NOT NULL,
+    last_name  VARCHAR(50)  NOT NULL,
+    email      VARCHAR(100) NOT NULL UNIQUE
+);
+
+CREATE TABLE service_offers (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             VARCHAR(100)   NOT NULL,
+    price            NUMERIC(10, 2) NOT NULL,
+    duration_minutes INTEGER        NOT NULL
+);
+
+CREATE TABLE employee_specializations (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id      BIGINT NOT NULL REFERENCES employees (id),
+    service_offer_id BIGINT NOT NULL REFERENCES service_offers (id),
+    experience_years INTEGER
+);
+
+CREATE TABLE employee_schedules (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id    BIGINT      NOT NULL REFERENCES employees (id),
+    day_of_week    VARCHAR(10) NOT NULL
+        CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    start_time     TIME(6),
+    end_time       TIME(6),
+    is_working_day BOOLEAN     NOT NULL,
+    UNIQUE (employee_id, day_of_week)
+);
+
+CREATE TABLE reservations (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    start_time  TIMESTAMP(6)   NOT NULL,
+    end_time    TIMESTAMP(6)   NOT NULL,
+    status      VARCHAR(30)    NOT NULL
+        CHECK (status IN ('CREATED', 'APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT', 'CANCELLED')),
+    total_price NUMERIC(10, 2) NOT NULL,
+    user_id     BIGINT         NOT NULL REFERENCES users (id),
+    employee_id BIGINT         NOT NULL REFERENCES employees (id)
+);
+
+CREATE TABLE reservation_services (
+    reservation_id   BIGINT NOT NULL REFERENCES reservations (id),
+    service_offer_id BIGINT NOT NULL REFERENCES service_offers (id),
+    PRIMARY KEY (reservation_id, service_offer_id)
+);
+
+CREATE TABLE reviews (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content        TEXT         NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    image_filename VARCHAR(255),
+    user_id        BIGINT       NOT NULL REFERENCES users (id)
+);
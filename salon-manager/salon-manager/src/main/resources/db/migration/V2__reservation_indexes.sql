@@ -0,0 +1,34 @@
+-- Indeksy pod zapytania dostępności i listy rezerwacji
+
+-- Sprawdzanie kolizji i wyszukiwanie wolnych terminów (tylko aktywne rezerwacje);
+-- end_time w INCLUDE pozwala na index-only scan przy warunku nakładania się przedziałów
+CREATE INDEX idx_reservations_active_employee_start
+    ON reservations (employee_id, start_time) INCLUDE (end_time)
+    WHERE status <> 'CANCELLED';
+
+-- Grafik pracownika w zakresie dat (wszystkie statusy)
+CREATE INDEX idx_reservations_employee_start
+    ON reservations (employee_id, start_time);
+
+-- Rezerwacje klienta
+CREATE INDEX idx_reservations_user_start
+    ON reservations (user_id, start_time);
+
+-- Filtrowanie po statusie i wygaszanie starych rezerwacji CREATED
+CREATE INDEX idx_reservations_status_start
+    ON reservations (status, start_time);
+
+CREATE INDEX idx_reservation_services_service_offer
+    ON reservation_services (service_offer_id);
+
+CREATE INDEX idx_employee_specializations_service_employee
+    ON employee_specializations (service_offer_id, employee_id);
+
+CREATE INDEX idx_employee_specializations_employee
+    ON employee_specializations (employee_id);
+
+CREATE INDEX idx_reviews_user
+    ON reviews (user_id);
+
+CREATE INDEX idx_reviews_created_at
+    ON reviews (created_at DESC);
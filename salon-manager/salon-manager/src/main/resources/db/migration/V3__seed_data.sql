@@ -1,4 +1,4 @@
--- Dane testowe dla Salon Manager
+-- Dane testowe dla Salon Manager (przeniesione z data.sql)
 -- Kolejność INSERT jest ważna ze względu na klucze obce (FK)
 -- UWAGA: DataInitializer tworzy role ADMIN/USER i użytkowników admin@salon.pl, user@example.com
 -- Ten plik dodaje dodatkowe dane testowe
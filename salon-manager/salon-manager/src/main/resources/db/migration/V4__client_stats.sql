@@ -0,0 +1,18 @@
+-- Zagregowane statystyki klientów utrzymywane przyrostowo przy zmianie statusu rezerwacji
+-- (liczone są tylko rezerwacje APPROVED_BY_SALON i CONFIRMED_BY_CLIENT)
+
+CREATE TABLE client_stats (
+    user_id              BIGINT         PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    visit_count          BIGINT         NOT NULL,
+    duration_seconds_sum BIGINT         NOT NULL,
+    spending_sum         NUMERIC(12, 2) NOT NULL
+);
+
+INSERT INTO client_stats (user_id, visit_count, duration_seconds_sum, spending_sum)
+SELECT r.user_id,
+       COUNT(*),
+       CAST(SUM(EXTRACT(EPOCH FROM (r.end_time - r.start_time))) AS BIGINT),
+       SUM(r.total_price)
+FROM reservations r
+WHERE r.status IN ('APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT')
+GROUP BY r.user_id;
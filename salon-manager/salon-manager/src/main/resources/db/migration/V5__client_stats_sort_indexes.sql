@@ -0,0 +1,9 @@
+-- Stronicowanie kluczem (keyset) listy statystyk klientów wg wydatków i liczby wizyt
+
+CREATE INDEX idx_client_stats_spending
+    ON client_stats (spending_sum DESC, user_id DESC)
+    WHERE visit_count > 0;
+
+CREATE INDEX idx_client_stats_visits
+    ON client_stats (visit_count DESC, user_id DESC)
+    WHERE visit_count > 0;
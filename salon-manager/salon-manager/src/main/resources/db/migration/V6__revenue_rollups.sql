@@ -0,0 +1,61 @@
+-- Zagregowane przychody i obłożenie w przedziałach DAY/WEEK/MONTH (bucket_start to pierwszy dzień przedziału,
+-- tydzień zaczyna się w poniedziałek), utrzymywane przyrostowo przy zmianie statusu rezerwacji
+
+CREATE TABLE employee_revenue_rollups (
+    employee_id    BIGINT         NOT NULL REFERENCES employees (id) ON DELETE CASCADE,
+    period         VARCHAR(10)    NOT NULL CHECK (period IN ('DAY', 'WEEK', 'MONTH')),
+    bucket_start   DATE           NOT NULL,
+    booking_count  BIGINT         NOT NULL,
+    revenue        NUMERIC(14, 2) NOT NULL,
+    booked_minutes BIGINT         NOT NULL,
+    PRIMARY KEY (employee_id, period, bucket_start)
+);
+
+CREATE TABLE service_revenue_rollups (
+    service_offer_id BIGINT         NOT NULL REFERENCES service_offers (id) ON DELETE CASCADE,
+    period           VARCHAR(10)    NOT NULL CHECK (period IN ('DAY', 'WEEK', 'MONTH')),
+    bucket_start     DATE           NOT NULL,
+    booking_count    BIGINT         NOT NULL,
+    revenue          NUMERIC(14, 2) NOT NULL,
+    PRIMARY KEY (service_offer_id, period, bucket_start)
+);
+
+-- Zapytania dashboardu filtrują po okresie i zakresie dat dla wszystkich pracowników/usług
+CREATE INDEX idx_employee_revenue_rollups_period_bucket
+    ON employee_revenue_rollups (period, bucket_start);
+
+CREATE INDEX idx_service_revenue_rollups_period_bucket
+    ON service_revenue_rollups (period, bucket_start);
+
+INSERT INTO employee_revenue_rollups (employee_id, period, bucket_start, booking_count, revenue, booked_minutes)
+SELECT r.employee_id,
+       p.period,
+       CASE p.period
+           WHEN 'DAY' THEN CAST(r.start_time AS DATE)
+           WHEN 'WEEK' THEN CAST(date_trunc('week', r.start_time) AS DATE)
+           ELSE CAST(date_trunc('month', r.start_time) AS DATE)
+       END AS bucket,
+       COUNT(*),
+       SUM(r.total_price),
+       CAST(SUM(EXTRACT(EPOCH FROM (r.end_time - r.start_time)) / 60) AS BIGINT)
+FROM reservations r
+CROSS JOIN (VALUES ('DAY'), ('WEEK'), ('MONTH')) AS p (period)
+WHERE r.status IN ('APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT')
+GROUP BY r.employee_id, p.period, bucket;
+
+INSERT INTO service_revenue_rollups (service_offer_id, period, bucket_start, booking_count, revenue)
+SELECT so.id,
+       p.period,
+       CASE p.period
+           WHEN 'DAY' THEN CAST(r.start_time AS DATE)
+           WHEN 'WEEK' THEN CAST(date_trunc('week', r.start_time) AS DATE)
+           ELSE CAST(date_trunc('month', r.start_time) AS DATE)
+       END AS bucket,
+       COUNT(*),
+       SUM(so.price)
+FROM reservations r
+JOIN reservation_services rs ON rs.reservation_id = r.id
+JOIN service_offers so ON so.id = rs.service_offer_id
+CROSS JOIN (VALUES ('DAY'), ('WEEK'), ('MONTH')) AS p (period)
+WHERE r.status IN ('APPROVED_BY_SALON', 'CONFIRMED_BY_CLIENT')
+GROUP BY so.id, p.period, bucket;
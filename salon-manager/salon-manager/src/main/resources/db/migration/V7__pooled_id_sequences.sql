@@ -0,0 +1,36 @@
+-- Identyfikatory z sekwencji z krokiem 50 (optymalizator pooled w Hibernate) zamiast IDENTITY,
+-- dzięki czemu INSERT-y mogą być wysyłane w batchach JDBC.
+-- Hibernate rezerwuje przedział (wartość - 49 .. wartość), więc pierwsza wartość sekwencji
+-- to MAX(id) + 50 - kolejne identyfikatory zaczynają się zaraz za danymi z V3__seed_data.sql.
+
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE roles_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('roles_seq', COALESCE(MAX(id), 0) + 50, false) FROM roles;
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE users_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+
+ALTER TABLE employees ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE employees_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('employees_seq', COALESCE(MAX(id), 0) + 50, false) FROM employees;
+
+ALTER TABLE service_offers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE service_offers_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('service_offers_seq', COALESCE(MAX(id), 0) + 50, false) FROM service_offers;
+
+ALTER TABLE employee_specializations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE employee_specializations_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('employee_specializations_seq', COALESCE(MAX(id), 0) + 50, false) FROM employee_specializations;
+
+ALTER TABLE employee_schedules ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE employee_schedules_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('employee_schedules_seq', COALESCE(MAX(id), 0) + 50, false) FROM employee_schedules;
+
+ALTER TABLE reservations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE reservations_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('reservations_seq', COALESCE(MAX(id), 0) + 50, false) FROM reservations;
+
+ALTER TABLE reviews ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE reviews_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('reviews_seq', COALESCE(MAX(id), 0) + 50, false) FROM reviews;
@@ -0,0 +1,12 @@
+-- Cena usługi z chwili rezerwacji - statystyki przychodu per usługa nie zmieniają się,
+-- gdy salon później zmieni cennik w service_offers.
+-- Istniejące rezerwacje dostają bieżącą cenę usługi, tak jak liczył ją dotąd V6__revenue_rollups.sql.
+
+ALTER TABLE reservation_services ADD COLUMN price NUMERIC(10, 2);
+
+UPDATE reservation_services rs
+SET price = s.price
+FROM service_offers s
+WHERE s.id = rs.service_offer_id;
+
+ALTER TABLE reservation_services ALTER COLUMN price SET NOT NULL;
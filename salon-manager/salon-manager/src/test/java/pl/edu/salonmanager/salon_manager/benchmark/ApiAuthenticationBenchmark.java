@@ -0,0 +1,82 @@
+package pl.edu.salonmanager.salon_manager.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import pl.edu.salonmanager.salon_manager.config.TokenProperties;
+import pl.edu.salonmanager.salon_manager.security.SalonUserPrincipal;
+import pl.edu.salonmanager.salon_manager.security.TokenService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost of the REST API: HTTP Basic (BCrypt match, user lookup
+ * excluded) against verifying a bearer token issued by {@link TokenService}.
+ * Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=pl.edu.salonmanager.salon_manager.benchmark.ApiAuthenticationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiAuthenticationBenchmark {
+
+    private static final String EMAIL = "jan@example.com";
+    private static final String PASSWORD = "password123";
+
+    private DaoAuthenticationProvider basicProvider;
+    private JwtAuthenticationProvider bearerProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+        basicProvider = new DaoAuthenticationProvider(passwordEncoder);
+        basicProvider.setUserDetailsService(username ->
+                new SalonUserPrincipal(1L, username, encodedPassword, "Jan", "Kowalski", true, authorities));
+
+        TokenProperties properties = new TokenProperties();
+        properties.setSecret("benchmark-token-secret-0123456789abcdef");
+        TokenService tokenService = new TokenService(properties, username -> {
+            throw new UnsupportedOperationException();
+        });
+
+        bearerProvider = new JwtAuthenticationProvider(tokenService.accessTokenDecoder());
+        bearerProvider.setJwtAuthenticationConverter(tokenService::toAuthentication);
+        accessToken = tokenService.issueTokens(
+                new SalonUserPrincipal(1L, EMAIL, encodedPassword, "Jan", "Kowalski", true, authorities)).accessToken();
+    }
+
+    @Benchmark
+    public Authentication httpBasic() {
+        return basicProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(EMAIL, PASSWORD));
+    }
+
+    @Benchmark
+    public Authentication bearerToken() {
+        return bearerProvider.authenticate(new BearerTokenAuthenticationToken(accessToken));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ApiAuthenticationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,108 @@
+package pl.edu.salonmanager.salon_manager.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.edu.salonmanager.salon_manager.dao.ServiceOfferImportDao;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.CsvImportReportDto;
+import pl.edu.salonmanager.salon_manager.service.CsvReader;
+import pl.edu.salonmanager.salon_manager.service.ServiceOfferCsvService;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a 100k row service offer CSV into in-memory H2: the batched single-transaction
+ * {@link ServiceOfferCsvService} against the previous one auto-committed INSERT per line.
+ * Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=pl.edu.salonmanager.salon_manager.benchmark.CsvImportBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvImportBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ServiceOfferCsvService csvService;
+    private MockMultipartFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:csv-import;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        csvService = new ServiceOfferCsvService(new ServiceOfferImportDao(jdbcTemplate), event -> { });
+
+        jdbcTemplate.execute("CREATE SEQUENCE service_offers_seq INCREMENT BY 50");
+        jdbcTemplate.execute("""
+                CREATE TABLE service_offers (
+                    id               BIGINT DEFAULT NEXT VALUE FOR service_offers_seq PRIMARY KEY,
+                    name             VARCHAR(100)   NOT NULL,
+                    price            NUMERIC(10, 2) NOT NULL,
+                    duration_minutes INTEGER        NOT NULL
+                )
+                """);
+
+        StringBuilder csv = new StringBuilder("name,price,durationMinutes\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(i % 10 == 0 ? "\"Usługa " + i + ", premium\"" : "Usługa " + i)
+                    .append(',').append(20 + i % 300).append(".50")
+                    .append(',').append(15 + i % 8 * 15)
+                    .append('\n');
+        }
+        file = new MockMultipartFile("file", "services.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE service_offers");
+    }
+
+    @Benchmark
+    public CsvImportReportDto batchedImport() {
+        return transactionTemplate.execute(status -> csvService.importFromCsv(file));
+    }
+
+    @Benchmark
+    public int rowByRowImport() throws IOException {
+        int imported = 0;
+        try (Reader input = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            CsvReader reader = new CsvReader(input);
+            reader.readRecord();
+
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                imported += jdbcTemplate.update(
+                        "INSERT INTO service_offers (name, price, duration_minutes) VALUES (?, ?, ?)",
+                        record.get(0), new BigDecimal(record.get(1)), Integer.parseInt(record.get(2)));
+            }
+        }
+        return imported;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CsvImportBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
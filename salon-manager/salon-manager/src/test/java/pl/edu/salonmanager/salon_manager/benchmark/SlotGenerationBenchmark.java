@@ -0,0 +1,119 @@
+package pl.edu.salonmanager.salon_manager.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusyMinutes;
+import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
+import pl.edu.salonmanager.salon_manager.service.BusyIntervals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous linear reservation scan with {@link BusyIntervals}.
+ * Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=pl.edu.salonmanager.salon_manager.benchmark.SlotGenerationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotGenerationBenchmark {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 3, 4);
+    private static final LocalTime WORK_START = LocalTime.of(6, 0);
+    private static final LocalTime WORK_END = LocalTime.of(22, 0);
+    private static final int SLOT_DURATION = 5;
+    private static final int SERVICE_DURATION = 30;
+
+    @Param({"10", "100", "1000"})
+    private int reservationCount;
+
+    private List<Reservation> reservations;
+    private List<BusyMinutes> busyMinutes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int workMinutes = (WORK_END.toSecondOfDay() - WORK_START.toSecondOfDay()) / 60;
+        int maxLength = Math.max(1, 3 * workMinutes / (4 * reservationCount));
+
+        reservations = new ArrayList<>(reservationCount);
+        busyMinutes = new ArrayList<>(reservationCount);
+        for (int i = 0; i < reservationCount; i++) {
+            LocalDateTime start = DATE.atTime(WORK_START).plusMinutes(random.nextInt(workMinutes));
+            Reservation reservation = new Reservation();
+            reservation.setStartTime(start);
+            reservation.setEndTime(start.plusMinutes(1 + random.nextInt(maxLength)));
+            reservations.add(reservation);
+            // Same minutes the availability query projects for the day
+            busyMinutes.add(new BusyMinutes(1L, reservation.getStartTime().toLocalTime().toSecondOfDay() / 60,
+                    reservation.getEndTime().toLocalTime().toSecondOfDay() / 60));
+        }
+    }
+
+    @Benchmark
+    public List<LocalTime> linearScan() {
+        return legacyGenerateAvailableSlots(WORK_START, WORK_END, SERVICE_DURATION, reservations, DATE);
+    }
+
+    @Benchmark
+    public List<LocalTime> busyIntervals() {
+        return BusyIntervals.fromBusyMinutes(busyMinutes)
+                .freeSlotStarts(WORK_START, WORK_END, SLOT_DURATION, SERVICE_DURATION);
+    }
+
+    private static List<LocalTime> legacyGenerateAvailableSlots(
+            LocalTime workStart,
+            LocalTime workEnd,
+            int totalMinutesNeeded,
+            List<Reservation> reservations,
+            LocalDate date) {
+
+        List<LocalTime> availableSlots = new ArrayList<>();
+        LocalTime currentSlot = workStart;
+
+        while (currentSlot.plusMinutes(totalMinutesNeeded).isBefore(workEnd)
+               || currentSlot.plusMinutes(totalMinutesNeeded).equals(workEnd)) {
+
+            LocalTime slotEndTime = currentSlot.plusMinutes(totalMinutesNeeded);
+            LocalDateTime requestedStart = LocalDateTime.of(date, currentSlot);
+            LocalDateTime requestedEnd = LocalDateTime.of(date, slotEndTime);
+
+            boolean free = true;
+            for (Reservation reservation : reservations) {
+                if (requestedStart.isBefore(reservation.getEndTime())
+                        && requestedEnd.isAfter(reservation.getStartTime())) {
+                    free = false;
+                    break;
+                }
+            }
+
+            if (free) {
+                availableSlots.add(currentSlot);
+            }
+
+            currentSlot = currentSlot.plusMinutes(SLOT_DURATION);
+        }
+
+        return availableSlots;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SlotGenerationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,78 @@
+package pl.edu.salonmanager.salon_manager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "salon.datasource.pool.maximum-pool-size=7",
+        "salon.datasource.pool.leak-detection-threshold=20s"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class ActuatorSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void shouldApplyPoolPropertiesToHikari() {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+
+        assertThat(hikari.getPoolName()).isEqualTo("salon-pool");
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(7);
+        assertThat(hikari.getConnectionTimeout()).isEqualTo(5_000);
+        assertThat(hikari.getLeakDetectionThreshold()).isEqualTo(20_000);
+    }
+
+    @Test
+    void shouldExposeHealthWithoutAuth() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldReturn401ForPrometheusWithoutAuth() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    void shouldReturn403ForPrometheusWithUserRole() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@salon.com", roles = {"ADMIN"})
+    void shouldScrapeConnectionPoolMetricsAsAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hikaricp_connections_active{")))
+                .andExpect(content().string(containsString("hikaricp_connections_idle{")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")))
+                .andExpect(content().string(containsString("pool=\"salon-pool\"")));
+    }
+}
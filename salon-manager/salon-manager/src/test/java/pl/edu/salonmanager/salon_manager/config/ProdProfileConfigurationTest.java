@@ -0,0 +1,80 @@
+package pl.edu.salonmanager.salon_manager.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resolves application.yaml with the prod profile on top, the way docker-compose starts the app.
+ */
+class ProdProfileConfigurationTest {
+
+    private static final List<String> SQL_LOGGERS = List.of(
+            "org.hibernate.SQL",
+            "org.hibernate.orm.jdbc.bind"
+    );
+
+    private StandardEnvironment environment;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        environment = new StandardEnvironment();
+        MutablePropertySources sources = environment.getPropertySources();
+        load("application-prod.yaml").forEach(sources::addLast);
+        load("application.yaml").forEach(sources::addLast);
+    }
+
+    @Test
+    void shouldNotLogSqlOrBindParametersInProd() {
+        Map<String, LogLevel> levels = Binder.get(environment)
+                .bind("logging.level", Bindable.mapOf(String.class, LogLevel.class))
+                .orElse(Map.of());
+
+        for (String logger : SQL_LOGGERS) {
+            assertThat(levels.get(logger))
+                    .as("log level of %s", logger)
+                    .isNotIn(LogLevel.TRACE, LogLevel.DEBUG);
+        }
+    }
+
+    @Test
+    void shouldValidateSchemaInsteadOfUpdatingIt() {
+        assertThat(environment.getProperty("spring.jpa.hibernate.ddl-auto")).isEqualTo("validate");
+    }
+
+    @Test
+    void shouldBatchFetchesAndStatements() {
+        assertThat(environment.getProperty("spring.jpa.properties.hibernate.default_batch_fetch_size", Integer.class))
+                .isGreaterThan(1);
+        assertThat(environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class))
+                .isGreaterThan(1);
+        assertThat(environment.getProperty("spring.jpa.properties.hibernate.order_inserts", Boolean.class)).isTrue();
+        assertThat(environment.getProperty("spring.jpa.properties.hibernate.order_updates", Boolean.class)).isTrue();
+        assertThat(environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class)).isNotEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    void shouldNotShipTokenSecretDefaultOutsideDevProfile() {
+        environment.getPropertySources().remove(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME);
+        environment.getPropertySources().remove(StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME);
+
+        assertThat(environment.getProperty("salon.security.token.secret")).isEmpty();
+    }
+
+    private List<PropertySource<?>> load(String name) throws IOException {
+        return new YamlPropertySourceLoader().load(name, new ClassPathResource(name));
+    }
+}
@@ -1,5 +1,6 @@
 package pl.edu.salonmanager.salon_manager.config;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -7,7 +8,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
+import pl.edu.salonmanager.salon_manager.security.WithSalonUser;
 
 import java.util.Base64;
 
@@ -44,7 +47,7 @@ class SecurityIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser(email = "user@example.com")
     void shouldAccessUserEndpointsWithUserRole() throws Exception {
         mockMvc.perform(get("/api/v1/reservations/my"))
                 .andExpect(status().isOk());
@@ -65,6 +68,20 @@ class SecurityIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void shouldRequireAdminForCsvExportsUnderPublicPaths() throws Exception {
+        mockMvc.perform(get("/api/v1/services/export/csv"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/v1/reviews/export/csv"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/v1/reservations/export/csv")
+                        .param("dateFrom", "2030-01-01")
+                        .param("dateTo", "2030-01-31"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @WithMockUser(username = "admin@salon.com", roles = {"ADMIN"})
     void shouldAccessAdminEndpointsWithAdminRole() throws Exception {
@@ -86,6 +103,47 @@ class SecurityIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldAuthenticateWithBearerTokenFromLogin() throws Exception {
+        String accessToken = JsonPath.read(login("admin@salon.pl", "admin123"), "$.accessToken");
+
+        mockMvc.perform(get("/api/v1/reservations")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldReturn401WithInvalidBearerToken() throws Exception {
+        mockMvc.perform(get("/api/v1/reservations")
+                        .header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldNotAcceptRefreshTokenAsBearerToken() throws Exception {
+        String refreshToken = JsonPath.read(login("admin@salon.pl", "admin123"), "$.refreshToken");
+
+        mockMvc.perform(get("/api/v1/reservations")
+                        .header("Authorization", "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldIssueWorkingAccessTokenOnRefresh() throws Exception {
+        String refreshToken = JsonPath.read(login("admin@salon.pl", "admin123"), "$.refreshToken");
+
+        String response = mockMvc.perform(post("/api/v1/users/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/users/me")
+                        .header("Authorization", "Bearer " + JsonPath.read(response, "$.accessToken")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("admin@salon.pl"));
+    }
+
     @Test
     void shouldReturn401WithInvalidCredentials() throws Exception {
         mockMvc.perform(get("/api/v1/reservations")
@@ -126,7 +184,7 @@ class SecurityIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser(email = "user@example.com")
     void shouldAllowUserToAccessOwnReservations() throws Exception {
         mockMvc.perform(get("/api/v1/reservations/my"))
                 .andExpect(status().isOk());
@@ -145,4 +203,31 @@ class SecurityIntegrationTest {
         mockMvc.perform(get("/api/v1/statistics/clients/1"))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @WithMockUser(username = "admin@salon.com", roles = {"ADMIN"})
+    void shouldAllowAdminToStreamStatistics() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/statistics/clients/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    void shouldDenyUserStreamingStatistics() throws Exception {
+        mockMvc.perform(get("/api/v1/statistics/clients/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    private String login(String email, String password) throws Exception {
+        return mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
 }
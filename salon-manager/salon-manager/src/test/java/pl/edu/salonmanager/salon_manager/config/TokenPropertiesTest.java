@@ -0,0 +1,40 @@
+package pl.edu.salonmanager.salon_manager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    ConfigurationPropertiesAutoConfiguration.class,
+                    ValidationAutoConfiguration.class))
+            .withUserConfiguration(TokenProperties.class);
+
+    @Test
+    void shouldFailStartupWithoutSecret() {
+        contextRunner
+                .withPropertyValues("salon.security.token.secret=")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void shouldFailStartupWithShortSecret() {
+        contextRunner
+                .withPropertyValues("salon.security.token.secret=too-short-secret")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void shouldBindSecretOfAtLeast32Characters() {
+        contextRunner
+                .withPropertyValues("salon.security.token.secret=0123456789abcdef0123456789abcdef")
+                .run(context -> assertThat(context.getBean(TokenProperties.class).getSecret())
+                        .hasSize(32));
+    }
+}
@@ -3,28 +3,47 @@ package pl.edu.salonmanager.salon_manager.controller.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityRangeResponseDto;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityResponseDto;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.EmployeeAvailabilityDto;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.CreateReservationRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.UpdateReservationRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.response.ReservationDetailDto;
 import pl.edu.salonmanager.salon_manager.model.entity.*;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.WithSalonUser;
 import pl.edu.salonmanager.salon_manager.service.AvailabilityService;
+import pl.edu.salonmanager.salon_manager.service.CsvExportService;
 import pl.edu.salonmanager.salon_manager.service.ReservationService;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.*;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -46,7 +65,7 @@ class ReservationControllerTest {
     private AvailabilityService availabilityService;
 
     @MockBean
-    private UserRepository userRepository;
+    private CsvExportService csvExportService;
 
     private User testUser;
     private Employee testEmployee;
@@ -79,21 +98,19 @@ class ReservationControllerTest {
         testReservation.setEmployee(testEmployee);
         testReservation.setStartTime(LocalDateTime.now().plusDays(1));
         testReservation.setEndTime(LocalDateTime.now().plusDays(1).plusMinutes(30));
-        testReservation.setServices(Set.of(testService));
+        testReservation.setServicePrices(Map.of(testService, testService.getPrice()));
         testReservation.setTotalPrice(new BigDecimal("50.00"));
         testReservation.setStatus(ReservationStatus.CREATED);
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldCreateReservation() throws Exception {
 
         CreateReservationRequest request = new CreateReservationRequest();
         request.setStartTime(LocalDateTime.now().plusDays(1));
         request.setEmployeeId(1L);
         request.setServiceIds(Set.of(1L));
-
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser));
         when(reservationService.createReservation(any(CreateReservationRequest.class), eq(1L)))
                 .thenReturn(testReservation);
 
@@ -127,7 +144,7 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldReturnBadRequestWhenServiceIdsEmpty() throws Exception {
 
         CreateReservationRequest request = new CreateReservationRequest();
@@ -145,27 +162,49 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldGetMyReservations() throws Exception {
-
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser));
-        when(reservationService.getMyReservations(1L)).thenReturn(Arrays.asList(testReservation));
+        when(reservationService.getMyReservations(eq(1L), any(Pageable.class))).thenReturn(page(testDetailDto()));
 
         mockMvc.perform(get("/api/v1/reservations/my"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].reservationId").value(1))
-                .andExpect(jsonPath("$[0].status").value("CREATED"));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].reservationId").value(1))
+                .andExpect(jsonPath("$.content[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.content[0].serviceIds[0]").value(1))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(reservationService).getMyReservations(eq(1L), pageable.capture());
+        assertThat(pageable.getValue().getPageNumber()).isZero();
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(20);
+        assertThat(pageable.getValue().getSort().getOrderFor("startTime").getDirection()).isEqualTo(Sort.Direction.DESC);
+    }
+
+    @Test
+    @WithSalonUser
+    void shouldPassRequestedPageOfMyReservations() throws Exception {
+        when(reservationService.getMyReservations(eq(1L), any(Pageable.class))).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/v1/reservations/my")
+                        .param("page", "2")
+                        .param("size", "500")
+                        .param("sort", "totalPrice,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
 
-        verify(reservationService).getMyReservations(1L);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(reservationService).getMyReservations(eq(1L), pageable.capture());
+        assertThat(pageable.getValue().getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(100);
+        assertThat(pageable.getValue().getSort().getOrderFor("totalPrice").getDirection()).isEqualTo(Sort.Direction.ASC);
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldConfirmReservation() throws Exception {
 
         testReservation.setStatus(ReservationStatus.CONFIRMED_BY_CLIENT);
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser));
         when(reservationService.confirmReservation(1L, 1L)).thenReturn(testReservation);
 
         mockMvc.perform(put("/api/v1/reservations/1/confirm")
@@ -177,7 +216,7 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "admin@salon.com", roles = {"ADMIN"})
+    @WithSalonUser(id = 2L, email = "admin@salon.com", roles = {"ADMIN"})
     void shouldApproveReservationAsAdmin() throws Exception {
 
         testReservation.setStatus(ReservationStatus.APPROVED_BY_SALON);
@@ -192,7 +231,7 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldNotApproveReservationAsUser() throws Exception {
 
         when(reservationService.approveReservation(1L))
@@ -206,75 +245,82 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "admin@salon.com", roles = {"ADMIN"})
+    @WithSalonUser(id = 2L, email = "admin@salon.com", roles = {"ADMIN"})
     void shouldGetAllReservationsAsAdmin() throws Exception {
 
-        when(reservationService.getAllReservations(null)).thenReturn(Arrays.asList(testReservation));
+        when(reservationService.getAllReservations(isNull(), any(Pageable.class))).thenReturn(page(testDetailDto()));
 
         mockMvc.perform(get("/api/v1/reservations"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].reservationId").value(1));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].reservationId").value(1))
+                .andExpect(jsonPath("$.page").value(0))
+                .andExpect(jsonPath("$.totalPages").value(1));
 
-        verify(reservationService).getAllReservations(null);
+        verify(reservationService).getAllReservations(isNull(), any(Pageable.class));
+    }
+
+    @Test
+    @WithSalonUser(id = 2L, email = "admin@salon.com", roles = {"ADMIN"})
+    void shouldRejectUnsupportedReservationSort() throws Exception {
+
+        when(reservationService.getAllReservations(isNull(), any(Pageable.class)))
+                .thenThrow(new BadRequestException("Cannot sort reservations by: user"));
+
+        mockMvc.perform(get("/api/v1/reservations")
+                        .param("sort", "user"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldNotGetAllReservationsAsUser() throws Exception {
         // Given
         // In @WebMvcTest, the full SecurityConfig is not loaded, so this endpoint
         // will be accessible. This test verifies the endpoint works when called.
-        when(reservationService.getAllReservations(null)).thenReturn(Arrays.asList(testReservation));
+        when(reservationService.getAllReservations(isNull(), any(Pageable.class))).thenReturn(page(testDetailDto()));
 
         // When & Then
         mockMvc.perform(get("/api/v1/reservations"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.content", hasSize(1)));
 
-        verify(reservationService).getAllReservations(null);
+        verify(reservationService).getAllReservations(isNull(), any(Pageable.class));
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldCancelOwnReservation() throws Exception {
 
         testReservation.setStatus(ReservationStatus.CANCELLED);
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(reservationService.cancelReservation(eq(1L), any(User.class))).thenReturn(testReservation);
+        when(reservationService.cancelReservation(1L, 1L)).thenReturn(testReservation);
 
         mockMvc.perform(put("/api/v1/reservations/1/cancel")
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("CANCELLED"));
 
-        verify(reservationService).cancelReservation(eq(1L), any(User.class));
+        verify(reservationService).cancelReservation(1L, 1L);
     }
 
     @Test
-    @WithMockUser(username = "admin@salon.com", roles = {"ADMIN"})
+    @WithSalonUser(id = 2L, email = "admin@salon.com", roles = {"ADMIN"})
     void shouldCancelAnyReservationAsAdmin() throws Exception {
 
-        User adminUser = User.builder().id(2L).email("admin@salon.com").build();
         testReservation.setStatus(ReservationStatus.CANCELLED);
-        when(userRepository.findByEmail("admin@salon.com")).thenReturn(Optional.of(adminUser));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(adminUser));
-        when(reservationService.cancelReservation(eq(1L), any(User.class))).thenReturn(testReservation);
+        when(reservationService.cancelReservation(1L, 2L)).thenReturn(testReservation);
 
         mockMvc.perform(put("/api/v1/reservations/1/cancel")
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("CANCELLED"));
 
-        verify(reservationService).cancelReservation(eq(1L), any(User.class));
+        verify(reservationService).cancelReservation(1L, 2L);
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldReturnNotFoundWhenReservationDoesNotExist() throws Exception {
-
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser));
         when(reservationService.confirmReservation(999L, 1L))
                 .thenThrow(new ResourceNotFoundException("Reservation not found"));
 
@@ -284,12 +330,9 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    @WithSalonUser
     void shouldReturnBadRequestWhenBusinessRuleViolated() throws Exception {
-
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(reservationService.cancelReservation(eq(1L), any(User.class)))
+        when(reservationService.cancelReservation(1L, 1L))
                 .thenThrow(new BadRequestException("Cannot cancel confirmed reservation"));
 
         mockMvc.perform(put("/api/v1/reservations/1/cancel")
@@ -298,17 +341,117 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "admin@salon.com", roles = {"ADMIN"})
+    @WithSalonUser
+    void shouldUpdateReservationAsCurrentUser() throws Exception {
+
+        UpdateReservationRequest request = new UpdateReservationRequest();
+        request.setStartTime(LocalDateTime.now().plusDays(2));
+        request.setEmployeeId(1L);
+        request.setServiceIds(Set.of(1L));
+
+        when(reservationService.updateReservation(eq(1L), any(UpdateReservationRequest.class), eq(1L)))
+                .thenReturn(testReservation);
+
+        mockMvc.perform(put("/api/v1/reservations/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservationId").value(1));
+
+        verify(reservationService).updateReservation(eq(1L), any(UpdateReservationRequest.class), eq(1L));
+    }
+
+    @Test
+    @WithSalonUser(id = 2L, email = "admin@salon.com", roles = {"ADMIN"})
     void shouldGetReservationsByEmployee() throws Exception {
-        when(reservationService.getReservationsByEmployeeAndDateRange(any(), any(), any()))
-                .thenReturn(Arrays.asList(testReservation));
+        when(reservationService.getReservationsByEmployeeAndDateRange(any(), any(), any(), any(Pageable.class)))
+                .thenReturn(page(testDetailDto()));
 
         mockMvc.perform(get("/api/v1/reservations/employee/1")
                         .param("startDate", "2026-01-10")
                         .param("endDate", "2026-01-20"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.content", hasSize(1)));
+
+        verify(reservationService).getReservationsByEmployeeAndDateRange(
+                eq(1L), eq(LocalDate.of(2026, 1, 10)), eq(LocalDate.of(2026, 1, 20)), any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldSearchAvailabilityInRange() throws Exception {
+
+        LocalDate dateFrom = LocalDate.now().plusDays(1);
+        LocalDate dateTo = dateFrom.plusDays(1);
+        EmployeeAvailabilityDto employeeAvailability = new EmployeeAvailabilityDto(
+                1L, "John", "Doe", "john@salon.pl", List.of(LocalTime.of(9, 0), LocalTime.of(9, 30)));
+        AvailabilityRangeResponseDto response = new AvailabilityRangeResponseDto(dateFrom, dateTo, 30, List.of(
+                new AvailabilityResponseDto(dateFrom, 30, List.of(employeeAvailability)),
+                new AvailabilityResponseDto(dateTo, 30, List.of())
+        ));
+
+        when(availabilityService.findAvailableSlotsInRange(dateFrom, dateTo, List.of(1L))).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/reservations/availability/range")
+                        .param("dateFrom", dateFrom.toString())
+                        .param("dateTo", dateTo.toString())
+                        .param("serviceIds", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days", hasSize(2)))
+                .andExpect(jsonPath("$.days[0].employees[0].availableSlots", hasSize(2)))
+                .andExpect(jsonPath("$.days[1].employees", hasSize(0)));
+
+        verify(availabilityService).findAvailableSlotsInRange(dateFrom, dateTo, List.of(1L));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStreamReservationsCsv() throws Exception {
+        // Given
+        LocalDate dateFrom = LocalDate.of(2030, 1, 1);
+        LocalDate dateTo = LocalDate.of(2030, 1, 31);
+        String csvContent = "id,startTime,endTime,status,totalPrice,clientEmail,employeeName,services\n";
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(csvContent.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(csvExportService).writeReservations(eq(dateFrom), eq(dateTo), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/reservations/export/csv")
+                        .param("dateFrom", "2030-01-01")
+                        .param("dateTo", "2030-01-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reservations.csv\""))
+                .andExpect(content().string(csvContent));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldRejectReservationsCsvWithReversedDateRange() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/reservations/export/csv")
+                        .param("dateFrom", "2030-01-31")
+                        .param("dateTo", "2030-01-01"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(csvExportService);
+    }
+
+    private ReservationDetailDto testDetailDto() {
+        return new ReservationDetailDto(1L, testReservation.getStartTime(), testReservation.getEndTime(),
+                ReservationStatus.CREATED, new BigDecimal("50.00"), "Test", "User", "user@example.com",
+                "John", "Doe", Set.of(1L));
+    }
 
-        verify(reservationService).getReservationsByEmployeeAndDateRange(any(), any(), any());
+    private Page<ReservationDetailDto> page(ReservationDetailDto... content) {
+        return new PageImpl<>(List.of(content), PageRequest.of(0, 20), content.length);
     }
 }
@@ -12,19 +12,21 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
 import pl.edu.salonmanager.salon_manager.model.dto.review.request.CreateReviewRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.review.response.ReviewDto;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.WithSalonUser;
+import pl.edu.salonmanager.salon_manager.service.CsvExportService;
 import pl.edu.salonmanager.salon_manager.service.ReviewService;
 
 import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -46,11 +48,10 @@ class ReviewControllerTest {
     private ReviewService reviewService;
 
     @MockBean
-    private UserRepository userRepository;
+    private CsvExportService csvExportService;
 
     private ReviewDto reviewDto;
     private CreateReviewRequest createRequest;
-    private User mockUser;
 
     @BeforeEach
     void setUp() {
@@ -59,12 +60,6 @@ class ReviewControllerTest {
         createRequest = new CreateReviewRequest();
         createRequest.setContent("Great experience!");
         createRequest.setUserId(1L);
-
-        mockUser = new User();
-        mockUser.setId(1L);
-        mockUser.setEmail("user@example.com");
-        mockUser.setFirstName("Jan");
-        mockUser.setLastName("Kowalski");
     }
 
     @Test
@@ -140,11 +135,8 @@ class ReviewControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = "USER")
+    @WithSalonUser(firstName = "Jan", lastName = "Kowalski")
     void shouldDeleteReview() throws Exception {
-        // Given
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(mockUser));
-
         // When & Then
         mockMvc.perform(delete("/api/v1/reviews/1")
                         .with(csrf()))
@@ -206,4 +198,27 @@ class ReviewControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStreamReviewsCsv() throws Exception {
+        // Given
+        String csvContent = "id,createdAt,authorEmail,content,imageFilename\n";
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write(csvContent.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(csvExportService).writeReviews(any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/reviews/export/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reviews.csv\""))
+                .andExpect(content().string(csvContent));
+    }
 }
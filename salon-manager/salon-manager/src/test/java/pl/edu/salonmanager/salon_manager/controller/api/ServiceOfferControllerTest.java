@@ -10,22 +10,28 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.UpdateServiceRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.CsvImportErrorDto;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.CsvImportReportDto;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.ServiceOfferDto;
+import pl.edu.salonmanager.salon_manager.service.CsvExportService;
 import pl.edu.salonmanager.salon_manager.service.ServiceOfferCsvService;
 import pl.edu.salonmanager.salon_manager.service.ServiceOfferService;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +39,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(ServiceOfferController.class)
 class ServiceOfferControllerTest {
 
+    private static final String ETAG = "\"services-abc12345-7\"";
+    private static final Instant LAST_MODIFIED = Instant.parse("2030-01-01T10:00:00Z");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -45,6 +54,9 @@ class ServiceOfferControllerTest {
     @MockBean
     private ServiceOfferCsvService csvService;
 
+    @MockBean
+    private CsvExportService csvExportService;
+
     private ServiceOfferDto serviceDto;
     private CreateServiceRequest createRequest;
     private UpdateServiceRequest updateRequest;
@@ -167,60 +179,124 @@ class ServiceOfferControllerTest {
                 csvContent.getBytes()
         );
 
-        List<ServiceOfferDto> importedServices = Arrays.asList(
-                new ServiceOfferDto(1L, "Massage", new BigDecimal("100.00"), 60),
-                new ServiceOfferDto(2L, "Facial", new BigDecimal("80.00"), 45)
+        when(csvService.importFromCsv(any())).thenReturn(new CsvImportReportDto(2, 2, 0, List.of()));
+
+        // When & Then
+        mockMvc.perform(multipart("/api/v1/services/import/csv")
+                        .file(csvFile)
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rowsRead").value(2))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errorCount").value(0))
+                .andExpect(jsonPath("$.errors").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturnErrorReportWhenCsvRowsAreInvalid() throws Exception {
+        // Given
+        MockMultipartFile csvFile = new MockMultipartFile(
+                "file",
+                "services.csv",
+                "text/csv",
+                "name,price,durationMinutes\nMassage,bad,60\n".getBytes()
         );
 
-        when(csvService.importFromCsv(any())).thenReturn(importedServices);
+        when(csvService.importFromCsv(any())).thenReturn(new CsvImportReportDto(1, 0, 1,
+                List.of(new CsvImportErrorDto(2, "Invalid price format: bad"))));
 
         // When & Then
         mockMvc.perform(multipart("/api/v1/services/import/csv")
                         .file(csvFile)
                         .with(csrf()))
-                .andExpect(status().isCreated())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].name").value("Massage"))
-                .andExpect(jsonPath("$[0].price").value(100.00))
-                .andExpect(jsonPath("$[0].durationMinutes").value(60))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].name").value("Facial"))
-                .andExpect(jsonPath("$[1].price").value(80.00))
-                .andExpect(jsonPath("$[1].durationMinutes").value(45));
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Invalid price format: bad"));
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
-    void shouldExportServicesToCsv() throws Exception {
+    void shouldStreamServicesCsvWithValidators() throws Exception {
         // Given
         String csvContent = """
                 name,price,durationMinutes
                 Haircut,50.00,30
                 Massage,100.00,60
                 """;
-
-        when(csvService.exportToCsv()).thenReturn(csvContent);
-
-        // When & Then
-        mockMvc.perform(get("/api/v1/services/export/csv")
-                        .with(csrf()))
+        when(csvExportService.serviceOffersETag()).thenReturn(ETAG);
+        when(csvExportService.serviceOffersLastModified()).thenReturn(LAST_MODIFIED);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write(csvContent.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(csvExportService).writeServiceOffers(any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/services/export/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
                 .andExpect(header().string("Content-Disposition", "form-data; name=\"attachment\"; filename=\"services.csv\""))
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().dateValue("Last-Modified", LAST_MODIFIED.toEpochMilli()))
                 .andExpect(content().string(csvContent));
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
-    void shouldExportEmptyListToCsv() throws Exception {
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
         // Given
-        String csvContent = "name,price,durationMinutes\n";
-        when(csvService.exportToCsv()).thenReturn(csvContent);
+        when(csvExportService.serviceOffersETag()).thenReturn(ETAG);
+        when(csvExportService.serviceOffersLastModified()).thenReturn(LAST_MODIFIED);
 
         // When & Then
         mockMvc.perform(get("/api/v1/services/export/csv")
-                        .with(csrf()))
+                        .header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+
+        verify(csvExportService, never()).writeServiceOffers(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturnNotModifiedWhenNotModifiedSince() throws Exception {
+        // Given
+        when(csvExportService.serviceOffersETag()).thenReturn(ETAG);
+        when(csvExportService.serviceOffersLastModified()).thenReturn(LAST_MODIFIED);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/services/export/csv")
+                        .header("If-Modified-Since", "Tue, 01 Jan 2030 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(csvExportService, never()).writeServiceOffers(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStreamServicesCsvWhenETagIsStale() throws Exception {
+        // Given
+        when(csvExportService.serviceOffersETag()).thenReturn(ETAG);
+        when(csvExportService.serviceOffersLastModified()).thenReturn(LAST_MODIFIED);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/services/export/csv")
+                        .header("If-None-Match", "\"services-abc12345-6\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(content().string(csvContent));
+                .andExpect(header().string("ETag", ETAG));
+        verify(csvExportService).writeServiceOffers(any());
     }
 }
@@ -8,12 +8,30 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
+import org.springframework.test.web.servlet.MvcResult;
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsPageDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.EmployeeRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ServiceRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.enums.ClientStatisticsSort;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+import pl.edu.salonmanager.salon_manager.service.ClientStatisticsExportService;
+import pl.edu.salonmanager.salon_manager.service.RevenueAnalyticsService;
 import pl.edu.salonmanager.salon_manager.service.StatisticsService;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +44,12 @@ class StatisticsControllerTest {
     @MockBean
     private StatisticsService statisticsService;
 
+    @MockBean
+    private ClientStatisticsExportService exportService;
+
+    @MockBean
+    private RevenueAnalyticsService revenueAnalyticsService;
+
     private ClientStatisticsDto statisticsDto;
 
     @BeforeEach
@@ -70,4 +94,157 @@ class StatisticsControllerTest {
         mockMvc.perform(get("/api/v1/statistics/clients/99"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldListClientStatisticsPage() throws Exception {
+        // Given
+        when(statisticsService.getClientStatisticsPage(ClientStatisticsSort.VISITS, "abc", 10))
+                .thenReturn(new ClientStatisticsPageDto(List.of(statisticsDto), "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/clients")
+                        .param("sort", "VISITS")
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].clientId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldUseDefaultSortAndLimit() throws Exception {
+        // Given
+        when(statisticsService.getClientStatisticsPage(ClientStatisticsSort.SPENDING, null, 20))
+                .thenReturn(new ClientStatisticsPageDto(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/clients"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturn400ForUnknownSort() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/clients").param("sort", "NAME"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturn400ForInvalidCursor() throws Exception {
+        // Given
+        when(statisticsService.getClientStatisticsPage(ClientStatisticsSort.SPENDING, "broken", 20))
+                .thenThrow(new BadRequestException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/clients").param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStreamClientStatisticsAsCsv() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("clientId\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).writeCsv(eq(ClientStatisticsSort.VISITS), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/statistics/clients/export")
+                        .param("sort", "VISITS")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"client-statistics.csv\""))
+                .andExpect(content().string("clientId\n1\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStreamClientStatisticsAsJsonByDefault() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("[]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).writeJson(eq(ClientStatisticsSort.SPENDING), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/statistics/clients/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturn400ForUnsupportedExportFormat() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/clients/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldGetEmployeeRevenue() throws Exception {
+        // Given
+        LocalDate weekStart = LocalDate.of(2030, 1, 7);
+        when(revenueAnalyticsService.getEmployeeRevenue(StatisticsPeriod.WEEK, weekStart, weekStart.plusDays(13), 3L))
+                .thenReturn(List.of(new EmployeeRevenueDto(3L, "Anna Nowak", weekStart, 4L,
+                        new BigDecimal("200.00"), 240L, 2400L, new BigDecimal("0.1000"))));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/employees/revenue")
+                        .param("period", "WEEK")
+                        .param("dateFrom", "2030-01-07")
+                        .param("dateTo", "2030-01-20")
+                        .param("employeeId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].employeeName").value("Anna Nowak"))
+                .andExpect(jsonPath("$[0].bucketStart").value("2030-01-07"))
+                .andExpect(jsonPath("$[0].bookings").value(4))
+                .andExpect(jsonPath("$[0].utilization").value(0.1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldGetServiceRevenueByDayByDefault() throws Exception {
+        // Given
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        when(revenueAnalyticsService.getServiceRevenue(StatisticsPeriod.DAY, day, day, null))
+                .thenReturn(List.of(new ServiceRevenueDto(1L, "Haircut", day, 2L, new BigDecimal("100.00"))));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/services/revenue")
+                        .param("dateFrom", "2030-01-07")
+                        .param("dateTo", "2030-01-07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].serviceName").value("Haircut"))
+                .andExpect(jsonPath("$[0].revenue").value(100.00));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturn400WhenRevenueRangeIsMissing() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/statistics/services/revenue"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -15,16 +15,21 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
+import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
 import pl.edu.salonmanager.salon_manager.model.dto.auth.LoginRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.auth.RefreshTokenRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.user.request.UserRegistrationDto;
 import pl.edu.salonmanager.salon_manager.model.dto.user.response.UserDto;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.SalonUserPrincipal;
+import pl.edu.salonmanager.salon_manager.security.TokenPair;
+import pl.edu.salonmanager.salon_manager.security.TokenService;
+import pl.edu.salonmanager.salon_manager.security.WithSalonUser;
 import pl.edu.salonmanager.salon_manager.service.UserService;
 
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -47,7 +52,7 @@ class UserControllerTest {
     private AuthenticationManager authenticationManager;
 
     @MockBean
-    private UserRepository userRepository;
+    private TokenService tokenService;
 
     private UserDto userDto;
     private UserRegistrationDto registrationDto;
@@ -129,21 +134,18 @@ class UserControllerTest {
         // Given
         LoginRequest loginRequest = new LoginRequest("user@example.com", "password123");
 
-        User user = User.builder()
-                .id(1L)
-                .email("user@example.com")
-                .firstName("Jan")
-                .lastName("Kowalski")
-                .build();
+        SalonUserPrincipal principal = new SalonUserPrincipal(
+                1L, "user@example.com", "encoded", "Jan", "Kowalski", true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
         Authentication authentication = new UsernamePasswordAuthenticationToken(
-                "user@example.com",
+                principal,
                 "password123",
-                List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                principal.getAuthorities()
         );
 
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(tokenService.issueTokens(principal)).thenReturn(new TokenPair("access-token", "refresh-token", 900));
 
         // When & Then
         mockMvc.perform(post("/api/v1/users/login")
@@ -155,6 +157,10 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value("user@example.com"))
                 .andExpect(jsonPath("$.firstName").value("Jan"))
                 .andExpect(jsonPath("$.lastName").value("Kowalski"))
+                .andExpect(jsonPath("$.accessToken").value("access-token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-token"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").value(900))
                 .andExpect(jsonPath("$.message").value("Login successful"));
     }
 
@@ -174,26 +180,57 @@ class UserControllerTest {
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.message").value("Invalid email or password"));
+
+        verifyNoInteractions(tokenService);
     }
 
     @Test
-    @WithMockUser(username = "user@example.com", roles = "USER")
-    void shouldGetCurrentUser() throws Exception {
+    @WithMockUser
+    void shouldRefreshTokens() throws Exception {
+        // Given
+        SalonUserPrincipal principal = new SalonUserPrincipal(
+                1L, "user@example.com", "encoded", "Jan", "Kowalski", true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        when(tokenService.refresh("refresh-token")).thenReturn(new TokenService.RefreshedTokens(
+                principal, new TokenPair("new-access-token", "new-refresh-token", 900)));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/users/token/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.accessToken").value("new-access-token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh-token"))
+                .andExpect(jsonPath("$.message").value("Token refreshed"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn401WhenRefreshTokenInvalid() throws Exception {
         // Given
-        User user = User.builder()
-                .id(1L)
-                .email("user@example.com")
-                .firstName("Jan")
-                .lastName("Kowalski")
-                .build();
+        when(tokenService.refresh("expired")).thenThrow(new UnauthorizedException("Invalid refresh token"));
 
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        // When & Then
+        mockMvc.perform(post("/api/v1/users/token/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("expired"))))
+                .andExpect(status().isUnauthorized());
+    }
 
+    @Test
+    @WithSalonUser(id = 1L, email = "user@example.com", firstName = "Jan", lastName = "Kowalski")
+    void shouldGetCurrentUser() throws Exception {
         // When & Then
         mockMvc.perform(get("/api/v1/users/me"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.email").value("user@example.com"))
+                .andExpect(jsonPath("$.firstName").value("Jan"))
+                .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"))
                 .andExpect(jsonPath("$.message").value("Authenticated"));
     }
 }
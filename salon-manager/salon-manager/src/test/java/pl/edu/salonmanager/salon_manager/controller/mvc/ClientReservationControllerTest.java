@@ -7,13 +7,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
-import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.entity.Employee;
 import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
 import pl.edu.salonmanager.salon_manager.model.entity.ServiceOffer;
 import pl.edu.salonmanager.salon_manager.model.entity.User;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.WithSalonUser;
 import pl.edu.salonmanager.salon_manager.service.ReservationService;
 
 import java.math.BigDecimal;
@@ -21,12 +20,10 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -42,9 +39,6 @@ class ClientReservationControllerTest {
     @MockBean
     private ReservationService reservationService;
 
-    @MockBean
-    private UserRepository userRepository;
-
     private User mockUser;
 
     @BeforeEach
@@ -59,10 +53,9 @@ class ClientReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldDisplayUserReservations() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
 
         ServiceOffer service1 = ServiceOffer.builder()
                 .id(1L)
@@ -136,10 +129,9 @@ class ClientReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldDisplayEmptyReservationsListWhenNoReservationsExist() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
         when(reservationService.getMyReservations(1L)).thenReturn(Collections.emptyList());
 
         // When & Then
@@ -150,17 +142,15 @@ class ClientReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldCancelReservationSuccessfully() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
 
         Reservation cancelledReservation = Reservation.builder()
                 .id(1L)
                 .status(ReservationStatus.CANCELLED)
                 .build();
-        when(reservationService.cancelReservation(eq(1L), any(User.class)))
+        when(reservationService.cancelReservation(1L, 1L))
                 .thenReturn(cancelledReservation);
 
         // When & Then
@@ -171,16 +161,14 @@ class ClientReservationControllerTest {
                 .andExpect(flash().attributeExists("successMessage"))
                 .andExpect(flash().attribute("successMessage", is("Rezerwacja anulowana")));
 
-        verify(reservationService).cancelReservation(eq(1L), any(User.class));
+        verify(reservationService).cancelReservation(1L, 1L);
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldHandleErrorWhenCancellingReservation() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(reservationService.cancelReservation(eq(1L), any(User.class)))
+        when(reservationService.cancelReservation(1L, 1L))
                 .thenThrow(new RuntimeException("Cannot cancel reservation"));
 
         // When & Then
@@ -193,10 +181,9 @@ class ClientReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldConfirmReservationSuccessfully() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
 
         Reservation confirmedReservation = Reservation.builder()
                 .id(1L)
@@ -217,10 +204,9 @@ class ClientReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldHandleErrorWhenConfirmingReservation() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
         when(reservationService.confirmReservation(1L, 1L))
                 .thenThrow(new RuntimeException("Cannot confirm reservation"));
 
@@ -234,27 +220,23 @@ class ClientReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "nonexistent@example.com", roles = "USER")
-    void shouldThrowExceptionWhenUserNotFoundForReservations() throws Exception {
-        // Given
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
-
+    @WithMockUser(username = "test@example.com", roles = "USER")
+    void shouldReturnUnauthorizedWhenPrincipalHasNoUserIdForReservations() throws Exception {
         // When & Then
         mockMvc.perform(get("/client/reservations"))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(reservationService);
     }
 
     @Test
-    @WithMockUser(username = "nonexistent@example.com", roles = "USER")
-    void shouldHandleErrorWhenUserNotFoundForCancel() throws Exception {
-        // Given
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
-
+    @WithMockUser(username = "test@example.com", roles = "USER")
+    void shouldReturnUnauthorizedWhenPrincipalHasNoUserIdForCancel() throws Exception {
         // When & Then
         mockMvc.perform(post("/client/reservations/1/cancel")
                         .with(csrf()))
-                .andExpect(status().is3xxRedirection())
-                .andExpect(redirectedUrl("/client/reservations"))
-                .andExpect(flash().attributeExists("errorMessage"));
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(reservationService);
     }
 }
@@ -1,6 +1,5 @@
 package pl.edu.salonmanager.salon_manager.controller.mvc;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -9,12 +8,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import pl.edu.salonmanager.salon_manager.model.dto.review.request.CreateReviewRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.review.response.ReviewDto;
-import pl.edu.salonmanager.salon_manager.model.entity.User;
-import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.WithSalonUser;
 import pl.edu.salonmanager.salon_manager.service.ReviewService;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 import static org.hamcrest.Matchers.instanceOf;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,24 +31,8 @@ class ClientReviewControllerTest {
     @MockBean
     private ReviewService reviewService;
 
-    @MockBean
-    private UserRepository userRepository;
-
-    private User mockUser;
-
-    @BeforeEach
-    void setUp() {
-        mockUser = User.builder()
-                .id(1L)
-                .email("test@example.com")
-                .firstName("Jan")
-                .lastName("Kowalski")
-                .enabled(true)
-                .build();
-    }
-
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldDisplayAddReviewForm() throws Exception {
         mockMvc.perform(get("/client/reviews/add"))
                 .andExpect(status().isOk())
@@ -62,11 +43,9 @@ class ClientReviewControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldAddReviewSuccessfully() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
-
         ReviewDto createdReview = new ReviewDto(
                 1L,
                 "Great service!",
@@ -92,7 +71,7 @@ class ClientReviewControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldRejectReviewWithEmptyContent() throws Exception {
         // When & Then
         mockMvc.perform(post("/client/reviews/add")
@@ -105,7 +84,7 @@ class ClientReviewControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldRejectReviewWithTooShortContent() throws Exception {
         // When & Then
         mockMvc.perform(post("/client/reviews/add")
@@ -118,7 +97,7 @@ class ClientReviewControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldRejectReviewWithTooLongContent() throws Exception {
         // Given
         String longContent = "a".repeat(1001);
@@ -134,10 +113,9 @@ class ClientReviewControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldHandleErrorWhenAddingReview() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
         when(reviewService.createReview(any(CreateReviewRequest.class), eq(null)))
                 .thenThrow(new RuntimeException("Database error"));
 
@@ -153,28 +131,21 @@ class ClientReviewControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "nonexistent@example.com", roles = "USER")
-    void shouldHandleErrorWhenUserNotFound() throws Exception {
-        // Given
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
-
+    @WithMockUser(username = "test@example.com", roles = "USER")
+    void shouldReturnUnauthorizedWhenPrincipalHasNoUserId() throws Exception {
         // When & Then
         mockMvc.perform(post("/client/reviews/add")
                         .with(csrf())
                         .param("content", "Great service! Very professional staff."))
-                .andExpect(status().isOk())
-                .andExpect(view().name("client/reviews/add"))
-                .andExpect(model().attributeExists("errorMessage"));
+                .andExpect(status().isUnauthorized());
 
         verify(reviewService, never()).createReview(any(), any());
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
+    @WithSalonUser(email = "test@example.com", firstName = "Jan", lastName = "Kowalski")
     void shouldAcceptReviewWithValidLength() throws Exception {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
-
         String validContent = "a".repeat(500); // 500 characters - within limits
         ReviewDto createdReview = new ReviewDto(
                 1L,
@@ -0,0 +1,111 @@
+package pl.edu.salonmanager.salon_manager.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import pl.edu.salonmanager.salon_manager.dao.LockTimeoutDao;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PostgreSQL does not render the JPA lock timeout hint, so the wait for the employee row lock is
+ * bounded by lock_timeout set in the booking transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(LockTimeoutDao.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeLockPostgresTest {
+
+    // Seeded by V3__seed_data.sql
+    private static final long EMPLOYEE_ID = 1L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LockTimeoutDao lockTimeoutDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldSetLockTimeoutForCurrentTransactionOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        String inside = transaction.execute(status -> {
+            lockTimeoutDao.limitLockWait(Duration.ofSeconds(5));
+            return jdbcTemplate.queryForObject("SHOW lock_timeout", String.class);
+        });
+
+        String afterCommit = transaction.execute(status -> jdbcTemplate.queryForObject("SHOW lock_timeout", String.class));
+
+        assertThat(inside).isEqualTo("5s");
+        assertThat(afterCommit).isEqualTo("0");
+    }
+
+    @Test
+    void shouldFailInsteadOfWaitingForHeldEmployeeLock() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            employeeRepository.findByIdForUpdate(EMPLOYEE_ID);
+            locked.countDown();
+            await(release);
+        }));
+
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+                lockTimeoutDao.limitLockWait(Duration.ofMillis(200));
+                employeeRepository.findByIdForUpdate(EMPLOYEE_ID);
+            })).isInstanceOf(PessimisticLockingFailureException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
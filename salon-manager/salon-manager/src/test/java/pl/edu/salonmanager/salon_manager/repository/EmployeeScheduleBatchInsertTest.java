@@ -0,0 +1,83 @@
+package pl.edu.salonmanager.salon_manager.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import pl.edu.salonmanager.salon_manager.model.entity.Employee;
+import pl.edu.salonmanager.salon_manager.model.entity.EmployeeSchedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "pl.edu.salonmanager.salon_manager.repository.EmployeeScheduleBatchInsertTest$RecordingStatementInspector")
+class EmployeeScheduleBatchInsertTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeScheduleRepository employeeScheduleRepository;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee();
+        employee.setFirstName("Anna");
+        employee.setLastName("Batch");
+        employee.setEmail("anna.batch@salon.pl");
+        entityManager.persistAndFlush(employee);
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void shouldInsertWeekOfSchedulesAsOneBatchedStatement() {
+        List<EmployeeSchedule> week = Arrays.stream(DayOfWeek.values())
+                .map(day -> EmployeeSchedule.builder()
+                        .employee(employee)
+                        .dayOfWeek(day)
+                        .startTime(LocalTime.of(9, 0))
+                        .endTime(LocalTime.of(17, 0))
+                        .isWorkingDay(day.getValue() <= 5)
+                        .build())
+                .toList();
+
+        List<EmployeeSchedule> saved = employeeScheduleRepository.saveAll(week);
+
+        // Ids come from the sequence, so nothing is inserted before the flush
+        assertThat(saved).allSatisfy(schedule -> assertThat(schedule.getId()).isNotNull());
+        assertThat(inserts()).isEmpty();
+
+        entityManager.flush();
+
+        assertThat(inserts()).hasSize(1);
+        assertThat(employeeScheduleRepository.findByEmployeeId(employee.getId())).hasSize(7);
+    }
+
+    private List<String> inserts() {
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("insert into employee_schedules"))
+                .toList();
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
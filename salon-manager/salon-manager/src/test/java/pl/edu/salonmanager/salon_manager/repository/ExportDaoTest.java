@@ -0,0 +1,147 @@
+package pl.edu.salonmanager.salon_manager.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import pl.edu.salonmanager.salon_manager.dao.ExportDao;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.ReservationExportView;
+import pl.edu.salonmanager.salon_manager.model.dto.review.projection.ReviewExportView;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
+import pl.edu.salonmanager.salon_manager.model.entity.*;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ExportDao.class)
+class ExportDaoTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExportDao exportDao;
+
+    private User client;
+    private Employee anna;
+    private ServiceOffer haircut;
+    private ServiceOffer coloring;
+
+    @BeforeEach
+    void setUp() {
+        client = User.builder()
+                .email("client@example.com")
+                .password("password")
+                .firstName("Jan")
+                .lastName("Kowalski")
+                .enabled(true)
+                .build();
+        entityManager.persist(client);
+
+        anna = new Employee();
+        anna.setFirstName("Anna");
+        anna.setLastName("Nowak");
+        anna.setEmail("anna@salon.com");
+        entityManager.persist(anna);
+
+        haircut = service("Haircut", "50.00");
+        coloring = service("Coloring", "120.00");
+
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldStreamServiceOffersOrderedByName() {
+        List<ServiceOfferView> offers = new ArrayList<>();
+
+        exportDao.streamServiceOffers(offers::add);
+
+        assertThat(offers).extracting(ServiceOfferView::name).containsExactly("Coloring", "Haircut");
+        assertThat(offers.get(0).price()).isEqualByComparingTo("120.00");
+        assertThat(offers.get(0).durationMinutes()).isEqualTo(30);
+    }
+
+    @Test
+    void shouldFoldServiceRowsIntoOneReservation() {
+        Reservation first = reservation(DAY.atTime(10, 0), haircut, coloring);
+        Reservation second = reservation(DAY.atTime(12, 0), haircut);
+        reservation(DAY.plusDays(1).atTime(10, 0), haircut);
+        entityManager.flush();
+
+        List<ReservationExportView> reservations = new ArrayList<>();
+        exportDao.streamReservations(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), reservations::add);
+
+        assertThat(reservations).extracting(ReservationExportView::id).containsExactly(first.getId(), second.getId());
+        assertThat(reservations.get(0).serviceNames()).containsExactly("Coloring", "Haircut");
+        assertThat(reservations.get(0).totalPrice()).isEqualByComparingTo("170.00");
+        assertThat(reservations.get(0).clientEmail()).isEqualTo("client@example.com");
+        assertThat(reservations.get(0).employeeName()).isEqualTo("Anna Nowak");
+        assertThat(reservations.get(0).status()).isEqualTo("CONFIRMED_BY_CLIENT");
+        assertThat(reservations.get(1).serviceNames()).containsExactly("Haircut");
+    }
+
+    @Test
+    void shouldStreamNothingForEmptyRange() {
+        reservation(DAY.atTime(10, 0), haircut);
+        entityManager.flush();
+
+        List<ReservationExportView> reservations = new ArrayList<>();
+        exportDao.streamReservations(DAY.plusDays(1).atStartOfDay(), DAY.plusDays(2).atStartOfDay(), reservations::add);
+
+        assertThat(reservations).isEmpty();
+    }
+
+    @Test
+    void shouldStreamReviewsWithAuthor() {
+        Review review = Review.builder()
+                .content("Polecam")
+                .user(client)
+                .imageFilename("photo.jpg")
+                .build();
+        entityManager.persist(review);
+        entityManager.flush();
+
+        List<ReviewExportView> reviews = new ArrayList<>();
+        exportDao.streamReviews(reviews::add);
+
+        assertThat(reviews).hasSize(1);
+        assertThat(reviews.get(0).authorEmail()).isEqualTo("client@example.com");
+        assertThat(reviews.get(0).content()).isEqualTo("Polecam");
+        assertThat(reviews.get(0).imageFilename()).isEqualTo("photo.jpg");
+        assertThat(reviews.get(0).createdAt()).isNotNull();
+    }
+
+    private ServiceOffer service(String name, String price) {
+        ServiceOffer service = new ServiceOffer();
+        service.setName(name);
+        service.setPrice(new BigDecimal(price));
+        service.setDurationMinutes(30);
+        return entityManager.persist(service);
+    }
+
+    private Reservation reservation(LocalDateTime start, ServiceOffer... services) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(client);
+        reservation.setEmployee(anna);
+        reservation.setStartTime(start);
+        reservation.setEndTime(start.plusMinutes(30));
+        reservation.setServicePrices(Arrays.stream(services).collect(Collectors.toMap(Function.identity(), ServiceOffer::getPrice)));
+        reservation.setTotalPrice(Arrays.stream(services).map(ServiceOffer::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add));
+        reservation.setStatus(ReservationStatus.CONFIRMED_BY_CLIENT);
+        return entityManager.persist(reservation);
+    }
+}
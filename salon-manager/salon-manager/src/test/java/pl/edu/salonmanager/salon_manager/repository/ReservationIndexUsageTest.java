@@ -0,0 +1,101 @@
+package pl.edu.salonmanager.salon_manager.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, validates the entity mapping against them
+ * and checks that the hot reservation queries are planned on the new indexes.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ReservationIndexUsageTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, first_name, last_name, email)
+                SELECT nextval('employees_seq'), 'Employee', 'No' || g, 'employee' || g || '@index.test'
+                FROM generate_series(1, 50) g
+                """);
+
+        jdbcTemplate.update("""
+                INSERT INTO reservations (id, start_time, end_time, status, total_price, user_id, employee_id)
+                SELECT nextval('reservations_seq'), ts, ts + INTERVAL '30 minutes',
+                       CASE WHEN g % 5 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED_BY_CLIENT' END,
+                       50.00,
+                       (SELECT MIN(id) FROM users),
+                       e.id
+                FROM generate_series(1, 50000) g
+                CROSS JOIN LATERAL (SELECT TIMESTAMP '2030-01-01 09:00' + g * INTERVAL '17 minutes' AS ts) t
+                JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n FROM employees) e
+                  ON e.n = g % (SELECT COUNT(*) FROM employees)
+                """);
+
+        jdbcTemplate.execute("ANALYZE reservations");
+    }
+
+    @Test
+    void shouldUseActiveReservationIndexForOverlapCheck() {
+        String plan = explain("""
+                SELECT COUNT(*) > 0 FROM reservations r
+                WHERE r.employee_id = (SELECT MIN(id) FROM employees)
+                  AND r.status <> 'CANCELLED'
+                  AND r.start_time < TIMESTAMP '2030-06-01 11:00'
+                  AND r.end_time > TIMESTAMP '2030-06-01 10:00'
+                """);
+
+        assertThat(plan).contains("idx_reservations_active_employee_start");
+    }
+
+    @Test
+    void shouldUseActiveReservationIndexForDailyAvailability() {
+        String plan = explain("""
+                SELECT * FROM reservations r
+                WHERE r.employee_id IN (SELECT id FROM employees ORDER BY id LIMIT 10)
+                  AND r.status <> 'CANCELLED'
+                  AND r.start_time >= TIMESTAMP '2030-06-01 00:00'
+                  AND r.start_time < TIMESTAMP '2030-06-02 00:00'
+                ORDER BY r.start_time
+                """);
+
+        assertThat(plan).contains("idx_reservations_active_employee_start");
+    }
+
+    @Test
+    void shouldUseEmployeeIndexForScheduleRange() {
+        String plan = explain("""
+                SELECT * FROM reservations r
+                WHERE r.employee_id = (SELECT MIN(id) FROM employees)
+                  AND r.start_time BETWEEN TIMESTAMP '2030-06-01 00:00' AND TIMESTAMP '2030-06-08 00:00'
+                """);
+
+        assertThat(plan).contains("idx_reservations_employee_start");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
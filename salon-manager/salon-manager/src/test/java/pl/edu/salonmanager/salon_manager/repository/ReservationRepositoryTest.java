@@ -2,15 +2,26 @@ package pl.edu.salonmanager.salon_manager.repository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusyMinutes;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusySlotView;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.ReservationServiceIdView;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.response.ReservationDetailDto;
 import pl.edu.salonmanager.salon_manager.model.entity.*;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -76,6 +87,22 @@ class ReservationRepositoryTest {
         assertThat(saved.getStatus()).isEqualTo(ReservationStatus.CREATED);
     }
 
+    @Test
+    void shouldLoadReservationOwnerWithoutRoles() {
+        Reservation reservation = entityManager.persist(createReservation(
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusMinutes(30),
+                ReservationStatus.CREATED
+        ));
+        entityManager.flush();
+        entityManager.clear();
+
+        Reservation found = reservationRepository.findByIdWithUserAndEmployee(reservation.getId()).orElseThrow();
+
+        assertThat(found.getUser().getEmail()).isEqualTo("test@example.com");
+        assertThat(Hibernate.isInitialized(found.getUser().getRoles())).isFalse();
+    }
+
     @Test
     void shouldFindReservationsByUserId() {
         Reservation reservation1 = createReservation(
@@ -261,13 +288,134 @@ class ReservationRepositoryTest {
         assertThat(all).hasSizeGreaterThanOrEqualTo(2);
     }
 
+    @Test
+    void shouldProjectActiveReservationsToMinuteOffsets() {
+        LocalDate day = LocalDate.now().plusDays(5);
+        entityManager.persist(createReservation(day.atTime(9, 15), day.atTime(10, 0), ReservationStatus.APPROVED_BY_SALON));
+        entityManager.persist(createReservation(day.atTime(23, 30), day.plusDays(1).atTime(0, 15), ReservationStatus.CREATED));
+        entityManager.persist(createReservation(day.atTime(12, 0), day.atTime(12, 30), ReservationStatus.CANCELLED));
+        entityManager.persist(createReservation(day.plusDays(1).atTime(9, 0), day.plusDays(1).atTime(9, 30), ReservationStatus.CREATED));
+        entityManager.flush();
+
+        List<BusyMinutes> busy = reservationRepository.findBusyMinutesByEmployeesAndDay(
+                List.of(testEmployee.getId()), day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        assertThat(busy).containsExactlyInAnyOrder(
+                new BusyMinutes(testEmployee.getId(), 9 * 60 + 15, 10 * 60),
+                new BusyMinutes(testEmployee.getId(), 23 * 60 + 30, 24 * 60));
+    }
+
+    @Test
+    void shouldProjectActiveReservationsInRangeWithoutLoadingEntities() {
+        LocalDate day = LocalDate.now().plusDays(5);
+        entityManager.persist(createReservation(day.atTime(9, 0), day.atTime(9, 30), ReservationStatus.CREATED));
+        entityManager.persist(createReservation(day.plusDays(2).atTime(14, 0), day.plusDays(2).atTime(15, 0), ReservationStatus.CONFIRMED_BY_CLIENT));
+        entityManager.persist(createReservation(day.atTime(12, 0), day.atTime(12, 30), ReservationStatus.CANCELLED));
+        entityManager.persist(createReservation(day.plusDays(3).atTime(9, 0), day.plusDays(3).atTime(9, 30), ReservationStatus.CREATED));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BusySlotView> busy = reservationRepository.findBusySlotsByEmployeesAndStartTimeRange(
+                List.of(testEmployee.getId()), day.atStartOfDay(), day.plusDays(3).atStartOfDay());
+
+        assertThat(busy).containsExactlyInAnyOrder(
+                new BusySlotView(testEmployee.getId(), day.atTime(9, 0), day.atTime(9, 30)),
+                new BusySlotView(testEmployee.getId(), day.plusDays(2).atTime(14, 0), day.plusDays(2).atTime(15, 0)));
+        assertThat(entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void shouldProjectPageOfReservationDetailsWithoutLoadingEntities() {
+        LocalDate day = LocalDate.now().plusDays(5);
+        for (int hour = 9; hour < 14; hour++) {
+            entityManager.persist(createReservation(day.atTime(hour, 0), day.atTime(hour, 30), ReservationStatus.CREATED));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<ReservationDetailDto> page = reservationRepository.findAllDetails(
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "startTime")));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(ReservationDetailDto::getStartTime)
+                .containsExactly(day.atTime(11, 0), day.atTime(10, 0));
+        assertThat(page.getContent()).allSatisfy(dto -> {
+            assertThat(dto.getClientEmail()).isEqualTo("test@example.com");
+            assertThat(dto.getEmployeeLastName()).isEqualTo("Doe");
+            assertThat(dto.getServiceIds()).isEmpty();
+        });
+        assertThat(entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void shouldProjectReservationDetailsByStatusAndUser() {
+        LocalDate day = LocalDate.now().plusDays(5);
+        entityManager.persist(createReservation(day.atTime(9, 0), day.atTime(9, 30), ReservationStatus.CREATED));
+        entityManager.persist(createReservation(day.atTime(10, 0), day.atTime(10, 30), ReservationStatus.CANCELLED));
+        entityManager.flush();
+
+        Page<ReservationDetailDto> cancelled = reservationRepository.findDetailsByStatus(
+                ReservationStatus.CANCELLED, PageRequest.of(0, 20));
+        Page<ReservationDetailDto> mine = reservationRepository.findDetailsByUserId(
+                testUser.getId(), PageRequest.of(0, 20, Sort.by("startTime")));
+
+        assertThat(cancelled.getContent()).extracting(ReservationDetailDto::getStartTime)
+                .containsExactly(day.atTime(10, 0));
+        assertThat(mine.getTotalElements()).isEqualTo(2);
+        assertThat(mine.getContent()).extracting(ReservationDetailDto::getStatus)
+                .containsExactly(ReservationStatus.CREATED, ReservationStatus.CANCELLED);
+    }
+
+    @Test
+    void shouldPageReservationsOfEmployeeInStartTimeRange() {
+        LocalDate day = LocalDate.now().plusDays(5);
+        entityManager.persist(createReservation(day.atTime(9, 0), day.atTime(9, 30), ReservationStatus.CREATED));
+        entityManager.persist(createReservation(day.atTime(10, 0), day.atTime(10, 30), ReservationStatus.CANCELLED));
+        entityManager.persist(createReservation(day.plusDays(1).atTime(9, 0), day.plusDays(1).atTime(9, 30), ReservationStatus.CREATED));
+        entityManager.flush();
+
+        Page<ReservationDetailDto> page = reservationRepository.findDetailsByEmployeeIdAndStartTimeRange(
+                testEmployee.getId(), day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                PageRequest.of(0, 1, Sort.by("startTime")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(ReservationDetailDto::getStartTime).containsExactly(day.atTime(9, 0));
+    }
+
+    @Test
+    void shouldLoadServiceIdsOfReservationsInOneQuery() {
+        ServiceOffer coloring = new ServiceOffer();
+        coloring.setName("Coloring");
+        coloring.setPrice(new BigDecimal("120.00"));
+        coloring.setDurationMinutes(60);
+        entityManager.persist(coloring);
+
+        LocalDate day = LocalDate.now().plusDays(5);
+        Reservation first = createReservation(day.atTime(9, 0), day.atTime(10, 30), ReservationStatus.CREATED);
+        first.setServicePrices(Map.of(testService, testService.getPrice(), coloring, coloring.getPrice()));
+        entityManager.persist(first);
+        Reservation second = entityManager.persist(
+                createReservation(day.atTime(11, 0), day.atTime(11, 30), ReservationStatus.CREATED));
+        entityManager.flush();
+
+        List<ReservationServiceIdView> ids = reservationRepository.findServiceIdsByReservationIds(
+                List.of(first.getId(), second.getId()));
+
+        assertThat(ids).containsExactlyInAnyOrder(
+                new ReservationServiceIdView(first.getId(), testService.getId(), new BigDecimal("50.00")),
+                new ReservationServiceIdView(first.getId(), coloring.getId(), new BigDecimal("120.00")),
+                new ReservationServiceIdView(second.getId(), testService.getId(), new BigDecimal("50.00")));
+    }
+
     private Reservation createReservation(LocalDateTime start, LocalDateTime end, ReservationStatus status) {
         Reservation reservation = new Reservation();
         reservation.setUser(testUser);
         reservation.setEmployee(testEmployee);
         reservation.setStartTime(start);
         reservation.setEndTime(end);
-        reservation.setServices(Set.of(testService));
+        reservation.setServicePrices(Map.of(testService, testService.getPrice()));
         reservation.setTotalPrice(new BigDecimal("50.00"));
         reservation.setStatus(status);
         return reservation;
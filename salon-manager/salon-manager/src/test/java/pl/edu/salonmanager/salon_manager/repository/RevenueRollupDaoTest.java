@@ -0,0 +1,106 @@
+package pl.edu.salonmanager.salon_manager.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.edu.salonmanager.salon_manager.dao.RevenueRollupDao;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.EmployeeRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ServiceRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.entity.*;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(RevenueRollupDao.class)
+class RevenueRollupDaoTest {
+
+    // Monday
+    private static final LocalDate WEEK_START = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RevenueRollupDao revenueRollupDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee anna;
+    private Employee piotr;
+    private ServiceOffer haircut;
+    private ServiceOffer coloring;
+
+    @BeforeEach
+    void setUp() {
+        anna = employee("Anna", "anna@salon.com");
+        piotr = employee("Piotr", "piotr@salon.com");
+        haircut = service("Haircut", "50.00");
+        coloring = service("Coloring", "120.00");
+
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldFilterEmployeeRevenueByRangeAndEmployee() {
+        employeeRollup(anna.getId(), StatisticsPeriod.DAY, WEEK_START, 1, "50.00", 30);
+        employeeRollup(anna.getId(), StatisticsPeriod.DAY, WEEK_START.plusDays(7), 1, "50.00", 30);
+        employeeRollup(piotr.getId(), StatisticsPeriod.DAY, WEEK_START, 1, "50.00", 30);
+        employeeRollup(anna.getId(), StatisticsPeriod.WEEK, WEEK_START, 1, "50.00", 30);
+
+        List<EmployeeRevenueDto> result = revenueRollupDao.findEmployeeRevenue(
+                StatisticsPeriod.DAY, WEEK_START, WEEK_START.plusDays(6), anna.getId());
+
+        assertThat(result).extracting(EmployeeRevenueDto::getBucketStart).containsExactly(WEEK_START);
+        assertThat(result).extracting(EmployeeRevenueDto::getEmployeeId).containsExactly(anna.getId());
+    }
+
+    @Test
+    void shouldHideBucketsWithoutBookings() {
+        serviceRollup(haircut.getId(), StatisticsPeriod.MONTH, WEEK_START.withDayOfMonth(1), 0, "0.00");
+
+        assertThat(revenueRollupDao.findServiceRevenue(
+                StatisticsPeriod.MONTH, WEEK_START.withDayOfMonth(1), WEEK_START, null)).isEmpty();
+    }
+
+    private void employeeRollup(Long employeeId, StatisticsPeriod period, LocalDate bucketStart,
+                                long bookings, String revenue, long bookedMinutes) {
+        jdbcTemplate.update("""
+                INSERT INTO employee_revenue_rollups (employee_id, period, bucket_start, booking_count, revenue, booked_minutes)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, employeeId, period.name(), bucketStart, bookings, new BigDecimal(revenue), bookedMinutes);
+    }
+
+    private void serviceRollup(Long serviceOfferId, StatisticsPeriod period, LocalDate bucketStart,
+                               long bookings, String revenue) {
+        jdbcTemplate.update("""
+                INSERT INTO service_revenue_rollups (service_offer_id, period, bucket_start, booking_count, revenue)
+                VALUES (?, ?, ?, ?, ?)
+                """, serviceOfferId, period.name(), bucketStart, bookings, new BigDecimal(revenue));
+    }
+
+    private Employee employee(String firstName, String email) {
+        Employee employee = new Employee();
+        employee.setFirstName(firstName);
+        employee.setLastName("Nowak");
+        employee.setEmail(email);
+        return entityManager.persist(employee);
+    }
+
+    private ServiceOffer service(String name, String price) {
+        ServiceOffer service = new ServiceOffer();
+        service.setName(name);
+        service.setPrice(new BigDecimal(price));
+        service.setDurationMinutes(30);
+        return entityManager.persist(service);
+    }
+}
@@ -0,0 +1,101 @@
+package pl.edu.salonmanager.salon_manager.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.edu.salonmanager.salon_manager.dao.ServiceOfferImportDao;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
+import pl.edu.salonmanager.salon_manager.model.entity.ServiceOffer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ServiceOfferImportDao.class)
+class ServiceOfferImportDaoTest {
+
+    @Autowired
+    private ServiceOfferImportDao serviceOfferImportDao;
+
+    @Autowired
+    private ServiceOfferRepository serviceOfferRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldInsertAllRowsAcrossBatches() {
+        long before = serviceOfferRepository.count();
+        List<CreateServiceRequest> offers = IntStream.range(0, 1234)
+                .mapToObj(i -> offer("Service " + i, "10.50", 30))
+                .toList();
+
+        int inserted = serviceOfferImportDao.insertAll(offers);
+
+        assertThat(inserted).isEqualTo(1234);
+        assertThat(serviceOfferRepository.count()).isEqualTo(before + 1234);
+    }
+
+    @Test
+    void shouldStoreAllColumns() {
+        serviceOfferImportDao.insertAll(List.of(offer("Strzyżenie, \"Premium\"", "99.99", 45)));
+
+        ServiceOffer saved = serviceOfferRepository.findAll().stream()
+                .filter(offer -> offer.getName().equals("Strzyżenie, \"Premium\""))
+                .findFirst()
+                .orElseThrow();
+        assertThat(saved.getPrice()).isEqualByComparingTo("99.99");
+        assertThat(saved.getDurationMinutes()).isEqualTo(45);
+        assertThat(saved.getId()).isNotNull();
+    }
+
+    @Test
+    void shouldTakeIdsThatDoNotCollideWithEntityManagerIds() {
+        ServiceOffer before = serviceOfferRepository.saveAndFlush(entity("Before import"));
+        serviceOfferImportDao.insertAll(IntStream.range(0, 120)
+                .mapToObj(i -> offer("Imported " + i, "10.00", 30))
+                .toList());
+        ServiceOffer after = serviceOfferRepository.saveAndFlush(entity("After import"));
+
+        List<Long> ids = serviceOfferRepository.findAll().stream().map(ServiceOffer::getId).toList();
+        assertThat(ids).doesNotHaveDuplicates().contains(before.getId(), after.getId());
+        assertThat(serviceOfferRepository.count()).isEqualTo(122);
+    }
+
+    @Test
+    void shouldReserveOnlyTheIdBlocksTheImportNeeds() {
+        long before = nextSequenceValue();
+
+        serviceOfferImportDao.insertAll(IntStream.range(0, 120)
+                .mapToObj(i -> offer("Imported " + i, "10.00", 30))
+                .toList());
+
+        // 120 rows take three blocks of 50, the fourth is this call
+        assertThat(nextSequenceValue() - before).isEqualTo(4 * 50);
+    }
+
+    private long nextSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT nextval('service_offers_seq')", Long.class);
+    }
+
+    private ServiceOffer entity(String name) {
+        ServiceOffer offer = new ServiceOffer();
+        offer.setName(name);
+        offer.setPrice(new BigDecimal("10.00"));
+        offer.setDurationMinutes(30);
+        return offer;
+    }
+
+    private CreateServiceRequest offer(String name, String price, int durationMinutes) {
+        CreateServiceRequest request = new CreateServiceRequest();
+        request.setName(name);
+        request.setPrice(new BigDecimal(price));
+        request.setDurationMinutes(durationMinutes);
+        return request;
+    }
+}
@@ -8,13 +8,18 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.jdbc.core.JdbcTemplate;
 import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
 import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsDto;
 import pl.edu.salonmanager.salon_manager.model.entity.*;
+import pl.edu.salonmanager.salon_manager.model.enums.ClientStatisticsSort;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -81,10 +86,8 @@ class StatisticsDaoTest {
 
     @Test
     void shouldGetClientStatistics() {
-        createReservation(testUser1, LocalDateTime.now().plusDays(1), 60, ReservationStatus.CONFIRMED_BY_CLIENT);
-        createReservation(testUser1, LocalDateTime.now().plusDays(2), 30, ReservationStatus.CONFIRMED_BY_CLIENT);
-        createReservation(testUser2, LocalDateTime.now().plusDays(3), 45, ReservationStatus.CONFIRMED_BY_CLIENT);
-        entityManager.flush();
+        clientStats(testUser1.getId(), 2, 5400, "200.00");
+        clientStats(testUser2.getId(), 1, 2700, "100.00");
 
         List<ClientStatisticsDto> statistics = statisticsDao.getClientStatistics();
 
@@ -101,9 +104,7 @@ class StatisticsDaoTest {
 
     @Test
     void shouldGetClientStatisticsById() {
-        createReservation(testUser1, LocalDateTime.now().plusDays(1), 60, ReservationStatus.CONFIRMED_BY_CLIENT);
-        createReservation(testUser1, LocalDateTime.now().plusDays(2), 30, ReservationStatus.CONFIRMED_BY_CLIENT);
-        entityManager.flush();
+        clientStats(testUser1.getId(), 2, 5400, "200.00");
 
         Optional<ClientStatisticsDto> stats = statisticsDao.getClientStatisticsById(testUser1.getId());
 
@@ -123,9 +124,7 @@ class StatisticsDaoTest {
 
     @Test
     void shouldCalculateTotalSpending() {
-        createReservation(testUser1, LocalDateTime.now().plusDays(1), 60, new BigDecimal("100.00"), ReservationStatus.CONFIRMED_BY_CLIENT);
-        createReservation(testUser1, LocalDateTime.now().plusDays(2), 30, new BigDecimal("50.00"), ReservationStatus.CONFIRMED_BY_CLIENT);
-        entityManager.flush();
+        clientStats(testUser1.getId(), 2, 5400, "150.00");
 
         Optional<ClientStatisticsDto> stats = statisticsDao.getClientStatisticsById(testUser1.getId());
 
@@ -149,22 +148,44 @@ class StatisticsDaoTest {
     }
 
     @Test
-    void shouldNotIncludeCancelledReservationsInStatistics() {
-        createReservation(testUser1, LocalDateTime.now().plusDays(1), 60, ReservationStatus.CONFIRMED_BY_CLIENT);
-        createReservation(testUser1, LocalDateTime.now().plusDays(2), 30, ReservationStatus.CANCELLED);
+    void shouldLockOnlyExpiredPendingReservationsUpToLimit() {
+        LocalDateTime cutoffDate = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        createReservation(testUser1, cutoffDate.minusDays(3), 30, ReservationStatus.CREATED);
+        createReservation(testUser1, cutoffDate.minusDays(2), 30, ReservationStatus.CREATED);
+        createReservation(testUser1, cutoffDate.minusDays(1), 30, ReservationStatus.CREATED);
+        createReservation(testUser1, cutoffDate.minusDays(1), 30, ReservationStatus.APPROVED_BY_SALON);
+        createReservation(testUser1, cutoffDate.plusDays(1), 30, ReservationStatus.CREATED);
         entityManager.flush();
 
-        Optional<ClientStatisticsDto> stats = statisticsDao.getClientStatisticsById(testUser1.getId());
+        List<ReservationSnapshot> locked = statisticsDao.lockExpiredPendingReservations(cutoffDate, 2);
 
-        assertThat(stats).isPresent();
-        assertThat(stats.get().getTotalVisits()).isEqualTo(1); // Only approved
+        assertThat(locked).hasSize(2);
+        assertThat(locked).extracting(ReservationSnapshot::status).containsOnly(ReservationStatus.CREATED);
+        assertThat(locked).extracting(ReservationSnapshot::startTime)
+                .containsExactly(cutoffDate.minusDays(3), cutoffDate.minusDays(2));
+        assertThat(locked.get(0).employeeId()).isEqualTo(testEmployee.getId());
     }
 
     @Test
-    void shouldOrderStatisticsByTotalSpendingDesc() {
-        createReservation(testUser1, LocalDateTime.now().plusDays(1), 60, new BigDecimal("50.00"), ReservationStatus.CONFIRMED_BY_CLIENT);
-        createReservation(testUser2, LocalDateTime.now().plusDays(1), 60, new BigDecimal("200.00"), ReservationStatus.CONFIRMED_BY_CLIENT);
+    void shouldCancelOnlyReservationsStillPending() {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        createReservation(testUser1, start, 30, ReservationStatus.CREATED);
+        createReservation(testUser1, start.minusHours(1), 30, ReservationStatus.APPROVED_BY_SALON);
         entityManager.flush();
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM reservations", Long.class);
+
+        int cancelled = statisticsDao.cancelPendingReservations(ids);
+
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM reservations ORDER BY start_time", String.class))
+                .containsExactly("APPROVED_BY_SALON", "CANCELLED");
+    }
+
+    @Test
+    void shouldOrderStatisticsByTotalSpendingDesc() {
+        clientStats(testUser1.getId(), 1, 3600, "50.00");
+        clientStats(testUser2.getId(), 1, 3600, "200.00");
 
         List<ClientStatisticsDto> statistics = statisticsDao.getClientStatistics();
 
@@ -173,6 +194,68 @@ class StatisticsDaoTest {
         assertThat(statistics.get(0).getClientEmail()).isEqualTo("user2@example.com");
     }
 
+    @Test
+    void shouldPageClientStatisticsBySpendingWithKeyset() {
+        User testUser3 = persistUser("user3@example.com");
+        clientStats(testUser1.getId(), 1, 3600, "100.00");
+        clientStats(testUser2.getId(), 3, 3600, "300.00");
+        clientStats(testUser3.getId(), 2, 3600, "100.00");
+
+        List<ClientStatisticsDto> first = statisticsDao.getClientStatisticsPage(ClientStatisticsSort.SPENDING, null, null, 2);
+        ClientStatisticsDto last = first.get(1);
+        List<ClientStatisticsDto> second = statisticsDao.getClientStatisticsPage(
+                ClientStatisticsSort.SPENDING, last.getTotalSpending(), last.getClientId(), 2);
+
+        // Equal spending is ordered by client id, so the tie is split across pages without duplicates
+        assertThat(first).extracting(ClientStatisticsDto::getClientId).containsExactly(testUser2.getId(), testUser3.getId());
+        assertThat(second).extracting(ClientStatisticsDto::getClientId).containsExactly(testUser1.getId());
+    }
+
+    @Test
+    void shouldPageClientStatisticsByVisits() {
+        clientStats(testUser1.getId(), 5, 3600, "100.00");
+        clientStats(testUser2.getId(), 2, 3600, "300.00");
+
+        List<ClientStatisticsDto> first = statisticsDao.getClientStatisticsPage(ClientStatisticsSort.VISITS, null, null, 1);
+        List<ClientStatisticsDto> second = statisticsDao.getClientStatisticsPage(
+                ClientStatisticsSort.VISITS, first.get(0).getTotalVisits(), first.get(0).getClientId(), 1);
+
+        assertThat(first).extracting(ClientStatisticsDto::getClientId).containsExactly(testUser1.getId());
+        assertThat(second).extracting(ClientStatisticsDto::getClientId).containsExactly(testUser2.getId());
+    }
+
+    @Test
+    void shouldStreamAllClientStatisticsInSortOrder() {
+        clientStats(testUser1.getId(), 1, 3600, "100.00");
+        clientStats(testUser2.getId(), 1, 3600, "300.00");
+        List<ClientStatisticsDto> streamed = new ArrayList<>();
+
+        statisticsDao.streamClientStatistics(ClientStatisticsSort.SPENDING, streamed::add);
+
+        assertThat(streamed).extracting(ClientStatisticsDto::getClientEmail)
+                .containsExactly("user2@example.com", "user1@example.com");
+    }
+
+    private User persistUser(String email) {
+        User user = User.builder()
+                .email(email)
+                .password("password")
+                .firstName("Extra")
+                .lastName("Client")
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+        return user;
+    }
+
+    private void clientStats(Long userId, long visits, long durationSeconds, String spending) {
+        jdbcTemplate.update("""
+                INSERT INTO client_stats (user_id, visit_count, duration_seconds_sum, spending_sum)
+                VALUES (?, ?, ?, ?)
+                """, userId, visits, durationSeconds, new BigDecimal(spending));
+    }
+
     private void createReservation(User user, LocalDateTime startTime, int durationMinutes, ReservationStatus status) {
         createReservation(user, startTime, durationMinutes, new BigDecimal("100.00"), status);
     }
@@ -184,7 +267,7 @@ class StatisticsDaoTest {
         reservation.setEmployee(testEmployee);
         reservation.setStartTime(startTime);
         reservation.setEndTime(startTime.plusMinutes(durationMinutes));
-        reservation.setServices(Set.of(testService));
+        reservation.setServicePrices(Map.of(testService, testService.getPrice()));
         reservation.setTotalPrice(price);
         reservation.setStatus(status);
         entityManager.persist(reservation);
@@ -0,0 +1,428 @@
+package pl.edu.salonmanager.salon_manager.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import pl.edu.salonmanager.salon_manager.dao.RevenueRollupDao;
+import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.EmployeeRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ServiceRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the client statistics and revenue rollup upserts and rebuilds against PostgreSQL, where a
+ * failed statement aborts the whole reservation transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({StatisticsDao.class, RevenueRollupDao.class})
+class StatisticsUpsertPostgresTest {
+
+    // Monday
+    private static final LocalDate WEEK_START = LocalDate.of(2031, 1, 6);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private StatisticsDao statisticsDao;
+
+    @Autowired
+    private RevenueRollupDao revenueRollupDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void shouldCreateClientStatsOnFirstDelta() {
+        Long userId = createUser();
+
+        statisticsDao.applyClientStatsDelta(userId, 1, 3600, new BigDecimal("80.00"));
+
+        ClientStatisticsDto stats = statisticsDao.getClientStatisticsById(userId).orElseThrow();
+        assertThat(stats.getTotalVisits()).isEqualTo(1);
+        assertThat(stats.getAverageDurationMinutes()).isEqualTo(60);
+        assertThat(stats.getTotalSpending()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void shouldAccumulateClientStatsDeltas() {
+        Long userId = createUser();
+
+        statisticsDao.applyClientStatsDelta(userId, 1, 3600, new BigDecimal("100.00"));
+        statisticsDao.applyClientStatsDelta(userId, 1, 1800, new BigDecimal("50.00"));
+        statisticsDao.applyClientStatsDelta(userId, 1, 2700, new BigDecimal("30.00"));
+        statisticsDao.applyClientStatsDelta(userId, -1, -2700, new BigDecimal("-30.00"));
+
+        ClientStatisticsDto stats = statisticsDao.getClientStatisticsById(userId).orElseThrow();
+        assertThat(stats.getTotalVisits()).isEqualTo(2);
+        assertThat(stats.getAverageDurationMinutes()).isEqualTo(45);
+        assertThat(stats.getAverageSpending()).isEqualByComparingTo("75.00");
+        assertThat(stats.getTotalSpending()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void shouldHideClientWhoseLastVisitWasWithdrawn() {
+        Long userId = createUser();
+
+        statisticsDao.applyClientStatsDelta(userId, 1, 3600, new BigDecimal("100.00"));
+        statisticsDao.applyClientStatsDelta(userId, -1, -3600, new BigDecimal("-100.00"));
+
+        assertThat(statisticsDao.getClientStatisticsById(userId)).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldKeepTransactionUsableWhenFirstDeltasRace() throws Exception {
+        Long userId = transactionTemplate.execute(status -> createUser());
+        CountDownLatch firstInserted = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+                statisticsDao.applyClientStatsDelta(userId, 1, 3600, new BigDecimal("100.00"));
+                firstInserted.countDown();
+                sleep(500);
+            }));
+
+            assertThat(firstInserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Blocks on the uncommitted row, then adds to it; later statements must still run
+            Long visits = transactionTemplate.execute(status -> {
+                statisticsDao.applyClientStatsDelta(userId, 1, 1800, new BigDecimal("50.00"));
+                return jdbcTemplate.queryForObject(
+                        "SELECT visit_count FROM client_stats WHERE user_id = ?", Long.class, userId);
+            });
+            first.get(10, TimeUnit.SECONDS);
+
+            assertThat(visits).isEqualTo(2);
+            ClientStatisticsDto stats = statisticsDao.getClientStatisticsById(userId).orElseThrow();
+            assertThat(stats.getTotalSpending()).isEqualByComparingTo("150.00");
+        } finally {
+            jdbcTemplate.update("DELETE FROM client_stats WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void shouldRebuildClientStatsFromCountedReservations() {
+        Long userId = createUser();
+        Long otherUserId = createUser();
+        Long employeeId = createEmployee();
+        createReservation(userId, employeeId, WEEK_START.atTime(10, 0), 60, "100.00", "CONFIRMED_BY_CLIENT");
+        createReservation(userId, employeeId, WEEK_START.atTime(12, 0), 30, "40.00", "CANCELLED");
+        statisticsDao.applyClientStatsDelta(userId, 5, 100, new BigDecimal("999.00"));
+        statisticsDao.applyClientStatsDelta(otherUserId, 1, 100, new BigDecimal("10.00"));
+
+        statisticsDao.rebuildClientStats();
+
+        assertThat(statisticsDao.getClientStatisticsById(otherUserId)).isEmpty();
+        ClientStatisticsDto stats = statisticsDao.getClientStatisticsById(userId).orElseThrow();
+        assertThat(stats.getTotalVisits()).isEqualTo(1);
+        assertThat(stats.getAverageDurationMinutes()).isEqualTo(60);
+        assertThat(stats.getTotalSpending()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldSerializeOverlappingClientStatsRebuilds() throws Exception {
+        Long userId = transactionTemplate.execute(status -> createUser());
+        Long employeeId = transactionTemplate.execute(status -> createEmployee());
+        transactionTemplate.executeWithoutResult(status ->
+                createReservation(userId, employeeId, WEEK_START.atTime(10, 0), 60, "100.00", "CONFIRMED_BY_CLIENT"));
+        CountDownLatch firstRebuilt = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+                statisticsDao.rebuildClientStats();
+                firstRebuilt.countDown();
+                sleep(500);
+            }));
+
+            assertThat(firstRebuilt.await(10, TimeUnit.SECONDS)).isTrue();
+            transactionTemplate.executeWithoutResult(status -> statisticsDao.rebuildClientStats());
+            first.get(10, TimeUnit.SECONDS);
+
+            assertThat(statisticsDao.getClientStatisticsById(userId).orElseThrow().getTotalVisits()).isEqualTo(1);
+        } finally {
+            deleteReservationsOf(userId, employeeId);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldLetClientStatsRebuildWaitForUncommittedDelta() throws Exception {
+        Long userId = transactionTemplate.execute(status -> createUser());
+        Long employeeId = transactionTemplate.execute(status -> createEmployee());
+        transactionTemplate.executeWithoutResult(status ->
+                createReservation(userId, employeeId, WEEK_START.atTime(10, 0), 60, "100.00", "CONFIRMED_BY_CLIENT"));
+        CountDownLatch deltaWritten = new CountDownLatch(1);
+
+        try {
+            // A booking whose first delta for the client is not committed yet
+            CompletableFuture<Void> booking = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+                statisticsDao.applyClientStatsDelta(userId, 1, 1800, new BigDecimal("50.00"));
+                deltaWritten.countDown();
+                sleep(500);
+            }));
+
+            assertThat(deltaWritten.await(10, TimeUnit.SECONDS)).isTrue();
+            // Waits for the booking to commit, then replaces its row with the recomputed one
+            transactionTemplate.executeWithoutResult(status -> statisticsDao.rebuildClientStats());
+            booking.get(10, TimeUnit.SECONDS);
+
+            ClientStatisticsDto stats = statisticsDao.getClientStatisticsById(userId).orElseThrow();
+            assertThat(stats.getTotalVisits()).isEqualTo(1);
+            assertThat(stats.getTotalSpending()).isEqualByComparingTo("100.00");
+        } finally {
+            deleteReservationsOf(userId, employeeId);
+        }
+    }
+
+    @Test
+    void shouldAccumulateEmployeeDeltas() {
+        Long employeeId = createEmployee();
+
+        revenueRollupDao.applyEmployeeDelta(employeeId, StatisticsPeriod.DAY, WEEK_START, 1, new BigDecimal("50.00"), 30);
+        revenueRollupDao.applyEmployeeDelta(employeeId, StatisticsPeriod.DAY, WEEK_START, 1, new BigDecimal("120.00"), 90);
+
+        List<EmployeeRevenueDto> result = revenueRollupDao.findEmployeeRevenue(
+                StatisticsPeriod.DAY, WEEK_START, WEEK_START, employeeId);
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getBookings()).isEqualTo(2);
+        assertThat(result.get(0).getRevenue()).isEqualByComparingTo("170.00");
+        assertThat(result.get(0).getBookedMinutes()).isEqualTo(120);
+    }
+
+    @Test
+    void shouldHideServiceBucketsWhoseBookingsWereWithdrawn() {
+        Long serviceId = createService();
+        LocalDate month = WEEK_START.withDayOfMonth(1);
+
+        revenueRollupDao.applyServiceDelta(serviceId, StatisticsPeriod.MONTH, month, 1, new BigDecimal("50.00"));
+        revenueRollupDao.applyServiceDelta(serviceId, StatisticsPeriod.MONTH, month, -1, new BigDecimal("-50.00"));
+
+        assertThat(revenueRollupDao.findServiceRevenue(StatisticsPeriod.MONTH, month, WEEK_START, serviceId)).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldKeepTransactionUsableWhenFirstBucketWritesRace() throws Exception {
+        Long employeeId = transactionTemplate.execute(status -> createEmployee());
+        CountDownLatch firstInserted = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+                revenueRollupDao.applyEmployeeDelta(employeeId, StatisticsPeriod.WEEK, WEEK_START, 1, new BigDecimal("50.00"), 30);
+                firstInserted.countDown();
+                sleep(500);
+            }));
+
+            assertThat(firstInserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Long bookings = transactionTemplate.execute(status -> {
+                revenueRollupDao.applyEmployeeDelta(employeeId, StatisticsPeriod.WEEK, WEEK_START, 1, new BigDecimal("70.00"), 60);
+                return jdbcTemplate.queryForObject(
+                        "SELECT booking_count FROM employee_revenue_rollups WHERE employee_id = ?", Long.class, employeeId);
+            });
+            first.get(10, TimeUnit.SECONDS);
+
+            assertThat(bookings).isEqualTo(2);
+            assertThat(revenueRollupDao.findEmployeeRevenue(StatisticsPeriod.WEEK, WEEK_START, WEEK_START, employeeId))
+                    .singleElement()
+                    .satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo("120.00"));
+        } finally {
+            jdbcTemplate.update("DELETE FROM employee_revenue_rollups WHERE employee_id = ?", employeeId);
+            jdbcTemplate.update("DELETE FROM employees WHERE id = ?", employeeId);
+        }
+    }
+
+    @Test
+    void shouldRebuildRollupsFromCountedReservations() {
+        Long userId = createUser();
+        Long annaId = createEmployee();
+        Long piotrId = createEmployee();
+        Long haircutId = createService();
+        Long coloringId = createService();
+        Long first = createReservation(userId, annaId, WEEK_START.atTime(10, 0), 30, "50.00", "CONFIRMED_BY_CLIENT");
+        addService(first, haircutId, "50.00");
+        Long second = createReservation(userId, annaId, WEEK_START.plusDays(2).atTime(10, 0), 120, "170.00", "APPROVED_BY_SALON");
+        addService(second, haircutId, "50.00");
+        addService(second, coloringId, "120.00");
+        Long created = createReservation(userId, piotrId, WEEK_START.plusDays(2).atTime(12, 0), 30, "50.00", "CREATED");
+        addService(created, haircutId, "50.00");
+        Long cancelled = createReservation(userId, piotrId, WEEK_START.plusDays(3).atTime(12, 0), 30, "50.00", "CANCELLED");
+        addService(cancelled, haircutId, "50.00");
+        revenueRollupDao.applyEmployeeDelta(piotrId, StatisticsPeriod.DAY, WEEK_START, 7, new BigDecimal("1.00"), 1);
+
+        revenueRollupDao.rebuildRollups();
+
+        assertThat(revenueRollupDao.findEmployeeRevenue(StatisticsPeriod.DAY, WEEK_START, WEEK_START.plusDays(6), piotrId))
+                .isEmpty();
+        List<EmployeeRevenueDto> weekly = revenueRollupDao.findEmployeeRevenue(
+                StatisticsPeriod.WEEK, WEEK_START, WEEK_START, annaId);
+        assertThat(weekly).hasSize(1);
+        assertThat(weekly.get(0).getBookings()).isEqualTo(2);
+        assertThat(weekly.get(0).getRevenue()).isEqualByComparingTo("220.00");
+        assertThat(weekly.get(0).getBookedMinutes()).isEqualTo(150);
+        assertThat(revenueRollupDao.findEmployeeRevenue(StatisticsPeriod.DAY, WEEK_START, WEEK_START.plusDays(6), annaId))
+                .extracting(EmployeeRevenueDto::getBucketStart)
+                .containsExactly(WEEK_START, WEEK_START.plusDays(2));
+
+        LocalDate month = WEEK_START.withDayOfMonth(1);
+        List<ServiceRevenueDto> haircut = revenueRollupDao.findServiceRevenue(StatisticsPeriod.MONTH, month, WEEK_START, haircutId);
+        assertThat(haircut).hasSize(1);
+        assertThat(haircut.get(0).getBookings()).isEqualTo(2);
+        assertThat(haircut.get(0).getRevenue()).isEqualByComparingTo("100.00");
+        assertThat(revenueRollupDao.findServiceRevenue(StatisticsPeriod.MONTH, month, WEEK_START, coloringId))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo("120.00"));
+    }
+
+    @Test
+    void shouldRebuildServiceRevenueFromPricesAtBooking() {
+        Long userId = createUser();
+        Long employeeId = createEmployee();
+        Long serviceId = createService();
+        Long reservationId = createReservation(userId, employeeId, WEEK_START.atTime(10, 0), 30, "50.00", "CONFIRMED_BY_CLIENT");
+        addService(reservationId, serviceId, "50.00");
+        jdbcTemplate.update("UPDATE service_offers SET price = 80.00 WHERE id = ?", serviceId);
+
+        revenueRollupDao.rebuildRollups();
+
+        assertThat(revenueRollupDao.findServiceRevenue(StatisticsPeriod.WEEK, WEEK_START, WEEK_START, serviceId))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo("50.00"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldSerializeOverlappingRollupRebuilds() throws Exception {
+        Long userId = transactionTemplate.execute(status -> createUser());
+        Long employeeId = transactionTemplate.execute(status -> createEmployee());
+        Long serviceId = transactionTemplate.execute(status -> createService());
+        transactionTemplate.executeWithoutResult(status -> addService(
+                createReservation(userId, employeeId, WEEK_START.atTime(10, 0), 30, "50.00", "CONFIRMED_BY_CLIENT"),
+                serviceId, "50.00"));
+        CountDownLatch firstRebuilt = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+                revenueRollupDao.rebuildRollups();
+                firstRebuilt.countDown();
+                sleep(500);
+            }));
+
+            assertThat(firstRebuilt.await(10, TimeUnit.SECONDS)).isTrue();
+            transactionTemplate.executeWithoutResult(status -> revenueRollupDao.rebuildRollups());
+            first.get(10, TimeUnit.SECONDS);
+
+            assertThat(revenueRollupDao.findEmployeeRevenue(StatisticsPeriod.WEEK, WEEK_START, WEEK_START, employeeId))
+                    .singleElement()
+                    .satisfies(row -> assertThat(row.getBookings()).isEqualTo(1));
+            assertThat(revenueRollupDao.findServiceRevenue(StatisticsPeriod.WEEK, WEEK_START, WEEK_START, serviceId))
+                    .singleElement()
+                    .satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo("50.00"));
+        } finally {
+            deleteReservationsOf(userId, employeeId);
+            jdbcTemplate.update("DELETE FROM service_offers WHERE id = ?", serviceId);
+        }
+    }
+
+    private Long createUser() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO users (id, email, password, first_name, last_name, enabled)
+                VALUES (nextval('users_seq'), ?, 'password', 'Jan', 'Upsert', true)
+                RETURNING id
+                """, Long.class, UUID.randomUUID() + "@upsert.test");
+    }
+
+    private Long createEmployee() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO employees (id, first_name, last_name, email)
+                VALUES (nextval('employees_seq'), 'Anna', 'Upsert', ?)
+                RETURNING id
+                """, Long.class, UUID.randomUUID() + "@upsert.test");
+    }
+
+    private Long createService() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO service_offers (id, name, price, duration_minutes)
+                VALUES (nextval('service_offers_seq'), 'Upsert service', 50.00, 30)
+                RETURNING id
+                """, Long.class);
+    }
+
+    private Long createReservation(Long userId, Long employeeId, LocalDateTime start, int minutes,
+                                   String totalPrice, String status) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO reservations (id, start_time, end_time, status, total_price, user_id, employee_id)
+                VALUES (nextval('reservations_seq'), ?, ?, ?, ?, ?, ?)
+                RETURNING id
+                """, Long.class, start, start.plusMinutes(minutes), status, new BigDecimal(totalPrice), userId, employeeId);
+    }
+
+    private void addService(Long reservationId, Long serviceOfferId, String price) {
+        jdbcTemplate.update("""
+                INSERT INTO reservation_services (reservation_id, service_offer_id, price)
+                VALUES (?, ?, ?)
+                """, reservationId, serviceOfferId, new BigDecimal(price));
+    }
+
+    private void deleteReservationsOf(Long userId, Long employeeId) {
+        jdbcTemplate.update("""
+                DELETE FROM reservation_services
+                WHERE reservation_id IN (SELECT id FROM reservations WHERE user_id = ?)
+                """, userId);
+        jdbcTemplate.update("DELETE FROM reservations WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", employeeId);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package pl.edu.salonmanager.salon_manager.repository;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import pl.edu.salonmanager.salon_manager.model.entity.Role;
+import pl.edu.salonmanager.salon_manager.model.entity.User;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = new Role();
+        userRole.setName("USER");
+        entityManager.persist(userRole);
+
+        entityManager.persist(User.builder()
+                .email("jan@example.com")
+                .password("password")
+                .firstName("Jan")
+                .lastName("Kowalski")
+                .enabled(true)
+                .roles(Set.of(userRole))
+                .build());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldFetchRolesWhenFindingByEmail() {
+        User user = userRepository.findByEmail("jan@example.com").orElseThrow();
+
+        assertThat(Hibernate.isInitialized(user.getRoles())).isTrue();
+        assertThat(user.getRoles()).extracting(Role::getName).containsExactly("USER");
+    }
+
+    @Test
+    void shouldFetchRolesOfAllUsers() {
+        List<User> users = userRepository.findAllWithRoles();
+
+        assertThat(users).hasSize(1);
+        assertThat(Hibernate.isInitialized(users.get(0).getRoles())).isTrue();
+    }
+
+    @Test
+    void shouldNotFetchRolesWhenFindingById() {
+        Long id = userRepository.findByEmail("jan@example.com").orElseThrow().getId();
+        entityManager.clear();
+
+        User user = userRepository.findById(id).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(user.getRoles())).isFalse();
+    }
+}
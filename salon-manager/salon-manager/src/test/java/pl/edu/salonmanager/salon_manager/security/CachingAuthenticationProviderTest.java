@@ -0,0 +1,125 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.edu.salonmanager.salon_manager.config.CredentialCacheProperties;
+import pl.edu.salonmanager.salon_manager.event.UserCredentialsChangedEvent;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private CredentialCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CredentialCacheProperties();
+        properties.setEnabled(true);
+    }
+
+    @Test
+    void shouldServeRepeatedCredentialsWithoutLookupOrHashing() {
+        // Given
+        CachingAuthenticationProvider provider = provider();
+        when(userDetailsService.loadUserByUsername("jan@example.com")).thenReturn(principal());
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        // When
+        provider.authenticate(credentials("jan@example.com", "secret"));
+        Authentication second = provider.authenticate(credentials("jan@example.com", "secret"));
+
+        // Then
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(((SalonUserPrincipal) second.getPrincipal()).getId()).isEqualTo(7L);
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(userDetailsService, times(1)).loadUserByUsername("jan@example.com");
+        verify(passwordEncoder, times(1)).matches("secret", "hash");
+    }
+
+    @Test
+    void shouldVerifyDifferentPasswordAgainstStoredHash() {
+        // Given
+        CachingAuthenticationProvider provider = provider();
+        when(userDetailsService.loadUserByUsername("jan@example.com")).thenReturn(principal());
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(passwordEncoder.matches("guess", "hash")).thenReturn(false);
+        provider.authenticate(credentials("jan@example.com", "secret"));
+
+        // When & Then
+        assertThatThrownBy(() -> provider.authenticate(credentials("jan@example.com", "guess")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void shouldVerifyAgainAfterCredentialsChanged() {
+        // Given
+        CredentialCache cache = new CredentialCache(properties, new SimpleMeterRegistry());
+        CachingAuthenticationProvider provider = provider(cache);
+        when(userDetailsService.loadUserByUsername("jan@example.com")).thenReturn(principal());
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        provider.authenticate(credentials("jan@example.com", "secret"));
+
+        // When
+        cache.onUserCredentialsChanged(new UserCredentialsChangedEvent("jan@example.com"));
+        provider.authenticate(credentials("jan@example.com", "secret"));
+
+        // Then
+        verify(userDetailsService, times(2)).loadUserByUsername("jan@example.com");
+    }
+
+    @Test
+    void shouldAlwaysVerifyWhenCacheDisabled() {
+        // Given
+        properties.setEnabled(false);
+        CachingAuthenticationProvider provider = provider();
+        when(userDetailsService.loadUserByUsername("jan@example.com")).thenReturn(principal());
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        // When
+        provider.authenticate(credentials("jan@example.com", "secret"));
+        provider.authenticate(credentials("jan@example.com", "secret"));
+
+        // Then
+        verify(passwordEncoder, times(2)).matches("secret", "hash");
+    }
+
+    private CachingAuthenticationProvider provider() {
+        return provider(new CredentialCache(properties, new SimpleMeterRegistry()));
+    }
+
+    private CachingAuthenticationProvider provider(CredentialCache cache) {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(passwordEncoder, cache);
+        provider.setUserDetailsService(userDetailsService);
+        return provider;
+    }
+
+    private static SalonUserPrincipal principal() {
+        return new SalonUserPrincipal(7L, "jan@example.com", "hash", "Jan", "Kowalski", true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
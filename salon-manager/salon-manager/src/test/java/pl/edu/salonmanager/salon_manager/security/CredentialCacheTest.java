@@ -0,0 +1,97 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import pl.edu.salonmanager.salon_manager.config.CredentialCacheProperties;
+import pl.edu.salonmanager.salon_manager.event.UserCredentialsChangedEvent;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CredentialCacheTest {
+
+    private final UserDetails jan = User.withUsername("jan@example.com").password("hash").authorities(List.of()).build();
+    private final UserDetails anna = User.withUsername("anna@example.com").password("hash").authorities(List.of()).build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private CredentialCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        CredentialCacheProperties properties = new CredentialCacheProperties();
+        properties.setEnabled(true);
+        cache = new CredentialCache(properties, meterRegistry);
+    }
+
+    @Test
+    void shouldReturnUserOnlyForSameUsernameAndPassword() {
+        cache.put(cache.currentGeneration(), "jan@example.com", "secret", jan, 1_000_000);
+
+        assertThat(cache.get("jan@example.com", "secret")).isSameAs(jan);
+        assertThat(cache.get("jan@example.com", "Secret")).isNull();
+        assertThat(cache.get("anna@example.com", "secret")).isNull();
+    }
+
+    @Test
+    void shouldNotConfuseUsernameAndPasswordBoundary() {
+        cache.put(cache.currentGeneration(), "jan@example.com", "secret", jan, 1_000_000);
+
+        assertThat(cache.get("jan@example.comsecret", "")).isNull();
+        assertThat(cache.get("jan@example.co", "msecret")).isNull();
+    }
+
+    @Test
+    void shouldEvictOnlyChangedUser() {
+        cache.put(cache.currentGeneration(), "jan@example.com", "secret", jan, 1_000_000);
+        cache.put(cache.currentGeneration(), "anna@example.com", "secret", anna, 1_000_000);
+
+        cache.onUserCredentialsChanged(new UserCredentialsChangedEvent("jan@example.com"));
+
+        assertThat(cache.get("jan@example.com", "secret")).isNull();
+        assertThat(cache.get("anna@example.com", "secret")).isSameAs(anna);
+    }
+
+    @Test
+    void shouldDropEntryVerifiedBeforeEviction() {
+        long generation = cache.currentGeneration();
+        cache.evictUser("jan@example.com");
+
+        cache.put(generation, "jan@example.com", "secret", jan, 1_000_000);
+
+        assertThat(cache.get("jan@example.com", "secret")).isNull();
+    }
+
+    @Test
+    void shouldNotStoreAnythingWhenDisabled() {
+        CredentialCache disabled = new CredentialCache(new CredentialCacheProperties(), meterRegistry);
+
+        disabled.put(disabled.currentGeneration(), "jan@example.com", "secret", jan, 1_000_000);
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.get("jan@example.com", "secret")).isNull();
+        assertThat(disabled.size()).isZero();
+    }
+
+    @Test
+    void shouldRecordHitRateAndSavedVerificationTime() {
+        cache.put(cache.currentGeneration(), "jan@example.com", "secret", jan, TimeUnit.MILLISECONDS.toNanos(80));
+
+        cache.get("jan@example.com", "secret");
+        cache.get("jan@example.com", "secret");
+        cache.get("jan@example.com", "wrong");
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CredentialCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CredentialCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("salon.security.credential.cache.saved").counter().count())
+                .isCloseTo(0.16, within(1e-9));
+    }
+}
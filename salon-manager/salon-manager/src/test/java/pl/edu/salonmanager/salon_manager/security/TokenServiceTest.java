@@ -0,0 +1,180 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.*;
+import pl.edu.salonmanager.salon_manager.config.TokenProperties;
+import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private TokenProperties properties;
+    private TokenService tokenService;
+    private SalonUserPrincipal user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenProperties();
+        properties.setSecret("test-token-secret-0123456789abcdef");
+        tokenService = new TokenService(properties, userDetailsService);
+
+        user = new SalonUserPrincipal(7L, "jan@example.com", "encoded", "Jan", "Kowalski", true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void shouldAuthenticateAccessTokenWithoutLoadingUser() {
+        // Given
+        TokenPair tokens = tokenService.issueTokens(user);
+
+        // When
+        Jwt jwt = tokenService.accessTokenDecoder().decode(tokens.accessToken());
+        Authentication authentication = tokenService.toAuthentication(jwt);
+
+        // Then
+        assertThat(tokens.expiresInSeconds()).isEqualTo(900);
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getPrincipal()).isInstanceOf(SalonUserPrincipal.class);
+        SalonUserPrincipal principal = (SalonUserPrincipal) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getEmail()).isEqualTo("jan@example.com");
+        assertThat(principal.getFirstName()).isEqualTo("Jan");
+        assertThat(principal.getLastName()).isEqualTo("Kowalski");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldRejectRefreshTokenAsAccessToken() {
+        // Given
+        TokenPair tokens = tokenService.issueTokens(user);
+
+        // When & Then
+        assertThatThrownBy(() -> tokenService.accessTokenDecoder().decode(tokens.refreshToken()))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldRejectTamperedAccessToken() {
+        // Given
+        String token = tokenService.issueTokens(user).accessToken();
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        // When & Then
+        assertThatThrownBy(() -> tokenService.accessTokenDecoder().decode(tampered))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithDifferentSecret() {
+        // Given
+        TokenProperties otherProperties = new TokenProperties();
+        otherProperties.setSecret("another-token-secret-0123456789abcdef");
+        String token = new TokenService(otherProperties, userDetailsService).issueTokens(user).accessToken();
+
+        // When & Then
+        assertThatThrownBy(() -> tokenService.accessTokenDecoder().decode(token))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldRejectExpiredAccessToken() {
+        // Given
+        SecretKey key = new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        Instant issuedAt = Instant.now().minus(Duration.ofHours(1));
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(properties.getIssuer())
+                .subject("jan@example.com")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(properties.getAccessTokenTtl()))
+                .claim(TokenService.CLAIM_TOKEN_USE, TokenService.ACCESS)
+                .claim(TokenService.CLAIM_USER_ID, 7L)
+                .claim(TokenService.CLAIM_ROLES, List.of("ROLE_USER"))
+                .build();
+        String token = new NimbusJwtEncoder(new ImmutableSecret<>(key))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+
+        // When & Then
+        assertThatThrownBy(() -> tokenService.accessTokenDecoder().decode(token))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldIssueNewTokensForValidRefreshToken() {
+        // Given
+        TokenPair tokens = tokenService.issueTokens(user);
+        when(userDetailsService.loadUserByUsername("jan@example.com")).thenReturn(user);
+
+        // When
+        TokenService.RefreshedTokens refreshed = tokenService.refresh(tokens.refreshToken());
+
+        // Then
+        assertThat(refreshed.user()).isEqualTo(user);
+        assertThat(refreshed.tokens().refreshToken()).isNotEqualTo(tokens.refreshToken());
+        Jwt jwt = tokenService.accessTokenDecoder().decode(refreshed.tokens().accessToken());
+        assertThat(jwt.getSubject()).isEqualTo("jan@example.com");
+    }
+
+    @Test
+    void shouldRejectAccessTokenAsRefreshToken() {
+        // Given
+        TokenPair tokens = tokenService.issueTokens(user);
+
+        // When & Then
+        assertThatThrownBy(() -> tokenService.refresh(tokens.accessToken()))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Invalid refresh token");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldRejectRefreshForDisabledUser() {
+        // Given
+        TokenPair tokens = tokenService.issueTokens(user);
+        when(userDetailsService.loadUserByUsername("jan@example.com"))
+                .thenThrow(new UsernameNotFoundException("User account is disabled: jan@example.com"));
+
+        // When & Then
+        assertThatThrownBy(() -> tokenService.refresh(tokens.refreshToken()))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void shouldRejectRefreshWhenEmailBelongsToAnotherUser() {
+        // Given
+        TokenPair tokens = tokenService.issueTokens(user);
+        SalonUserPrincipal recreated = new SalonUserPrincipal(8L, "jan@example.com", "encoded", "Jan", "Kowalski",
+                true, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(userDetailsService.loadUserByUsername("jan@example.com")).thenReturn(recreated);
+
+        // When & Then
+        assertThatThrownBy(() -> tokenService.refresh(tokens.refreshToken()))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+}
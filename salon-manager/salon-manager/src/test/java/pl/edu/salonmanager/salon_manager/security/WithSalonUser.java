@@ -0,0 +1,26 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import org.springframework.security.test.context.support.WithSecurityContext;
+
+import java.lang.annotation.*;
+
+/**
+ * Runs a test as an authenticated {@link SalonUserPrincipal}, the principal produced by
+ * {@code CustomUserDetailsService} in the application.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@WithSecurityContext(factory = WithSalonUserSecurityContextFactory.class)
+public @interface WithSalonUser {
+
+    long id() default 1L;
+
+    String email() default "user@example.com";
+
+    String firstName() default "Test";
+
+    String lastName() default "User";
+
+    String[] roles() default {"USER"};
+}
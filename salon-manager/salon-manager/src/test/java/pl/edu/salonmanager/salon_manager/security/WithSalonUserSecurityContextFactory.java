@@ -0,0 +1,32 @@
+package pl.edu.salonmanager.salon_manager.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithSecurityContextFactory;
+
+import java.util.Arrays;
+
+class WithSalonUserSecurityContextFactory implements WithSecurityContextFactory<WithSalonUser> {
+
+    @Override
+    public SecurityContext createSecurityContext(WithSalonUser annotation) {
+        SalonUserPrincipal principal = new SalonUserPrincipal(
+                annotation.id(),
+                annotation.email(),
+                "password",
+                annotation.firstName(),
+                annotation.lastName(),
+                true,
+                Arrays.stream(annotation.roles())
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList()
+        );
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                principal, principal.getPassword(), principal.getAuthorities()));
+        return context;
+    }
+}
@@ -0,0 +1,153 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.edu.salonmanager.salon_manager.config.AvailabilityCacheProperties;
+import pl.edu.salonmanager.salon_manager.event.EmployeeScheduleChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityCacheTest {
+
+    private final LocalDate date = LocalDate.of(2030, 3, 4);
+    private final List<LocalTime> slots = List.of(LocalTime.of(9, 0), LocalTime.of(9, 15));
+
+    private SimpleMeterRegistry meterRegistry;
+    private AvailabilityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AvailabilityCache(new AvailabilityCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void shouldReturnStoredSlotsForSameKeyOnly() {
+        cache.put(cache.generation(1L, date), 1L, date, 2, slots);
+
+        assertThat(cache.get(1L, date, 2)).isEqualTo(slots);
+        assertThat(cache.get(1L, date, 3)).isNull();
+        assertThat(cache.get(2L, date, 2)).isNull();
+        assertThat(cache.get(1L, date.plusDays(1), 2)).isNull();
+    }
+
+    @Test
+    void shouldEvictAllSlotCountsOfReservationDay() {
+        cache.put(cache.generation(1L, date), 1L, date, 2, slots);
+        cache.put(cache.generation(1L, date), 1L, date, 4, slots);
+        cache.put(cache.generation(1L, date.plusDays(1)), 1L, date.plusDays(1), 2, slots);
+
+        cache.onReservationChanged(new ReservationChangedEvent(null, snapshot(1L, 10, ReservationStatus.CREATED)));
+
+        assertThat(cache.get(1L, date, 2)).isNull();
+        assertThat(cache.get(1L, date, 4)).isNull();
+        assertThat(cache.get(1L, date.plusDays(1), 2)).isEqualTo(slots);
+    }
+
+    @Test
+    void shouldEvictPreviousAndNewDayWhenReservationMoves() {
+        cache.put(cache.generation(1L, date), 1L, date, 2, slots);
+        cache.put(cache.generation(2L, date), 2L, date, 2, slots);
+
+        cache.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 10, ReservationStatus.CREATED),
+                snapshot(2L, 12, ReservationStatus.CREATED)));
+
+        assertThat(cache.get(1L, date, 2)).isNull();
+        assertThat(cache.get(2L, date, 2)).isNull();
+    }
+
+    @Test
+    void shouldKeepEntriesWhenOnlyStatusOfActiveReservationChanges() {
+        cache.put(cache.generation(1L, date), 1L, date, 2, slots);
+
+        cache.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 10, ReservationStatus.CREATED),
+                snapshot(1L, 10, ReservationStatus.APPROVED_BY_SALON)));
+
+        assertThat(cache.get(1L, date, 2)).isEqualTo(slots);
+    }
+
+    @Test
+    void shouldEvictEveryDayOfEmployeeOnScheduleChange() {
+        cache.put(cache.generation(1L, date), 1L, date, 2, slots);
+        cache.put(cache.generation(1L, date.plusDays(7)), 1L, date.plusDays(7), 2, slots);
+        cache.put(cache.generation(2L, date), 2L, date, 2, slots);
+
+        cache.onEmployeeScheduleChanged(new EmployeeScheduleChangedEvent(1L));
+
+        assertThat(cache.get(1L, date, 2)).isNull();
+        assertThat(cache.get(1L, date.plusDays(7), 2)).isNull();
+        assertThat(cache.get(2L, date, 2)).isEqualTo(slots);
+    }
+
+    @Test
+    void shouldDiscardSlotsLoadedBeforeConcurrentEviction() {
+        long generation = cache.generation(1L, date);
+        cache.evictDay(1L, date);
+
+        cache.put(generation, 1L, date, 2, slots);
+
+        assertThat(cache.get(1L, date, 2)).isNull();
+    }
+
+    @Test
+    void shouldDiscardSlotsLoadedBeforeConcurrentScheduleChange() {
+        long generation = cache.generation(1L, date);
+        cache.evictEmployee(1L);
+
+        cache.put(generation, 1L, date, 2, slots);
+
+        assertThat(cache.get(1L, date, 2)).isNull();
+    }
+
+    @Test
+    void shouldKeepSlotsLoadedDuringEvictionOfOtherDays() {
+        long generation = cache.generation(1L, date);
+        cache.evictDay(1L, date.plusDays(1));
+        cache.evictDay(2L, date);
+        cache.evictEmployee(3L);
+
+        cache.put(generation, 1L, date, 2, slots);
+
+        assertThat(cache.get(1L, date, 2)).isEqualTo(slots);
+    }
+
+    @Test
+    void shouldExposeHitAndMissCounters() {
+        cache.put(cache.generation(1L, date), 1L, date, 2, slots);
+        cache.get(1L, date, 2);
+        cache.get(1L, date, 3);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "availability").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "availability").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldBypassCacheWhenDisabled() {
+        AvailabilityCacheProperties properties = new AvailabilityCacheProperties();
+        properties.setEnabled(false);
+        AvailabilityCache disabled = new AvailabilityCache(properties, new SimpleMeterRegistry());
+
+        disabled.put(disabled.generation(1L, date), 1L, date, 2, slots);
+
+        assertThat(disabled.get(1L, date, 2)).isNull();
+    }
+
+    private ReservationSnapshot snapshot(Long employeeId, int hour, ReservationStatus status) {
+        return new ReservationSnapshot(1L, 1L, employeeId, date.atTime(hour, 0), date.atTime(hour, 30),
+                new BigDecimal("50.00"), status, Map.of());
+    }
+}
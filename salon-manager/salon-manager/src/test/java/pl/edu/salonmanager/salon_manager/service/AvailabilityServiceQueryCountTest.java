@@ -0,0 +1,169 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import pl.edu.salonmanager.salon_manager.config.AvailabilityCacheProperties;
+import pl.edu.salonmanager.salon_manager.config.SalonProperties;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityResponseDto;
+import pl.edu.salonmanager.salon_manager.model.entity.*;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
+import pl.edu.salonmanager.salon_manager.repository.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AvailabilityServiceQueryCountTest {
+
+    private static final int EMPLOYEE_COUNT = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ServiceOfferRepository serviceOfferRepository;
+
+    @Autowired
+    private EmployeeSpecializationRepository employeeSpecializationRepository;
+
+    @Autowired
+    private EmployeeScheduleRepository employeeScheduleRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private ServiceCatalog serviceCatalog;
+    private SpecializationIndex specializationIndex;
+    private AvailabilityService availabilityService;
+    private ServiceOffer haircut;
+    private LocalDate testDate;
+
+    @BeforeEach
+    void setUp() {
+        SalonProperties salonProperties = new SalonProperties();
+        salonProperties.setSlotDurationMinutes(15);
+
+        serviceCatalog = new ServiceCatalog(serviceOfferRepository);
+        specializationIndex = new SpecializationIndex(employeeSpecializationRepository);
+        availabilityService = new AvailabilityService(
+                serviceCatalog,
+                specializationIndex,
+                employeeScheduleRepository,
+                reservationRepository,
+                salonProperties,
+                employeeRepository,
+                new AvailabilityCache(new AvailabilityCacheProperties(), new SimpleMeterRegistry())
+        );
+
+        testDate = LocalDate.now().plusDays(1);
+
+        Role userRole = new Role();
+        userRole.setName("ROLE_USER");
+        entityManager.persist(userRole);
+
+        User client = User.builder()
+                .email("client@example.com")
+                .password("password")
+                .firstName("Client")
+                .lastName("Test")
+                .enabled(true)
+                .roles(Set.of(userRole))
+                .build();
+        entityManager.persist(client);
+
+        haircut = new ServiceOffer();
+        haircut.setName("Haircut");
+        haircut.setPrice(new BigDecimal("50.00"));
+        haircut.setDurationMinutes(30);
+        entityManager.persist(haircut);
+
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("Employee");
+            employee.setLastName("No" + i);
+            employee.setEmail("employee" + i + "@salon.pl");
+            entityManager.persist(employee);
+
+            EmployeeSpecialization specialization = new EmployeeSpecialization();
+            specialization.setEmployee(employee);
+            specialization.setServiceOffer(haircut);
+            entityManager.persist(specialization);
+
+            EmployeeSchedule schedule = new EmployeeSchedule();
+            schedule.setEmployee(employee);
+            schedule.setDayOfWeek(testDate.getDayOfWeek());
+            schedule.setStartTime(LocalTime.of(9, 0));
+            schedule.setEndTime(LocalTime.of(17, 0));
+            schedule.setIsWorkingDay(true);
+            entityManager.persist(schedule);
+
+            for (int hour = 10; hour < 16; hour += 2) {
+                Reservation reservation = new Reservation();
+                reservation.setUser(client);
+                reservation.setEmployee(employee);
+                reservation.setStartTime(testDate.atTime(hour, 0));
+                reservation.setEndTime(testDate.atTime(hour, 30));
+                reservation.setStatus(ReservationStatus.CREATED);
+                reservation.setTotalPrice(new BigDecimal("50.00"));
+                reservation.setServicePrices(Map.of(haircut, haircut.getPrice()));
+                entityManager.persist(reservation);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        specializationIndex.rebuild();
+        serviceCatalog.findById(haircut.getId());
+    }
+
+    @Test
+    void shouldSearchAvailabilityWithConstantNumberOfQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AvailabilityResponseDto result = availabilityService.findAvailableSlots(testDate, List.of(haircut.getId()));
+
+        assertThat(result.getEmployees()).hasSize(EMPLOYEE_COUNT);
+        assertThat(result.getEmployees().get(0).getAvailableSlots())
+                .contains(LocalTime.of(9, 0), LocalTime.of(10, 30))
+                .doesNotContain(LocalTime.of(10, 0), LocalTime.of(9, 45));
+
+        // qualified employees by id + schedules + reservations, independent of employee count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldServeRepeatedSearchFromCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        AvailabilityResponseDto first = availabilityService.findAvailableSlots(testDate, List.of(haircut.getId()));
+        statistics.clear();
+
+        AvailabilityResponseDto second = availabilityService.findAvailableSlots(testDate, List.of(haircut.getId()));
+
+        assertThat(second.getEmployees()).hasSize(EMPLOYEE_COUNT);
+        assertThat(second.getEmployees().get(0).getAvailableSlots())
+                .isEqualTo(first.getEmployees().get(0).getAvailableSlots());
+
+        // qualified employees by id only
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -1,20 +1,25 @@
 package pl.edu.salonmanager.salon_manager.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
+import pl.edu.salonmanager.salon_manager.config.AvailabilityCacheProperties;
 import pl.edu.salonmanager.salon_manager.config.SalonProperties;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityRangeResponseDto;
 import pl.edu.salonmanager.salon_manager.model.dto.employeeSchedule.response.AvailabilityResponseDto;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusyMinutes;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusySlotView;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
 import pl.edu.salonmanager.salon_manager.model.entity.Employee;
 import pl.edu.salonmanager.salon_manager.model.entity.EmployeeSchedule;
-import pl.edu.salonmanager.salon_manager.model.entity.Reservation;
-import pl.edu.salonmanager.salon_manager.model.entity.ServiceOffer;
 import pl.edu.salonmanager.salon_manager.repository.*;
 
 import java.math.BigDecimal;
@@ -36,10 +41,10 @@ import static org.mockito.Mockito.*;
 class AvailabilityServiceTest {
 
     @Mock
-    private ServiceOfferRepository serviceOfferRepository;
+    private ServiceCatalog serviceCatalog;
 
     @Mock
-    private EmployeeSpecializationRepository employeeSpecializationRepository;
+    private SpecializationIndex specializationIndex;
 
     @Mock
     private EmployeeScheduleRepository employeeScheduleRepository;
@@ -53,12 +58,16 @@ class AvailabilityServiceTest {
     @Mock
     private SalonProperties salonProperties;
 
+    @Spy
+    private AvailabilityCache availabilityCache =
+            new AvailabilityCache(new AvailabilityCacheProperties(), new SimpleMeterRegistry());
+
     @InjectMocks
     private AvailabilityService availabilityService;
 
     private Employee employee;
-    private ServiceOffer service1;
-    private ServiceOffer service2;
+    private ServiceOfferView service1;
+    private ServiceOfferView service2;
     private EmployeeSchedule schedule;
     private LocalDate testDate;
 
@@ -72,17 +81,9 @@ class AvailabilityServiceTest {
         employee.setLastName("Doe");
         employee.setEmail("john@salon.pl");
 
-        service1 = new ServiceOffer();
-        service1.setId(1L);
-        service1.setName("Haircut");
-        service1.setPrice(new BigDecimal("50.00"));
-        service1.setDurationMinutes(30);
+        service1 = new ServiceOfferView(1L, "Haircut", new BigDecimal("50.00"), 30);
 
-        service2 = new ServiceOffer();
-        service2.setId(2L);
-        service2.setName("Hair Coloring");
-        service2.setPrice(new BigDecimal("100.00"));
-        service2.setDurationMinutes(60);
+        service2 = new ServiceOfferView(2L, "Hair Coloring", new BigDecimal("100.00"), 60);
 
         schedule = new EmployeeSchedule();
         schedule.setId(1L);
@@ -100,7 +101,7 @@ class AvailabilityServiceTest {
         assertThatThrownBy(() -> availabilityService.findAvailableSlots(null, Arrays.asList(1L)))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Date cannot be null");
-        verify(serviceOfferRepository, never()).findAllById(any());
+        verify(serviceCatalog, never()).findAllById(any());
     }
 
     @Test
@@ -112,7 +113,7 @@ class AvailabilityServiceTest {
         assertThatThrownBy(() -> availabilityService.findAvailableSlots(pastDate, Arrays.asList(1L)))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Cannot search for dates in the past");
-        verify(serviceOfferRepository, never()).findAllById(any());
+        verify(serviceCatalog, never()).findAllById(any());
     }
 
     @Test
@@ -121,7 +122,7 @@ class AvailabilityServiceTest {
         assertThatThrownBy(() -> availabilityService.findAvailableSlots(testDate, null))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Service IDs list cannot be empty");
-        verify(serviceOfferRepository, never()).findAllById(any());
+        verify(serviceCatalog, never()).findAllById(any());
     }
 
     @Test
@@ -130,21 +131,21 @@ class AvailabilityServiceTest {
         assertThatThrownBy(() -> availabilityService.findAvailableSlots(testDate, Collections.emptyList()))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Service IDs list cannot be empty");
-        verify(serviceOfferRepository, never()).findAllById(any());
+        verify(serviceCatalog, never()).findAllById(any());
     }
 
     @Test
     void shouldThrowExceptionWhenServiceNotFound() {
         // Given
         List<Long> serviceIds = Arrays.asList(1L, 2L);
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1)); // Only 1 service found, 2 requested
 
         // When & Then
         assertThatThrownBy(() -> availabilityService.findAvailableSlots(testDate, serviceIds))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("One or more services not found");
-        verify(serviceOfferRepository).findAllById(serviceIds);
+        verify(serviceCatalog).findAllById(serviceIds);
     }
 
     @Test
@@ -152,13 +153,14 @@ class AvailabilityServiceTest {
         // Given
         List<Long> serviceIds = Arrays.asList(1L);
         when(salonProperties.getSlotDurationMinutes()).thenReturn(30);
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1));
-        when(employeeSpecializationRepository.findEmployeesWithAllServices(serviceIds, 1L))
-                .thenReturn(Arrays.asList(employee));
-        when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
-                .thenReturn(Optional.of(schedule));
-        when(reservationRepository.findActiveReservationsByEmployeeAndDate(1L, testDate))
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of(1L));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        when(employeeScheduleRepository.findByEmployeeIdInAndDayOfWeek(List.of(1L), testDate.getDayOfWeek()))
+                .thenReturn(List.of(schedule));
+        when(reservationRepository.findBusyMinutesByEmployeesAndDay(
+                List.of(1L), testDate.atStartOfDay(), testDate.plusDays(1).atStartOfDay()))
                 .thenReturn(Collections.emptyList());
 
         // When
@@ -171,20 +173,49 @@ class AvailabilityServiceTest {
         assertThat(result.getEmployees()).hasSize(1);
         assertThat(result.getEmployees().get(0).getEmployeeId()).isEqualTo(1L);
         assertThat(result.getEmployees().get(0).getAvailableSlots()).isNotEmpty();
-        verify(serviceOfferRepository).findAllById(serviceIds);
-        verify(employeeSpecializationRepository).findEmployeesWithAllServices(serviceIds, 1L);
-        verify(employeeScheduleRepository).findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek());
-        verify(reservationRepository).findActiveReservationsByEmployeeAndDate(1L, testDate);
+        verify(serviceCatalog).findAllById(serviceIds);
+        verify(specializationIndex).findQualifiedEmployeeIds(serviceIds);
+        verify(employeeScheduleRepository).findByEmployeeIdInAndDayOfWeek(List.of(1L), testDate.getDayOfWeek());
+        verify(reservationRepository).findBusyMinutesByEmployeesAndDay(
+                List.of(1L), testDate.atStartOfDay(), testDate.plusDays(1).atStartOfDay());
+        verify(employeeScheduleRepository, never()).findByEmployeeIdAndDayOfWeek(anyLong(), any());
+        verify(reservationRepository, never()).findBusySlotsByEmployeesAndStartTimeRange(any(), any(), any());
+        verify(availabilityCache).put(anyLong(), eq(1L), eq(testDate), eq(1), anyList());
+    }
+
+    @Test
+    void shouldServeCachedSlotsWithoutLoadingSchedulesOrReservations() {
+        // Given
+        List<Long> serviceIds = Arrays.asList(1L);
+        when(salonProperties.getSlotDurationMinutes()).thenReturn(30);
+        when(serviceCatalog.findAllById(serviceIds))
+                .thenReturn(Arrays.asList(service1));
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of(1L));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        availabilityCache.put(availabilityCache.generation(1L, testDate), 1L, testDate, 1,
+                List.of(LocalTime.of(9, 0), LocalTime.of(9, 30)));
+        clearInvocations(availabilityCache);
+
+        // When
+        AvailabilityResponseDto result = availabilityService.findAvailableSlots(testDate, serviceIds);
+
+        // Then
+        assertThat(result.getEmployees()).hasSize(1);
+        assertThat(result.getEmployees().get(0).getFirstName()).isEqualTo("John");
+        assertThat(result.getEmployees().get(0).getAvailableSlots())
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30));
+        verify(employeeScheduleRepository, never()).findByEmployeeIdInAndDayOfWeek(any(), any());
+        verify(reservationRepository, never()).findBusyMinutesByEmployeesAndDay(any(), any(), any());
+        verify(availabilityCache, never()).put(anyLong(), any(), any(), anyInt(), any());
     }
 
     @Test
     void shouldReturnEmptyListWhenNoQualifiedEmployees() {
         // Given
         List<Long> serviceIds = Arrays.asList(1L);
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1));
-        when(employeeSpecializationRepository.findEmployeesWithAllServices(serviceIds, 1L))
-                .thenReturn(Collections.emptyList());
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of());
 
         // When
         AvailabilityResponseDto result = availabilityService.findAvailableSlots(testDate, serviceIds);
@@ -192,20 +223,21 @@ class AvailabilityServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getEmployees()).isEmpty();
-        verify(serviceOfferRepository).findAllById(serviceIds);
-        verify(employeeSpecializationRepository).findEmployeesWithAllServices(serviceIds, 1L);
+        verify(serviceCatalog).findAllById(serviceIds);
+        verify(specializationIndex).findQualifiedEmployeeIds(serviceIds);
     }
 
     @Test
     void shouldReturnEmptyListWhenEmployeeDoesNotWorkOnDate() {
         // Given
         List<Long> serviceIds = Arrays.asList(1L);
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(salonProperties.getSlotDurationMinutes()).thenReturn(30);
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1));
-        when(employeeSpecializationRepository.findEmployeesWithAllServices(serviceIds, 1L))
-                .thenReturn(Arrays.asList(employee));
-        when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
-                .thenReturn(Optional.empty());
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of(1L));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        when(employeeScheduleRepository.findByEmployeeIdInAndDayOfWeek(List.of(1L), testDate.getDayOfWeek()))
+                .thenReturn(Collections.emptyList());
 
         // When
         AvailabilityResponseDto result = availabilityService.findAvailableSlots(testDate, serviceIds);
@@ -213,9 +245,10 @@ class AvailabilityServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getEmployees()).isEmpty();
-        verify(serviceOfferRepository).findAllById(serviceIds);
-        verify(employeeSpecializationRepository).findEmployeesWithAllServices(serviceIds, 1L);
-        verify(employeeScheduleRepository).findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek());
+        verify(serviceCatalog).findAllById(serviceIds);
+        verify(specializationIndex).findQualifiedEmployeeIds(serviceIds);
+        verify(employeeScheduleRepository).findByEmployeeIdInAndDayOfWeek(List.of(1L), testDate.getDayOfWeek());
+        verify(reservationRepository, never()).findBusyMinutesByEmployeesAndDay(any(), any(), any());
     }
 
     // ========== isSlotAvailable Tests ==========
@@ -244,8 +277,7 @@ class AvailabilityServiceTest {
 
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
-        when(employeeSpecializationRepository.countEmployeeQualifiedServices(1L, serviceIds))
-                .thenReturn(0L); // Not qualified
+        when(specializationIndex.isQualified(1L, serviceIds)).thenReturn(false); // Not qualified
 
         // When
         boolean result = availabilityService.isSlotAvailable(1L, startTime, serviceIds, null);
@@ -253,7 +285,7 @@ class AvailabilityServiceTest {
         // Then
         assertThat(result).isFalse();
         verify(employeeRepository).findById(1L);
-        verify(employeeSpecializationRepository).countEmployeeQualifiedServices(1L, serviceIds);
+        verify(specializationIndex).isQualified(1L, serviceIds);
     }
 
     @Test
@@ -264,8 +296,7 @@ class AvailabilityServiceTest {
 
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
-        when(employeeSpecializationRepository.countEmployeeQualifiedServices(1L, serviceIds))
-                .thenReturn(1L);
+        when(specializationIndex.isQualified(1L, serviceIds)).thenReturn(true);
         when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
                 .thenReturn(Optional.empty());
 
@@ -275,7 +306,7 @@ class AvailabilityServiceTest {
         // Then
         assertThat(result).isFalse();
         verify(employeeRepository).findById(1L);
-        verify(employeeSpecializationRepository).countEmployeeQualifiedServices(1L, serviceIds);
+        verify(specializationIndex).isQualified(1L, serviceIds);
         verify(employeeScheduleRepository).findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek());
     }
 
@@ -285,12 +316,11 @@ class AvailabilityServiceTest {
         LocalDateTime startTime = LocalDateTime.of(testDate, LocalTime.of(8, 0)); // Before 9 AM
         List<Long> serviceIds = Arrays.asList(1L);
 
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1));
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
-        when(employeeSpecializationRepository.countEmployeeQualifiedServices(1L, serviceIds))
-                .thenReturn(1L);
+        when(specializationIndex.isQualified(1L, serviceIds)).thenReturn(true);
         when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
                 .thenReturn(Optional.of(schedule));
 
@@ -300,9 +330,9 @@ class AvailabilityServiceTest {
         // Then
         assertThat(result).isFalse();
         verify(employeeRepository).findById(1L);
-        verify(employeeSpecializationRepository).countEmployeeQualifiedServices(1L, serviceIds);
+        verify(specializationIndex).isQualified(1L, serviceIds);
         verify(employeeScheduleRepository).findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek());
-        verify(serviceOfferRepository).findAllById(serviceIds);
+        verify(serviceCatalog).findAllById(serviceIds);
     }
 
     @Test
@@ -311,12 +341,11 @@ class AvailabilityServiceTest {
         LocalDateTime startTime = LocalDateTime.of(testDate, LocalTime.of(10, 0));
         List<Long> serviceIds = Arrays.asList(1L);
 
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1));
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
-        when(employeeSpecializationRepository.countEmployeeQualifiedServices(1L, serviceIds))
-                .thenReturn(1L);
+        when(specializationIndex.isQualified(1L, serviceIds)).thenReturn(true);
         when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
                 .thenReturn(Optional.of(schedule));
         when(reservationRepository.hasOverlappingReservation(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
@@ -336,12 +365,11 @@ class AvailabilityServiceTest {
         LocalDateTime startTime = LocalDateTime.of(testDate, LocalTime.of(10, 0));
         List<Long> serviceIds = Arrays.asList(1L);
 
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1));
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
-        when(employeeSpecializationRepository.countEmployeeQualifiedServices(1L, serviceIds))
-                .thenReturn(1L);
+        when(specializationIndex.isQualified(1L, serviceIds)).thenReturn(true);
         when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
                 .thenReturn(Optional.of(schedule));
         when(reservationRepository.hasOverlappingReservation(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
@@ -354,7 +382,7 @@ class AvailabilityServiceTest {
         assertThat(result).isTrue();
         verify(reservationRepository).hasOverlappingReservation(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
         verify(employeeRepository).findById(1L);
-        verify(employeeSpecializationRepository).countEmployeeQualifiedServices(1L, serviceIds);
+        verify(specializationIndex).isQualified(1L, serviceIds);
         verify(employeeScheduleRepository).findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek());
     }
 
@@ -365,12 +393,11 @@ class AvailabilityServiceTest {
         List<Long> serviceIds = Arrays.asList(1L);
         Long excludeReservationId = 99L;
 
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1));
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
-        when(employeeSpecializationRepository.countEmployeeQualifiedServices(1L, serviceIds))
-                .thenReturn(1L);
+        when(specializationIndex.isQualified(1L, serviceIds)).thenReturn(true);
         when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
                 .thenReturn(Optional.of(schedule));
         when(reservationRepository.hasOverlappingReservationExcluding(
@@ -385,25 +412,24 @@ class AvailabilityServiceTest {
         verify(reservationRepository).hasOverlappingReservationExcluding(
                 eq(excludeReservationId), eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
         verify(employeeRepository).findById(1L);
-        verify(employeeSpecializationRepository).countEmployeeQualifiedServices(1L, serviceIds);
+        verify(specializationIndex).isQualified(1L, serviceIds);
     }
 
     @Test
     void shouldCalculateCorrectDurationForMultipleServices() {
         // Given
         List<Long> serviceIds = Arrays.asList(1L, 2L);
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service1, service2)); // 30 + 60 = 90 minutes
-        when(employeeSpecializationRepository.findEmployeesWithAllServices(serviceIds, 2L))
-                .thenReturn(Collections.emptyList());
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of());
 
         // When
         AvailabilityResponseDto result = availabilityService.findAvailableSlots(testDate, serviceIds);
 
         // Then
         assertThat(result.getTotalDurationMinutes()).isEqualTo(90);
-        verify(serviceOfferRepository).findAllById(serviceIds);
-        verify(employeeSpecializationRepository).findEmployeesWithAllServices(serviceIds, 2L);
+        verify(serviceCatalog).findAllById(serviceIds);
+        verify(specializationIndex).findQualifiedEmployeeIds(serviceIds);
     }
 
     @Test
@@ -414,9 +440,9 @@ class AvailabilityServiceTest {
         List<Long> serviceIds = Arrays.asList(1L);
 
         // Konfiguracja pod wyliczenie czasu (service1 ma 30 min)
-        when(serviceOfferRepository.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
+        when(serviceCatalog.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeSpecializationRepository.countEmployeeQualifiedServices(1L, serviceIds)).thenReturn(1L);
+        when(specializationIndex.isQualified(1L, serviceIds)).thenReturn(true);
         when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
                 .thenReturn(Optional.of(schedule));
 
@@ -438,9 +464,9 @@ class AvailabilityServiceTest {
         LocalDateTime startTime = LocalDateTime.of(testDate, startTimeValue);
         List<Long> serviceIds = Arrays.asList(1L); // 30 min
 
-        when(serviceOfferRepository.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
+        when(serviceCatalog.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeSpecializationRepository.countEmployeeQualifiedServices(1L, serviceIds)).thenReturn(1L);
+        when(specializationIndex.isQualified(1L, serviceIds)).thenReturn(true);
         when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
                 .thenReturn(Optional.of(schedule));
 
@@ -459,21 +485,20 @@ class AvailabilityServiceTest {
     void shouldReturnNullWhenNoAvailableSlotsFound() {
         // Given
         List<Long> serviceIds = Arrays.asList(2L); // service2 trwa 60 min
-        when(serviceOfferRepository.findAllById(serviceIds))
+        when(serviceCatalog.findAllById(serviceIds))
                 .thenReturn(Arrays.asList(service2));
-        when(employeeSpecializationRepository.findEmployeesWithAllServices(serviceIds, 1L))
-                .thenReturn(Arrays.asList(employee));
-        when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
-                .thenReturn(Optional.of(schedule));
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of(1L));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        when(employeeScheduleRepository.findByEmployeeIdInAndDayOfWeek(List.of(1L), testDate.getDayOfWeek()))
+                .thenReturn(List.of(schedule));
 
         when(salonProperties.getSlotDurationMinutes()).thenReturn(30);
 
         // Tworzymy rezerwację, która pokrywa CAŁY dzień pracy pracownika (9:00 - 17:00)
-        Reservation blockingReservation = new Reservation();
-        blockingReservation.setStartTime(LocalDateTime.of(testDate, LocalTime.of(9, 0)));
-        blockingReservation.setEndTime(LocalDateTime.of(testDate, LocalTime.of(17, 0)));
+        BusyMinutes blockingReservation = new BusyMinutes(1L, 9 * 60, 17 * 60);
 
-        when(reservationRepository.findActiveReservationsByEmployeeAndDate(1L, testDate))
+        when(reservationRepository.findBusyMinutesByEmployeesAndDay(
+                List.of(1L), testDate.atStartOfDay(), testDate.plusDays(1).atStartOfDay()))
                 .thenReturn(Arrays.asList(blockingReservation));
 
         // When
@@ -483,32 +508,30 @@ class AvailabilityServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getEmployees()).isEmpty();
 
-        verify(reservationRepository).findActiveReservationsByEmployeeAndDate(1L, testDate);
+        verify(reservationRepository).findBusyMinutesByEmployeesAndDay(
+                List.of(1L), testDate.atStartOfDay(), testDate.plusDays(1).atStartOfDay());
     }
 
     @Test
     void shouldReturnFalseWhenSlotOverlapsWithOneOfManyReservations() {
         // Given
         List<Long> serviceIds = Arrays.asList(1L); // duration 30 min
-        when(serviceOfferRepository.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
-        when(employeeSpecializationRepository.findEmployeesWithAllServices(serviceIds, 1L))
-                .thenReturn(Arrays.asList(employee));
-        when(employeeScheduleRepository.findByEmployeeIdAndDayOfWeek(1L, testDate.getDayOfWeek()))
-                .thenReturn(Optional.of(schedule));
+        when(serviceCatalog.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of(1L));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        when(employeeScheduleRepository.findByEmployeeIdInAndDayOfWeek(List.of(1L), testDate.getDayOfWeek()))
+                .thenReturn(List.of(schedule));
         when(salonProperties.getSlotDurationMinutes()).thenReturn(30);
 
         // Tworzymy dwie rezerwacje:
         // 1. 09:00 - 09:30 (nie koliduje z naszym testowym slotem o 10:00)
-        Reservation res1 = new Reservation();
-        res1.setStartTime(LocalDateTime.of(testDate, LocalTime.of(9, 0)));
-        res1.setEndTime(LocalDateTime.of(testDate, LocalTime.of(9, 30)));
+        BusyMinutes res1 = new BusyMinutes(1L, 9 * 60, 9 * 60 + 30);
 
         // 2. 10:00 - 10:30 (KOLIDUJE z naszym testowym slotem o 10:00)
-        Reservation res2 = new Reservation();
-        res2.setStartTime(LocalDateTime.of(testDate, LocalTime.of(10, 0)));
-        res2.setEndTime(LocalDateTime.of(testDate, LocalTime.of(10, 30)));
+        BusyMinutes res2 = new BusyMinutes(1L, 10 * 60, 10 * 60 + 30);
 
-        when(reservationRepository.findActiveReservationsByEmployeeAndDate(1L, testDate))
+        when(reservationRepository.findBusyMinutesByEmployeesAndDay(
+                List.of(1L), testDate.atStartOfDay(), testDate.plusDays(1).atStartOfDay()))
                 .thenReturn(Arrays.asList(res1, res2));
 
         // When
@@ -523,6 +546,119 @@ class AvailabilityServiceTest {
         assertThat(availableSlots).doesNotContain(LocalTime.of(10, 0));
         assertThat(availableSlots).contains(LocalTime.of(9, 30));
 
-        verify(reservationRepository).findActiveReservationsByEmployeeAndDate(1L, testDate);
+        verify(reservationRepository).findBusyMinutesByEmployeesAndDay(
+                List.of(1L), testDate.atStartOfDay(), testDate.plusDays(1).atStartOfDay());
+    }
+
+    // ========== findAvailableSlotsInRange Tests ==========
+
+    @Test
+    void shouldThrowExceptionWhenRangeEndIsBeforeStart() {
+        // When & Then
+        assertThatThrownBy(() -> availabilityService.findAvailableSlotsInRange(
+                testDate.plusDays(1), testDate, Arrays.asList(1L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("End date cannot be before start date");
+        verify(serviceCatalog, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenRangeIsTooLong() {
+        // When & Then
+        assertThatThrownBy(() -> availabilityService.findAvailableSlotsInRange(
+                testDate, testDate.plusDays(31), Arrays.asList(1L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Date range cannot exceed 31 days");
+        verify(serviceCatalog, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldFindAvailableSlotsForEveryDayInRangeWithSingleReservationQuery() {
+        // Given
+        List<Long> serviceIds = Arrays.asList(1L); // 30 min
+        LocalDate dateTo = testDate.plusDays(6);
+        when(salonProperties.getSlotDurationMinutes()).thenReturn(30);
+        when(serviceCatalog.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of(1L));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        when(employeeScheduleRepository.findByEmployeeIdIn(List.of(1L))).thenReturn(List.of(schedule));
+
+        BusySlotView booked = new BusySlotView(
+                1L, LocalDateTime.of(testDate, LocalTime.of(10, 0)), LocalDateTime.of(testDate, LocalTime.of(11, 0)));
+
+        when(reservationRepository.findBusySlotsByEmployeesAndStartTimeRange(
+                List.of(1L), testDate.atStartOfDay(), dateTo.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(booked));
+
+        // When
+        AvailabilityRangeResponseDto result = availabilityService.findAvailableSlotsInRange(testDate, dateTo, serviceIds);
+
+        // Then
+        assertThat(result.getDays()).hasSize(7);
+        assertThat(result.getTotalDurationMinutes()).isEqualTo(30);
+
+        AvailabilityResponseDto firstDay = result.getDays().get(0);
+        assertThat(firstDay.getSearchDate()).isEqualTo(testDate);
+        assertThat(firstDay.getEmployees()).hasSize(1);
+        assertThat(firstDay.getEmployees().get(0).getAvailableSlots())
+                .hasSize(14)
+                .contains(LocalTime.of(9, 30), LocalTime.of(11, 0))
+                .doesNotContain(LocalTime.of(10, 0), LocalTime.of(10, 30));
+
+        // schedule exists only for the weekday of testDate, so other days have no employees
+        assertThat(result.getDays().subList(1, 7)).allMatch(day -> day.getEmployees().isEmpty());
+
+        verify(reservationRepository, times(1)).findBusySlotsByEmployeesAndStartTimeRange(any(), any(), any());
+        verify(employeeScheduleRepository, never()).findByEmployeeIdAndDayOfWeek(anyLong(), any());
+        verify(availabilityCache, times(7)).put(anyLong(), eq(1L), any(), eq(1), anyList());
+    }
+
+    @Test
+    void shouldLoadOnlyUncachedDaysInRange() {
+        // Given
+        List<Long> serviceIds = Arrays.asList(1L); // 30 min
+        LocalDate dateTo = testDate.plusDays(1);
+        when(salonProperties.getSlotDurationMinutes()).thenReturn(30);
+        when(serviceCatalog.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of(1L));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        when(employeeScheduleRepository.findByEmployeeIdIn(List.of(1L))).thenReturn(List.of(schedule));
+        when(reservationRepository.findBusySlotsByEmployeesAndStartTimeRange(
+                List.of(1L), testDate.atStartOfDay(), dateTo.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of());
+        availabilityCache.put(availabilityCache.generation(1L, testDate), 1L, testDate, 1, List.of(LocalTime.of(16, 30)));
+        clearInvocations(availabilityCache);
+
+        // When
+        AvailabilityRangeResponseDto result = availabilityService.findAvailableSlotsInRange(testDate, dateTo, serviceIds);
+
+        // Then
+        assertThat(result.getDays().get(0).getEmployees().get(0).getAvailableSlots())
+                .containsExactly(LocalTime.of(16, 30));
+        assertThat(result.getDays().get(1).getEmployees()).isEmpty();
+        verify(availabilityCache, never()).put(anyLong(), any(), eq(testDate), anyInt(), any());
+        verify(availabilityCache).put(anyLong(), eq(1L), eq(dateTo), eq(1), eq(List.of()));
+    }
+
+    @Test
+    void shouldServeFullyCachedRangeWithoutLoadingSchedulesOrReservations() {
+        // Given
+        List<Long> serviceIds = Arrays.asList(1L); // 30 min
+        when(salonProperties.getSlotDurationMinutes()).thenReturn(30);
+        when(serviceCatalog.findAllById(serviceIds)).thenReturn(Arrays.asList(service1));
+        when(specializationIndex.findQualifiedEmployeeIds(serviceIds)).thenReturn(List.of(1L));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        availabilityCache.put(availabilityCache.generation(1L, testDate), 1L, testDate, 1, List.of(LocalTime.of(9, 0)));
+        availabilityCache.put(availabilityCache.generation(1L, testDate.plusDays(1)), 1L, testDate.plusDays(1), 1, List.of());
+
+        // When
+        AvailabilityRangeResponseDto result = availabilityService.findAvailableSlotsInRange(
+                testDate, testDate.plusDays(1), serviceIds);
+
+        // Then
+        assertThat(result.getDays()).hasSize(2);
+        assertThat(result.getDays().get(0).getEmployees()).hasSize(1);
+        verify(employeeScheduleRepository, never()).findByEmployeeIdIn(any());
+        verify(reservationRepository, never()).findBusySlotsByEmployeesAndStartTimeRange(any(), any(), any());
     }
 }
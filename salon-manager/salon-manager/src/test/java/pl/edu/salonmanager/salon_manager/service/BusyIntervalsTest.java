@@ -0,0 +1,85 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.BusyMinutes;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BusyIntervalsTest {
+
+    @Test
+    void shouldMergeOverlappingAndAdjacentIntervals() {
+        BusyIntervals intervals = BusyIntervals.fromBusyMinutes(List.of(
+                busy(600, 630), busy(540, 570), busy(570, 610), busy(700, 720)));
+
+        assertThat(intervals.size()).isEqualTo(2);
+        assertThat(intervals.freeSlotStarts(LocalTime.of(9, 0), LocalTime.of(12, 0), 10, 70))
+                .containsExactly(LocalTime.of(10, 30));
+    }
+
+    @Test
+    void shouldTreatIntervalsAsHalfOpen() {
+        BusyIntervals intervals = BusyIntervals.fromBusyMinutes(List.of(busy(600, 630)));
+
+        assertThat(intervals.freeSlotStarts(LocalTime.of(9, 30), LocalTime.of(11, 0), 30, 30))
+                .containsExactly(LocalTime.of(9, 30), LocalTime.of(10, 30));
+    }
+
+    @Test
+    void shouldReturnAllStartsWhenDayIsFree() {
+        List<LocalTime> starts = BusyIntervals.empty()
+                .freeSlotStarts(LocalTime.of(9, 0), LocalTime.of(10, 0), 15, 30);
+
+        assertThat(starts).containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 15), LocalTime.of(9, 30));
+    }
+
+    @Test
+    void shouldSkipStartsOverlappingReservations() {
+        BusyIntervals intervals = BusyIntervals.fromBusyMinutes(List.of(
+                busy(LocalTime.of(10, 0), LocalTime.of(10, 30)),
+                busy(LocalTime.of(9, 20), LocalTime.of(9, 35))));
+
+        List<LocalTime> starts = intervals.freeSlotStarts(LocalTime.of(9, 0), LocalTime.of(11, 0), 15, 15);
+
+        assertThat(starts).containsExactly(
+                LocalTime.of(9, 0), LocalTime.of(9, 45), LocalTime.of(10, 30), LocalTime.of(10, 45));
+    }
+
+    @Test
+    void shouldRealignToSlotGridAfterUnalignedReservation() {
+        BusyIntervals intervals = BusyIntervals.fromBusyMinutes(List.of(busy(LocalTime.of(9, 5), LocalTime.of(9, 20))));
+
+        List<LocalTime> starts = intervals.freeSlotStarts(LocalTime.of(9, 0), LocalTime.of(10, 0), 15, 30);
+
+        assertThat(starts).containsExactly(LocalTime.of(9, 30));
+    }
+
+    @Test
+    void shouldIgnoreReservationsOutsideWorkingHours() {
+        BusyIntervals intervals = BusyIntervals.fromBusyMinutes(List.of(
+                busy(LocalTime.of(7, 0), LocalTime.of(9, 0)),
+                busy(LocalTime.of(10, 0), LocalTime.of(12, 0))));
+
+        List<LocalTime> starts = intervals.freeSlotStarts(LocalTime.of(9, 0), LocalTime.of(10, 0), 30, 60);
+
+        assertThat(starts).containsExactly(LocalTime.of(9, 0));
+    }
+
+    @Test
+    void shouldDropEmptyIntervals() {
+        BusyIntervals intervals = BusyIntervals.fromBusyMinutes(List.of(busy(600, 600), busy(630, 620)));
+
+        assertThat(intervals.size()).isZero();
+    }
+
+    private BusyMinutes busy(int startMinute, int endMinute) {
+        return new BusyMinutes(1L, startMinute, endMinute);
+    }
+
+    private BusyMinutes busy(LocalTime start, LocalTime end) {
+        return busy(start.toSecondOfDay() / 60, end.toSecondOfDay() / 60);
+    }
+}
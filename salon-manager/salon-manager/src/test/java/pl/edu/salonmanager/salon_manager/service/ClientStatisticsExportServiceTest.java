@@ -0,0 +1,103 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsDto;
+import pl.edu.salonmanager.salon_manager.model.enums.ClientStatisticsSort;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class ClientStatisticsExportServiceTest {
+
+    @Mock
+    private StatisticsDao statisticsDao;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ClientStatisticsExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ClientStatisticsExportService(statisticsDao, objectMapper);
+    }
+
+    @Test
+    void shouldStreamClientsAsJsonArray() throws Exception {
+        // Given
+        streamRows(ClientStatisticsSort.SPENDING, List.of(
+                stats(1L, "Jan Kowalski", "750.00"),
+                stats(2L, "Anna Nowak", "300.00")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.writeJson(ClientStatisticsSort.SPENDING, out);
+
+        // Then
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertThat(json.isArray()).isTrue();
+        assertThat(json).hasSize(2);
+        assertThat(json.get(0).get("clientName").asText()).isEqualTo("Jan Kowalski");
+        assertThat(json.get(1).get("totalSpending").decimalValue()).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void shouldWriteEmptyJsonArrayWhenNoClients() throws Exception {
+        // Given
+        streamRows(ClientStatisticsSort.VISITS, List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.writeJson(ClientStatisticsSort.VISITS, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
+    @Test
+    void shouldStreamClientsAsCsv() throws Exception {
+        // Given
+        streamRows(ClientStatisticsSort.SPENDING, List.of(
+                stats(1L, "Jan Kowalski", "750.00"),
+                stats(2L, "Nowak, \"Ania\"", "300.00")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.writeCsv(ClientStatisticsSort.SPENDING, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "clientId,clientName,clientEmail,totalVisits,averageDurationMinutes,averageSpending,totalSpending",
+                "1,Jan Kowalski,client1@example.com,10,45,75.00,750.00",
+                "2,\"Nowak, \"\"Ania\"\"\",client2@example.com,10,45,75.00,300.00");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(ClientStatisticsSort sort, List<ClientStatisticsDto> rows) {
+        doAnswer(invocation -> {
+            Consumer<ClientStatisticsDto> consumer = invocation.getArgument(1);
+            rows.forEach(consumer);
+            return null;
+        }).when(statisticsDao).streamClientStatistics(eq(sort), any(Consumer.class));
+    }
+
+    private ClientStatisticsDto stats(Long clientId, String name, String totalSpending) {
+        return new ClientStatisticsDto(clientId, name, "client" + clientId + "@example.com",
+                10L, 45, new BigDecimal("75.00"), new BigDecimal(totalSpending));
+    }
+}
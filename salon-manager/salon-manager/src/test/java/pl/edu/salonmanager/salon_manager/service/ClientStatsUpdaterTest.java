@@ -0,0 +1,114 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientStatsUpdaterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @Mock
+    private StatisticsDao statisticsDao;
+
+    @InjectMocks
+    private ClientStatsUpdater clientStatsUpdater;
+
+    @Test
+    void shouldIgnoreNewReservation() {
+        // When
+        clientStatsUpdater.onReservationChanged(new ReservationChangedEvent(
+                null, snapshot(1L, 30, "50.00", ReservationStatus.CREATED)));
+
+        // Then
+        verifyNoInteractions(statisticsDao);
+    }
+
+    @Test
+    void shouldAddVisitWhenReservationIsApproved() {
+        // When
+        clientStatsUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 30, "50.00", ReservationStatus.CREATED),
+                snapshot(1L, 30, "50.00", ReservationStatus.APPROVED_BY_SALON)));
+
+        // Then
+        verify(statisticsDao).applyClientStatsDelta(1L, 1, 1800, new BigDecimal("50.00"));
+    }
+
+    @Test
+    void shouldNotChangeStatsWhenApprovedReservationIsConfirmed() {
+        // When
+        clientStatsUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 30, "50.00", ReservationStatus.APPROVED_BY_SALON),
+                snapshot(1L, 30, "50.00", ReservationStatus.CONFIRMED_BY_CLIENT)));
+
+        // Then
+        verifyNoInteractions(statisticsDao);
+    }
+
+    @Test
+    void shouldRemoveVisitWhenCountedReservationIsCancelled() {
+        // When
+        clientStatsUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 45, "80.00", ReservationStatus.APPROVED_BY_SALON),
+                snapshot(1L, 45, "80.00", ReservationStatus.CANCELLED)));
+
+        // Then
+        verify(statisticsDao).applyClientStatsDelta(1L, -1, -2700, new BigDecimal("-80.00"));
+    }
+
+    @Test
+    void shouldApplyDifferenceWhenCountedReservationChanges() {
+        // When
+        clientStatsUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 30, "50.00", ReservationStatus.APPROVED_BY_SALON),
+                snapshot(1L, 60, "90.00", ReservationStatus.APPROVED_BY_SALON)));
+
+        // Then
+        verify(statisticsDao).applyClientStatsDelta(1L, 0, 1800, new BigDecimal("40.00"));
+    }
+
+    @Test
+    void shouldMoveVisitBetweenClients() {
+        // When
+        clientStatsUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 30, "50.00", ReservationStatus.APPROVED_BY_SALON),
+                snapshot(2L, 30, "50.00", ReservationStatus.APPROVED_BY_SALON)));
+
+        // Then
+        verify(statisticsDao).applyClientStatsDelta(1L, -1, -1800, new BigDecimal("-50.00"));
+        verify(statisticsDao).applyClientStatsDelta(2L, 1, 1800, new BigDecimal("50.00"));
+    }
+
+    @Test
+    void shouldRebuildStatsOnReconcile() {
+        // Given
+        when(statisticsDao.rebuildClientStats()).thenReturn(3);
+
+        // When
+        clientStatsUpdater.reconcile();
+
+        // Then
+        verify(statisticsDao).rebuildClientStats();
+        verify(statisticsDao, never()).applyClientStatsDelta(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    private ReservationSnapshot snapshot(Long userId, int minutes, String price, ReservationStatus status) {
+        return new ReservationSnapshot(10L, userId, 1L, START, START.plusMinutes(minutes),
+                new BigDecimal(price), status, Map.of());
+    }
+}
@@ -0,0 +1,221 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.salonmanager.salon_manager.dao.ExportDao;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.ReservationExportView;
+import pl.edu.salonmanager.salon_manager.model.dto.review.projection.ReviewExportView;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CsvExportServiceTest {
+
+    @Mock
+    private ExportDao exportDao;
+
+    @Mock
+    private ServiceCatalog serviceCatalog;
+
+    @InjectMocks
+    private CsvExportService csvExportService;
+
+    // ==================== Service Offer Tests ====================
+
+    @Test
+    void shouldExportServicesToCsv() throws Exception {
+        // Given
+        streamOffers(List.of(
+                new ServiceOfferView(1L, "Strzyżenie", new BigDecimal("50.00"), 30),
+                new ServiceOfferView(2L, "Farbowanie", new BigDecimal("150.00"), 120)));
+
+        // When
+        String csv = exportServiceOffers();
+
+        // Then
+        assertThat(csv).isEqualTo("""
+                name,price,durationMinutes
+                Strzyżenie,50.00,30
+                Farbowanie,150.00,120
+                """);
+    }
+
+    @Test
+    void shouldExportEmptyListToCsv() throws Exception {
+        // Given
+        streamOffers(List.of());
+
+        // When
+        String csv = exportServiceOffers();
+
+        // Then
+        assertThat(csv).isEqualTo("name,price,durationMinutes\n");
+    }
+
+    @Test
+    void shouldEscapeCsvValuesWithComma() throws Exception {
+        // Given
+        streamOffers(List.of(new ServiceOfferView(1L, "Strzyżenie, stylizacja", new BigDecimal("80.00"), 45)));
+
+        // When
+        String csv = exportServiceOffers();
+
+        // Then
+        assertThat(csv).contains("\"Strzyżenie, stylizacja\",80.00,45");
+    }
+
+    @Test
+    void shouldEscapeCsvValuesWithQuotes() throws Exception {
+        // Given
+        streamOffers(List.of(new ServiceOfferView(1L, "Strzyżenie \"Premium\"", new BigDecimal("100.00"), 60)));
+
+        // When
+        String csv = exportServiceOffers();
+
+        // Then
+        assertThat(csv).contains("\"Strzyżenie \"\"Premium\"\"\"");
+    }
+
+    @Test
+    void shouldEscapeCsvValuesWithNewline() throws Exception {
+        // Given
+        streamOffers(List.of(
+                new ServiceOfferView(1L, "Strzyżenie\nz myciem", new BigDecimal("60.00"), 40),
+                new ServiceOfferView(2L, "Mycie\r\nwłosów", new BigDecimal("20.00"), 10)));
+
+        // When
+        String csv = exportServiceOffers();
+
+        // Then
+        assertThat(csv).contains("\"Strzyżenie\nz myciem\"");
+        assertThat(csv).contains("\"Mycie\r\nwłosów\"");
+    }
+
+    @Test
+    void shouldHandleNullNameInExport() throws Exception {
+        // Given
+        streamOffers(List.of(new ServiceOfferView(1L, null, new BigDecimal("50.00"), 30)));
+
+        // When
+        String csv = exportServiceOffers();
+
+        // Then
+        assertThat(csv).contains("\n,50.00,30\n");
+    }
+
+    @Test
+    void shouldRethrowWriteFailureAsIOException() {
+        // Given
+        streamOffers(List.of(new ServiceOfferView(1L, "Strzyżenie", new BigDecimal("50.00"), 30)));
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> csvExportService.writeServiceOffers(failing))
+                .isInstanceOf(IOException.class)
+                .isNotInstanceOf(UncheckedIOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    @Test
+    void shouldBuildETagFromCatalogVersion() {
+        // Given
+        Instant changedAt = Instant.parse("2030-01-01T10:00:00Z");
+        when(serviceCatalog.versionTag()).thenReturn("abc12345-7");
+        when(serviceCatalog.lastModified()).thenReturn(changedAt);
+
+        // When & Then
+        assertThat(csvExportService.serviceOffersETag()).isEqualTo("\"services-abc12345-7\"");
+        assertThat(csvExportService.serviceOffersLastModified()).isEqualTo(changedAt);
+    }
+
+    // ==================== Reservation Tests ====================
+
+    @Test
+    void shouldExportReservationsInDateRange() throws Exception {
+        // Given
+        LocalDate dateFrom = LocalDate.of(2030, 1, 1);
+        LocalDate dateTo = LocalDate.of(2030, 1, 31);
+        ReservationExportView reservation = new ReservationExportView(5L,
+                LocalDateTime.of(2030, 1, 10, 10, 0), LocalDateTime.of(2030, 1, 10, 11, 30),
+                "APPROVED_BY_SALON", new BigDecimal("200.00"), "jan@example.com", "Anna Nowak",
+                List.of("Farbowanie", "Strzyżenie"));
+        doAnswer(invocation -> {
+            Consumer<ReservationExportView> consumer = invocation.getArgument(2);
+            consumer.accept(reservation);
+            return null;
+        }).when(exportDao).streamReservations(eq(dateFrom.atStartOfDay()), eq(LocalDate.of(2030, 2, 1).atStartOfDay()), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        csvExportService.writeReservations(dateFrom, dateTo, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,startTime,endTime,status,totalPrice,clientEmail,employeeName,services
+                5,2030-01-10T10:00,2030-01-10T11:30,APPROVED_BY_SALON,200.00,jan@example.com,Anna Nowak,Farbowanie;Strzyżenie
+                """);
+    }
+
+    // ==================== Review Tests ====================
+
+    @Test
+    void shouldExportReviews() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<ReviewExportView> consumer = invocation.getArgument(0);
+            consumer.accept(new ReviewExportView(3L, LocalDateTime.of(2030, 1, 5, 12, 0),
+                    "jan@example.com", "Super, polecam \"Annę\"", null));
+            return null;
+        }).when(exportDao).streamReviews(any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        csvExportService.writeReviews(out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,createdAt,authorEmail,content,imageFilename
+                3,2030-01-05T12:00,jan@example.com,"Super, polecam ""Annę\""",
+                """);
+    }
+
+    private void streamOffers(List<ServiceOfferView> offers) {
+        doAnswer(invocation -> {
+            Consumer<ServiceOfferView> consumer = invocation.getArgument(0);
+            offers.forEach(consumer);
+            return null;
+        }).when(exportDao).streamServiceOffers(any());
+    }
+
+    private String exportServiceOffers() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvExportService.writeServiceOffers(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
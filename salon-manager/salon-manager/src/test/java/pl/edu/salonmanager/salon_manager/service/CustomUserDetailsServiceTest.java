@@ -6,14 +6,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import pl.edu.salonmanager.salon_manager.model.entity.Role;
 import pl.edu.salonmanager.salon_manager.model.entity.User;
 import pl.edu.salonmanager.salon_manager.repository.UserRepository;
+import pl.edu.salonmanager.salon_manager.security.SalonUserPrincipal;
 
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
@@ -53,4 +57,32 @@ class CustomUserDetailsServiceTest {
         // czy nie próbuje mapować ról lub tworzyć obiektu UserDetails po rzuceniu wyjątku
         verifyNoMoreInteractions(userRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnPrincipalCarryingUserIdAndProfile() {
+        // Given
+        Role role = new Role();
+        role.setName("USER");
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("jan@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Jan");
+        user.setLastName("Kowalski");
+        user.setEnabled(true);
+        user.setRoles(Set.of(role));
+        when(userRepository.findByEmail("jan@example.com")).thenReturn(Optional.of(user));
+
+        // When
+        UserDetails details = userDetailsService.loadUserByUsername("jan@example.com");
+
+        // Then
+        assertThat(details).isInstanceOf(SalonUserPrincipal.class);
+        SalonUserPrincipal principal = (SalonUserPrincipal) details;
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getEmail()).isEqualTo("jan@example.com");
+        assertThat(principal.getFirstName()).isEqualTo("Jan");
+        assertThat(principal.getLastName()).isEqualTo("Kowalski");
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import pl.edu.salonmanager.salon_manager.event.EmployeeScheduleChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.SpecializationsChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.dto.employee.request.CreateEmployeeRequest;
@@ -39,6 +42,9 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeScheduleRepository employeeScheduleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -272,6 +278,8 @@ class EmployeeServiceTest {
         // Then
         verify(employeeRepository).existsById(1L);
         verify(employeeRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new EmployeeScheduleChangedEvent(1L));
+        verify(eventPublisher).publishEvent(new SpecializationsChangedEvent());
     }
 
     @Test
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import pl.edu.salonmanager.salon_manager.event.SpecializationsChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.request.CreateEmployeeSpecializationRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.response.EmployeeSpecializationDto;
@@ -40,6 +42,9 @@ class EmployeeSpecializationServiceTest {
     @Mock
     private ServiceOfferRepository serviceOfferRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeSpecializationService employeeSpecializationService;
 
@@ -178,6 +183,7 @@ class EmployeeSpecializationServiceTest {
         verify(employeeRepository).findById(1L);
         verify(serviceOfferRepository).findById(1L);
         verify(employeeSpecializationRepository).save(any(EmployeeSpecialization.class));
+        verify(eventPublisher).publishEvent(new SpecializationsChangedEvent());
     }
 
     @Test
@@ -241,6 +247,7 @@ class EmployeeSpecializationServiceTest {
         // Then
         verify(employeeSpecializationRepository).existsById(1L);
         verify(employeeSpecializationRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new SpecializationsChangedEvent());
     }
 
     @Test
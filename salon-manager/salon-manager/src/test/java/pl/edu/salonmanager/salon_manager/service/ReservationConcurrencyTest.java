@@ -0,0 +1,183 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.request.CreateEmployeeSpecializationRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.CreateReservationRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.ServiceOfferDto;
+import pl.edu.salonmanager.salon_manager.model.entity.*;
+import pl.edu.salonmanager.salon_manager.repository.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReservationConcurrencyTest {
+
+    private static final int ATTEMPTS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceOfferRepository serviceOfferRepository;
+
+    @Autowired
+    private EmployeeSpecializationRepository employeeSpecializationRepository;
+
+    @Autowired
+    private EmployeeScheduleRepository employeeScheduleRepository;
+
+    @Autowired
+    private EmployeeSpecializationService employeeSpecializationService;
+
+    @Autowired
+    private ServiceOfferService serviceOfferService;
+
+    private User client;
+    private Employee employee;
+    private ServiceOfferDto haircut;
+    private LocalDate bookingDate;
+
+    @BeforeEach
+    void setUp() {
+        bookingDate = LocalDate.now().plusDays(7);
+
+        client = userRepository.save(User.builder()
+                .email("concurrent@example.com")
+                .password("password")
+                .firstName("Concurrent")
+                .lastName("Client")
+                .build());
+
+        employee = new Employee();
+        employee.setFirstName("Anna");
+        employee.setLastName("Busy");
+        employee.setEmail("anna.busy@salon.pl");
+        employee = employeeRepository.save(employee);
+
+        CreateServiceRequest haircutRequest = new CreateServiceRequest();
+        haircutRequest.setName("Haircut");
+        haircutRequest.setPrice(new BigDecimal("50.00"));
+        haircutRequest.setDurationMinutes(30);
+        haircut = serviceOfferService.createService(haircutRequest);
+
+        CreateEmployeeSpecializationRequest specialization = new CreateEmployeeSpecializationRequest();
+        specialization.setEmployeeId(employee.getId());
+        specialization.setServiceId(haircut.getId());
+        employeeSpecializationService.createSpecialization(specialization);
+
+        EmployeeSchedule schedule = new EmployeeSchedule();
+        schedule.setEmployee(employee);
+        schedule.setDayOfWeek(bookingDate.getDayOfWeek());
+        schedule.setStartTime(LocalTime.of(9, 0));
+        schedule.setEndTime(LocalTime.of(17, 0));
+        schedule.setIsWorkingDay(true);
+        employeeScheduleRepository.save(schedule);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        employeeScheduleRepository.deleteAll();
+        employeeSpecializationRepository.deleteAll();
+        employeeRepository.deleteAll();
+        serviceOfferRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAcceptExactlyOneOfConcurrentBookingsForSameSlot() throws Exception {
+        // Given
+        LocalDateTime startTime = bookingDate.atTime(10, 0);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            // Alternate between the same start and an overlapping one shifted by 15 minutes
+            LocalDateTime requestedStart = i % 2 == 0 ? startTime : startTime.plusMinutes(15);
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                try {
+                    reservationService.createReservation(request(requestedStart), client.getId());
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // When
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(reservationRepository.findByEmployeeAndStartTimeBetween(
+                employee, bookingDate.atStartOfDay(), bookingDate.plusDays(1).atStartOfDay())).hasSize(1);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - 1);
+    }
+
+    @Test
+    void shouldAcceptConcurrentBookingsForDifferentSlots() throws Exception {
+        // Given
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int hour = 9; hour < 17; hour++) {
+            LocalDateTime requestedStart = bookingDate.atTime(hour, 0);
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                return reservationService.createReservation(request(requestedStart), client.getId());
+            }));
+        }
+
+        // When
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(reservationRepository.findByEmployeeAndStartTimeBetween(
+                employee, bookingDate.atStartOfDay(), bookingDate.plusDays(1).atStartOfDay())).hasSize(8);
+    }
+
+    private CreateReservationRequest request(LocalDateTime startTime) {
+        CreateReservationRequest request = new CreateReservationRequest();
+        request.setEmployeeId(employee.getId());
+        request.setStartTime(startTime);
+        request.setServiceIds(Set.of(haircut.getId()));
+        return request;
+    }
+}
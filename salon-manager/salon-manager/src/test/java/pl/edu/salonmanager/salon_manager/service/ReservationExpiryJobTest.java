@@ -0,0 +1,161 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.edu.salonmanager.salon_manager.config.ReservationExpiryProperties;
+import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpiryJobTest {
+
+    @Mock
+    private StatisticsDao statisticsDao;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReservationExpiryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationExpiryJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReservationExpiryProperties();
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(5);
+        meterRegistry = new SimpleMeterRegistry();
+        job = new ReservationExpiryJob(statisticsDao, properties, transactionTemplate, eventPublisher, meterRegistry);
+    }
+
+    @Test
+    void shouldCancelBatchesUntilOneIsNotFull() {
+        // Given
+        runCallbacksInline();
+        when(statisticsDao.lockExpiredPendingReservations(any(), eq(2)))
+                .thenReturn(pending(1, 2), pending(3, 4), pending(5));
+
+        // When
+        job.expireStaleReservations();
+
+        // Then
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(statisticsDao).cancelPendingReservations(List.of(1L, 2L));
+        verify(statisticsDao).cancelPendingReservations(List.of(3L, 4L));
+        verify(statisticsDao).cancelPendingReservations(List.of(5L));
+        assertThat(meterRegistry.counter("salon.reservations.expired").count()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldStopAfterMaxBatchesPerRun() {
+        // Given
+        runCallbacksInline();
+        properties.setMaxBatchesPerRun(2);
+        when(statisticsDao.lockExpiredPendingReservations(any(), eq(2)))
+                .thenReturn(pending(1, 2), pending(3, 4), pending(5, 6));
+
+        // When
+        job.expireStaleReservations();
+
+        // Then
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(statisticsDao, times(2)).cancelPendingReservations(anyList());
+    }
+
+    @Test
+    void shouldPublishCancellationOfEveryExpiredReservation() {
+        // Given
+        runCallbacksInline();
+        when(statisticsDao.lockExpiredPendingReservations(any(), eq(2))).thenReturn(pending(7));
+
+        // When
+        job.expireStaleReservations();
+
+        // Then
+        ArgumentCaptor<ReservationChangedEvent> event = ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().before().status()).isEqualTo(ReservationStatus.CREATED);
+        assertThat(event.getValue().after().status()).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(event.getValue().after().employeeId()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldNotCancelAnythingWhenNothingExpired() {
+        // Given
+        runCallbacksInline();
+        when(statisticsDao.lockExpiredPendingReservations(any(), eq(2))).thenReturn(List.of());
+
+        // When
+        job.expireStaleReservations();
+
+        // Then
+        verify(statisticsDao, never()).cancelPendingReservations(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldExpireReservationsStartingWithinConfiguredMargin() {
+        // Given
+        runCallbacksInline();
+        properties.setExpireBeforeStart(Duration.ofHours(2));
+        when(statisticsDao.lockExpiredPendingReservations(any(), eq(2))).thenReturn(List.of());
+
+        // When
+        job.expireStaleReservations();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(statisticsDao).lockExpiredPendingReservations(cutoff.capture(), eq(2));
+        assertThat(cutoff.getValue()).isAfter(LocalDateTime.now().plusMinutes(119));
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        job.expireStaleReservations();
+
+        // Then
+        verifyNoInteractions(transactionTemplate, statisticsDao, eventPublisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runCallbacksInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private List<ReservationSnapshot> pending(long... ids) {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        return LongStream.of(ids)
+                .mapToObj(id -> new ReservationSnapshot(id, 1L, 3L, start, start.plusMinutes(30),
+                        new BigDecimal("50.00"), ReservationStatus.CREATED, Map.of()))
+                .toList();
+    }
+}
@@ -3,22 +3,35 @@ package pl.edu.salonmanager.salon_manager.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import pl.edu.salonmanager.salon_manager.dao.LockTimeoutDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.exception.UnauthorizedException;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.projection.ReservationServiceIdView;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.CreateReservationRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.reservation.request.UpdateReservationRequest;
+import pl.edu.salonmanager.salon_manager.model.dto.reservation.response.ReservationDetailDto;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
 import pl.edu.salonmanager.salon_manager.model.entity.*;
 import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
 import pl.edu.salonmanager.salon_manager.repository.EmployeeRepository;
 import pl.edu.salonmanager.salon_manager.repository.ReservationRepository;
-import pl.edu.salonmanager.salon_manager.repository.ServiceOfferRepository;
 import pl.edu.salonmanager.salon_manager.repository.UserRepository;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -41,7 +54,10 @@ class ReservationServiceTest {
     private EmployeeRepository employeeRepository;
 
     @Mock
-    private ServiceOfferRepository serviceOfferRepository;
+    private LockTimeoutDao lockTimeoutDao;
+
+    @Mock
+    private ServiceCatalog serviceCatalog;
 
     @Mock
     private ReservationSecurityService securityService;
@@ -49,12 +65,16 @@ class ReservationServiceTest {
     @Mock
     private AvailabilityService availabilityService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReservationService reservationService;
 
     private User testUser;
     private Employee testEmployee;
     private ServiceOffer testService;
+    private ServiceOfferView testServiceView;
     private Reservation testReservation;
 
     @BeforeEach
@@ -76,6 +96,7 @@ class ReservationServiceTest {
         testService.setName("Haircut");
         testService.setPrice(new BigDecimal("50.00"));
         testService.setDurationMinutes(30);
+        testServiceView = new ServiceOfferView(1L, "Haircut", new BigDecimal("50.00"), 30);
 
         testReservation = new Reservation();
         testReservation.setId(1L);
@@ -83,7 +104,7 @@ class ReservationServiceTest {
         testReservation.setEmployee(testEmployee);
         testReservation.setStartTime(LocalDateTime.now().plusDays(1));
         testReservation.setEndTime(LocalDateTime.now().plusDays(1).plusMinutes(30));
-        testReservation.setServices(Set.of(testService));
+        testReservation.setServicePrices(Map.of(testService, testService.getPrice()));
         testReservation.setTotalPrice(new BigDecimal("50.00"));
         testReservation.setStatus(ReservationStatus.CREATED);
     }
@@ -96,8 +117,8 @@ class ReservationServiceTest {
         request.setServiceIds(Set.of(1L));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(serviceOfferRepository.findById(1L)).thenReturn(Optional.of(testService));
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEmployee));
+        when(serviceCatalog.findById(1L)).thenReturn(Optional.of(testServiceView));
         when(availabilityService.isSlotAvailable(any(), any(), any(), any())).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
@@ -107,6 +128,10 @@ class ReservationServiceTest {
         assertThat(result.getStatus()).isEqualTo(ReservationStatus.CREATED);
         verify(reservationRepository).save(any(Reservation.class));
         verify(availabilityService).isSlotAvailable(eq(1L), any(), any(), eq(null));
+
+        InOrder lockOrder = inOrder(lockTimeoutDao, employeeRepository);
+        lockOrder.verify(lockTimeoutDao).limitLockWait(Duration.ofSeconds(5));
+        lockOrder.verify(employeeRepository).findByIdForUpdate(1L);
     }
 
     @Test
@@ -117,7 +142,7 @@ class ReservationServiceTest {
         request.setServiceIds(Collections.emptySet());
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEmployee));
 
         assertThatThrownBy(() -> reservationService.createReservation(request, 1L))
                 .isInstanceOf(BadRequestException.class)
@@ -151,8 +176,8 @@ class ReservationServiceTest {
         request.setServiceIds(Set.of(1L));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(serviceOfferRepository.findById(1L)).thenReturn(Optional.of(testService));
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEmployee));
+        when(serviceCatalog.findById(1L)).thenReturn(Optional.of(testServiceView));
         when(availabilityService.isSlotAvailable(any(), any(), any(), any())).thenReturn(false);
 
         assertThatThrownBy(() -> reservationService.createReservation(request, 1L))
@@ -209,17 +234,40 @@ class ReservationServiceTest {
         verify(reservationRepository).save(any(Reservation.class));
     }
 
+    @Test
+    void shouldPublishStoredServicePricesWhenApproving() {
+        Reservation reservation = spy(testReservation);
+        when(reservationRepository.findByIdWithUserAndEmployee(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findServiceIdsByReservationIds(List.of(1L)))
+                .thenReturn(List.of(new ReservationServiceIdView(1L, 1L, new BigDecimal("45.00"))));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
+
+        reservationService.approveReservation(1L);
+
+        ArgumentCaptor<ReservationChangedEvent> event = ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().before().servicePrices()).containsExactly(Map.entry(1L, new BigDecimal("45.00")));
+        assertThat(event.getValue().after().servicePrices()).containsExactly(Map.entry(1L, new BigDecimal("45.00")));
+        assertThat(event.getValue().after().status()).isEqualTo(ReservationStatus.APPROVED_BY_SALON);
+        verify(reservation, never()).getServicePrices();
+    }
+
     @Test
     void shouldCancelReservationSuccessfully() {
         when(reservationRepository.findByIdWithUserAndEmployee(1L)).thenReturn(Optional.of(testReservation));
         when(securityService.canCancelReservation(any(), any())).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
-        Reservation result = reservationService.cancelReservation(1L, testUser);
+        Reservation result = reservationService.cancelReservation(1L, 1L);
 
         assertThat(result.getStatus()).isEqualTo(ReservationStatus.CANCELLED);
         verify(reservationRepository).save(any(Reservation.class));
-        verify(securityService).canCancelReservation(testReservation, testUser);
+        verify(securityService).canCancelReservation(testReservation, 1L);
+
+        ArgumentCaptor<ReservationChangedEvent> event = ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().before().status()).isEqualTo(ReservationStatus.CREATED);
+        assertThat(event.getValue().after().status()).isEqualTo(ReservationStatus.CANCELLED);
     }
 
     @Test
@@ -228,7 +276,7 @@ class ReservationServiceTest {
         when(reservationRepository.findByIdWithUserAndEmployee(1L)).thenReturn(Optional.of(testReservation));
         when(securityService.canCancelReservation(any(), any())).thenReturn(false);
 
-        assertThatThrownBy(() -> reservationService.cancelReservation(1L, testUser))
+        assertThatThrownBy(() -> reservationService.cancelReservation(1L, 1L))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Not authorized to cancel this reservation");
 
@@ -244,17 +292,17 @@ class ReservationServiceTest {
 
         when(reservationRepository.findByIdWithUserAndEmployee(1L)).thenReturn(Optional.of(testReservation));
         when(securityService.canEditReservation(any(), any())).thenReturn(true);
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(serviceOfferRepository.findById(1L)).thenReturn(Optional.of(testService));
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEmployee));
+        when(serviceCatalog.findById(1L)).thenReturn(Optional.of(testServiceView));
         when(availabilityService.isSlotAvailable(any(), any(), any(), any())).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
-        Reservation result = reservationService.updateReservation(1L, request);
+        Reservation result = reservationService.updateReservation(1L, request, 1L);
 
         assertThat(result).isNotNull();
         verify(reservationRepository).save(any(Reservation.class));
-        verify(serviceOfferRepository).findById(1L);
-        verify(securityService).canEditReservation(testReservation, testUser);
+        verify(serviceCatalog).findById(1L);
+        verify(securityService).canEditReservation(testReservation, 1L);
     }
 
     @Test
@@ -263,7 +311,7 @@ class ReservationServiceTest {
         when(reservationRepository.findByIdWithUserAndEmployee(1L)).thenReturn(Optional.of(testReservation));
         when(securityService.canCancelReservation(any(), any())).thenReturn(false);
 
-        assertThatThrownBy(() -> reservationService.cancelReservation(1L, testUser))
+        assertThatThrownBy(() -> reservationService.cancelReservation(1L, 1L))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Not authorized to cancel this reservation");
 
@@ -284,23 +332,61 @@ class ReservationServiceTest {
 
     @Test
     void shouldGetAllReservationsWithStatusFilter() {
-        List<Reservation> reservations = Arrays.asList(testReservation);
-        when(reservationRepository.findByStatus(ReservationStatus.CREATED)).thenReturn(reservations);
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "startTime"));
+        when(reservationRepository.findDetailsByStatus(eq(ReservationStatus.CREATED), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testDetail())));
+        when(reservationRepository.findServiceIdsByReservationIds(List.of(1L)))
+                .thenReturn(List.of(new ReservationServiceIdView(1L, 1L, new BigDecimal("50.00")),
+                        new ReservationServiceIdView(1L, 2L, new BigDecimal("30.00"))));
 
-        List<Reservation> result = reservationService.getAllReservations(ReservationStatus.CREATED);
+        Page<ReservationDetailDto> result = reservationService.getAllReservations(ReservationStatus.CREATED, pageable);
 
-        assertThat(result).hasSize(1);
-        verify(reservationRepository).findByStatus(ReservationStatus.CREATED);
-        verify(reservationRepository, never()).findAll();
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getReservationId()).isEqualTo(1L);
+        assertThat(result.getContent().get(0).getClientEmail()).isEqualTo(testUser.getEmail());
+        assertThat(result.getContent().get(0).getServiceIds()).containsExactlyInAnyOrder(1L, 2L);
+        verify(reservationRepository, never()).findAllDetails(any());
+    }
+
+    @Test
+    void shouldAppendIdToReservationSortForStablePages() {
+        when(reservationRepository.findAllDetails(any(Pageable.class))).thenReturn(Page.empty());
+
+        reservationService.getAllReservations(null, PageRequest.of(3, 10, Sort.by("startTime")));
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(reservationRepository).findAllDetails(captor.capture());
+        assertThat(captor.getValue().getPageNumber()).isEqualTo(3);
+        assertThat(captor.getValue().getPageSize()).isEqualTo(10);
+        assertThat(captor.getValue().getSort()).containsExactly(
+                Sort.Order.asc("startTime"), Sort.Order.desc("id"));
+        verify(reservationRepository, never()).findServiceIdsByReservationIds(any());
+    }
+
+    @Test
+    void shouldRejectSortingReservationsByAssociation() {
+        assertThatThrownBy(() -> reservationService.getAllReservations(null, PageRequest.of(0, 20, Sort.by("user.password"))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Cannot sort reservations by: user.password");
+
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void shouldGetMyReservationsPage() {
+        when(reservationRepository.findDetailsByUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testDetail())));
+        when(reservationRepository.findServiceIdsByReservationIds(List.of(1L))).thenReturn(List.of());
+
+        Page<ReservationDetailDto> result = reservationService.getMyReservations(1L, PageRequest.of(0, 20));
+
+        assertThat(result.getContent()).singleElement()
+                .satisfies(dto -> assertThat(dto.getServiceIds()).isEmpty());
     }
 
     @Test
     void shouldCalculateTotalPriceFromMultipleServices() {
-        ServiceOffer service2 = new ServiceOffer();
-        service2.setId(2L);
-        service2.setName("Styling");
-        service2.setPrice(new BigDecimal("30.00"));
-        service2.setDurationMinutes(20);
+        ServiceOfferView service2 = new ServiceOfferView(2L, "Styling", new BigDecimal("30.00"), 20);
 
         CreateReservationRequest request = new CreateReservationRequest();
         request.setStartTime(LocalDateTime.now().plusDays(1));
@@ -308,9 +394,9 @@ class ReservationServiceTest {
         request.setServiceIds(Set.of(1L, 2L));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(serviceOfferRepository.findById(1L)).thenReturn(Optional.of(testService));
-        when(serviceOfferRepository.findById(2L)).thenReturn(Optional.of(service2));
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEmployee));
+        when(serviceCatalog.findById(1L)).thenReturn(Optional.of(testServiceView));
+        when(serviceCatalog.findById(2L)).thenReturn(Optional.of(service2));
         when(availabilityService.isSlotAvailable(any(), any(), any(), any())).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
 
@@ -318,6 +404,7 @@ class ReservationServiceTest {
 
         assertThat(result.getTotalPrice()).isEqualByComparingTo(new BigDecimal("80.00"));
         assertThat(result.getEndTime()).isEqualTo(request.getStartTime().plusMinutes(50)); // 30 + 20
+        assertThat(result.getServicesIds()).containsExactlyInAnyOrder(1L, 2L);
     }
 
     // ==================== Additional Tests for 100% Coverage ====================
@@ -325,17 +412,18 @@ class ReservationServiceTest {
     @Test
     void shouldGetAllReservationsWithoutStatusFilter() {
         // Given
-        List<Reservation> reservations = Arrays.asList(testReservation);
-        when(reservationRepository.findAll()).thenReturn(reservations);
+        when(reservationRepository.findAllDetails(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(testDetail())));
+        when(reservationRepository.findServiceIdsByReservationIds(List.of(1L)))
+                .thenReturn(List.of(new ReservationServiceIdView(1L, 1L, new BigDecimal("50.00"))));
 
         // When
-        List<Reservation> result = reservationService.getAllReservations(null);
+        Page<ReservationDetailDto> result = reservationService.getAllReservations(null, PageRequest.of(0, 20));
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0)).isEqualTo(testReservation);
-        verify(reservationRepository).findAll();
-        verify(reservationRepository, never()).findByStatus(any());
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getServiceIds()).containsExactly(1L);
+        verify(reservationRepository).findAllDetails(any(Pageable.class));
+        verify(reservationRepository, never()).findDetailsByStatus(any(), any());
     }
 
     @Test
@@ -368,24 +456,23 @@ class ReservationServiceTest {
     @Test
     void shouldGetReservationsByEmployeeAndDateRange() {
         // Given
-        LocalDate startDate = LocalDate.now();
-        LocalDate endDate = LocalDate.now().plusDays(7);
-        List<Reservation> reservations = Arrays.asList(testReservation);
+        LocalDate startDate = LocalDate.of(2030, 1, 1);
+        LocalDate endDate = LocalDate.of(2030, 1, 7);
 
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(reservationRepository.findByEmployeeAndStartTimeBetween(
-                eq(testEmployee), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(reservations);
+        when(employeeRepository.existsById(1L)).thenReturn(true);
+        when(reservationRepository.findDetailsByEmployeeIdAndStartTimeRange(
+                eq(1L), eq(startDate.atStartOfDay()), eq(LocalDate.of(2030, 1, 8).atStartOfDay()), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testDetail())));
+        when(reservationRepository.findServiceIdsByReservationIds(List.of(1L))).thenReturn(List.of());
 
         // When
-        List<Reservation> result = reservationService.getReservationsByEmployeeAndDateRange(1L, startDate, endDate);
+        Page<ReservationDetailDto> result = reservationService.getReservationsByEmployeeAndDateRange(
+                1L, startDate, endDate, PageRequest.of(0, 20));
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0)).isEqualTo(testReservation);
-        verify(employeeRepository).findById(1L);
-        verify(reservationRepository).findByEmployeeAndStartTimeBetween(
-                eq(testEmployee), any(LocalDateTime.class), any(LocalDateTime.class));
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getReservationId()).isEqualTo(1L);
+        verify(employeeRepository).existsById(1L);
     }
 
     @Test
@@ -393,15 +480,16 @@ class ReservationServiceTest {
         // Given
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = LocalDate.now().plusDays(7);
-        when(employeeRepository.findById(999L)).thenReturn(Optional.empty());
+        when(employeeRepository.existsById(999L)).thenReturn(false);
 
         // When & Then
-        assertThatThrownBy(() -> reservationService.getReservationsByEmployeeAndDateRange(999L, startDate, endDate))
+        assertThatThrownBy(() -> reservationService.getReservationsByEmployeeAndDateRange(
+                999L, startDate, endDate, PageRequest.of(0, 20)))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Employee not found with id: 999");
 
-        verify(employeeRepository).findById(999L);
-        verify(reservationRepository, never()).findByEmployeeAndStartTimeBetween(any(), any(), any());
+        verify(employeeRepository).existsById(999L);
+        verify(reservationRepository, never()).findDetailsByEmployeeIdAndStartTimeRange(any(), any(), any(), any());
     }
 
     @Test
@@ -468,7 +556,7 @@ class ReservationServiceTest {
         when(reservationRepository.findByIdWithUserAndEmployee(999L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> reservationService.cancelReservation(999L, testUser))
+        assertThatThrownBy(() -> reservationService.cancelReservation(999L, 1L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Reservation not found with id: 999");
 
@@ -487,7 +575,7 @@ class ReservationServiceTest {
         when(reservationRepository.findByIdWithUserAndEmployee(999L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> reservationService.updateReservation(999L, request))
+        assertThatThrownBy(() -> reservationService.updateReservation(999L, request, 1L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Reservation not found with id: 999");
 
@@ -507,12 +595,12 @@ class ReservationServiceTest {
         when(securityService.canEditReservation(any(), any())).thenReturn(false);
 
         // When & Then
-        assertThatThrownBy(() -> reservationService.updateReservation(1L, request))
+        assertThatThrownBy(() -> reservationService.updateReservation(1L, request, 1L))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Not authorized to update this reservation");
 
         verify(reservationRepository).findByIdWithUserAndEmployee(1L);
-        verify(securityService).canEditReservation(testReservation, testUser);
+        verify(securityService).canEditReservation(testReservation, 1L);
         verify(reservationRepository, never()).save(any());
     }
 
@@ -563,7 +651,7 @@ class ReservationServiceTest {
         request.setServiceIds(Set.of(1L));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(employeeRepository.findById(999L)).thenReturn(Optional.empty());
+        when(employeeRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> reservationService.createReservation(request, 1L))
@@ -571,7 +659,7 @@ class ReservationServiceTest {
                 .hasMessageContaining("Employee not found with id: 999");
 
         verify(userRepository).findById(1L);
-        verify(employeeRepository).findById(999L);
+        verify(employeeRepository).findByIdForUpdate(999L);
         verify(reservationRepository, never()).save(any());
     }
 
@@ -584,8 +672,8 @@ class ReservationServiceTest {
         request.setServiceIds(Set.of(999L));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(serviceOfferRepository.findById(999L)).thenReturn(Optional.empty());
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEmployee));
+        when(serviceCatalog.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> reservationService.createReservation(request, 1L))
@@ -593,8 +681,8 @@ class ReservationServiceTest {
                 .hasMessageContaining("Service not found with id: 999");
 
         verify(userRepository).findById(1L);
-        verify(employeeRepository).findById(1L);
-        verify(serviceOfferRepository).findById(999L);
+        verify(employeeRepository).findByIdForUpdate(1L);
+        verify(serviceCatalog).findById(999L);
         verify(reservationRepository, never()).save(any());
     }
 
@@ -612,4 +700,11 @@ class ReservationServiceTest {
         verify(reservationRepository).findByIdWithUserAndEmployee(1L);
         verify(reservationRepository, never()).save(any());
     }
+
+    private ReservationDetailDto testDetail() {
+        return new ReservationDetailDto(testReservation.getId(), testReservation.getStartTime(),
+                testReservation.getEndTime(), testReservation.getStatus(), testReservation.getTotalPrice(),
+                testUser.getFirstName(), testUser.getLastName(), testUser.getEmail(),
+                testEmployee.getFirstName(), testEmployee.getLastName());
+    }
 }
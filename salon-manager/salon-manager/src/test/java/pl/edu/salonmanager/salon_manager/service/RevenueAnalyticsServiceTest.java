@@ -0,0 +1,172 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.salonmanager.salon_manager.dao.RevenueRollupDao;
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.EmployeeRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ServiceRevenueDto;
+import pl.edu.salonmanager.salon_manager.model.entity.Employee;
+import pl.edu.salonmanager.salon_manager.model.entity.EmployeeSchedule;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+import pl.edu.salonmanager.salon_manager.repository.EmployeeScheduleRepository;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueAnalyticsServiceTest {
+
+    // Monday
+    private static final LocalDate WEEK_START = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private RevenueRollupDao revenueRollupDao;
+
+    @Mock
+    private EmployeeScheduleRepository employeeScheduleRepository;
+
+    @InjectMocks
+    private RevenueAnalyticsService revenueAnalyticsService;
+
+    @Test
+    void shouldComputeUtilizationFromWeeklySchedule() {
+        // Given
+        when(revenueRollupDao.findEmployeeRevenue(StatisticsPeriod.WEEK, WEEK_START, WEEK_START.plusDays(6), null))
+                .thenReturn(List.of(bucket(1L, WEEK_START, 240L)));
+        when(employeeScheduleRepository.findByEmployeeIdIn(List.of(1L))).thenReturn(List.of(
+                schedule(1L, DayOfWeek.MONDAY, 9, 17),
+                schedule(1L, DayOfWeek.TUESDAY, 9, 17),
+                dayOff(1L, DayOfWeek.WEDNESDAY)));
+
+        // When
+        List<EmployeeRevenueDto> result = revenueAnalyticsService.getEmployeeRevenue(
+                StatisticsPeriod.WEEK, WEEK_START.plusDays(2), WEEK_START.plusDays(6), null);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getScheduledMinutes()).isEqualTo(960);
+        assertThat(result.get(0).getUtilization()).isEqualByComparingTo("0.25");
+    }
+
+    @Test
+    void shouldCountScheduledMinutesOfEveryDayInMonth() {
+        // Given
+        LocalDate january = LocalDate.of(2030, 1, 1);
+        when(revenueRollupDao.findEmployeeRevenue(StatisticsPeriod.MONTH, january, january.plusDays(30), 1L))
+                .thenReturn(List.of(bucket(1L, january, 480L)));
+        when(employeeScheduleRepository.findByEmployeeIdIn(List.of(1L)))
+                .thenReturn(List.of(schedule(1L, DayOfWeek.MONDAY, 9, 17)));
+
+        // When
+        List<EmployeeRevenueDto> result = revenueAnalyticsService.getEmployeeRevenue(
+                StatisticsPeriod.MONTH, january, january.plusDays(30), 1L);
+
+        // Then
+        // January 2030 has four Mondays
+        assertThat(result.get(0).getScheduledMinutes()).isEqualTo(4 * 480);
+        assertThat(result.get(0).getUtilization()).isEqualByComparingTo("0.25");
+    }
+
+    @Test
+    void shouldLeaveUtilizationEmptyWithoutSchedule() {
+        // Given
+        when(revenueRollupDao.findEmployeeRevenue(StatisticsPeriod.DAY, WEEK_START, WEEK_START, null))
+                .thenReturn(List.of(bucket(2L, WEEK_START, 60L)));
+        when(employeeScheduleRepository.findByEmployeeIdIn(List.of(2L))).thenReturn(List.of());
+
+        // When
+        List<EmployeeRevenueDto> result = revenueAnalyticsService.getEmployeeRevenue(
+                StatisticsPeriod.DAY, WEEK_START, WEEK_START, null);
+
+        // Then
+        assertThat(result.get(0).getScheduledMinutes()).isZero();
+        assertThat(result.get(0).getUtilization()).isNull();
+    }
+
+    @Test
+    void shouldNotLoadSchedulesWhenThereAreNoBuckets() {
+        // Given
+        when(revenueRollupDao.findEmployeeRevenue(StatisticsPeriod.DAY, WEEK_START, WEEK_START, null))
+                .thenReturn(List.of());
+
+        // When
+        List<EmployeeRevenueDto> result = revenueAnalyticsService.getEmployeeRevenue(
+                StatisticsPeriod.DAY, WEEK_START, WEEK_START, null);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(employeeScheduleRepository);
+    }
+
+    @Test
+    void shouldReturnServiceRevenueFromBucketStart() {
+        // Given
+        ServiceRevenueDto revenue = new ServiceRevenueDto(1L, "Haircut", WEEK_START, 3L, new BigDecimal("150.00"));
+        when(revenueRollupDao.findServiceRevenue(StatisticsPeriod.WEEK, WEEK_START, WEEK_START.plusDays(10), 1L))
+                .thenReturn(List.of(revenue));
+
+        // When
+        List<ServiceRevenueDto> result = revenueAnalyticsService.getServiceRevenue(
+                StatisticsPeriod.WEEK, WEEK_START.plusDays(3), WEEK_START.plusDays(10), 1L);
+
+        // Then
+        assertThat(result).containsExactly(revenue);
+    }
+
+    @Test
+    void shouldRejectReversedRange() {
+        // When & Then
+        assertThatThrownBy(() -> revenueAnalyticsService.getServiceRevenue(
+                StatisticsPeriod.DAY, WEEK_START, WEEK_START.minusDays(1), null))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(revenueRollupDao);
+    }
+
+    @Test
+    void shouldRejectTooManyBuckets() {
+        // When & Then
+        assertThatThrownBy(() -> revenueAnalyticsService.getEmployeeRevenue(
+                StatisticsPeriod.DAY, WEEK_START, WEEK_START.plusYears(2), null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Date range too long");
+        verifyNoInteractions(revenueRollupDao);
+    }
+
+    private EmployeeRevenueDto bucket(Long employeeId, LocalDate start, Long bookedMinutes) {
+        return new EmployeeRevenueDto(employeeId, "Anna Nowak", start, 2L, new BigDecimal("100.00"),
+                bookedMinutes, null, null);
+    }
+
+    private EmployeeSchedule schedule(Long employeeId, DayOfWeek day, int fromHour, int toHour) {
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+        return EmployeeSchedule.builder()
+                .employee(employee)
+                .dayOfWeek(day)
+                .startTime(LocalTime.of(fromHour, 0))
+                .endTime(LocalTime.of(toHour, 0))
+                .isWorkingDay(true)
+                .build();
+    }
+
+    private EmployeeSchedule dayOff(Long employeeId, DayOfWeek day) {
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+        return EmployeeSchedule.builder()
+                .employee(employee)
+                .dayOfWeek(day)
+                .isWorkingDay(false)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.salonmanager.salon_manager.dao.RevenueRollupDao;
+import pl.edu.salonmanager.salon_manager.event.ReservationChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.ReservationSnapshot;
+import pl.edu.salonmanager.salon_manager.model.enums.ReservationStatus;
+import pl.edu.salonmanager.salon_manager.model.enums.StatisticsPeriod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueRollupUpdaterTest {
+
+    // Wednesday
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 9, 10, 0);
+    private static final LocalDate DAY = START.toLocalDate();
+    private static final LocalDate WEEK = LocalDate.of(2030, 1, 7);
+    private static final LocalDate MONTH = LocalDate.of(2030, 1, 1);
+
+    @Mock
+    private RevenueRollupDao revenueRollupDao;
+
+    @InjectMocks
+    private RevenueRollupUpdater revenueRollupUpdater;
+
+    @Test
+    void shouldIgnoreReservationThatIsNotCounted() {
+        // When
+        revenueRollupUpdater.onReservationChanged(new ReservationChangedEvent(
+                null, snapshot(START, ReservationStatus.CREATED)));
+
+        // Then
+        verifyNoInteractions(revenueRollupDao);
+    }
+
+    @Test
+    void shouldAddBookingToEveryPeriodWhenReservationIsApproved() {
+        // When
+        revenueRollupUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(START, ReservationStatus.CREATED),
+                snapshot(START, ReservationStatus.APPROVED_BY_SALON)));
+
+        // Then
+        verify(revenueRollupDao).applyEmployeeDelta(5L, StatisticsPeriod.DAY, DAY, 1, new BigDecimal("90.00"), 60);
+        verify(revenueRollupDao).applyEmployeeDelta(5L, StatisticsPeriod.WEEK, WEEK, 1, new BigDecimal("90.00"), 60);
+        verify(revenueRollupDao).applyEmployeeDelta(5L, StatisticsPeriod.MONTH, MONTH, 1, new BigDecimal("90.00"), 60);
+        verify(revenueRollupDao).applyServiceDelta(1L, StatisticsPeriod.DAY, DAY, 1, new BigDecimal("50.00"));
+        verify(revenueRollupDao).applyServiceDelta(2L, StatisticsPeriod.MONTH, MONTH, 1, new BigDecimal("40.00"));
+        verify(revenueRollupDao, times(6)).applyServiceDelta(anyLong(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void shouldNotChangeRollupsWhenApprovedReservationIsConfirmed() {
+        // When
+        revenueRollupUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(START, ReservationStatus.APPROVED_BY_SALON),
+                snapshot(START, ReservationStatus.CONFIRMED_BY_CLIENT)));
+
+        // Then
+        verifyNoInteractions(revenueRollupDao);
+    }
+
+    @Test
+    void shouldSubtractBookingWhenCountedReservationIsCancelled() {
+        // When
+        revenueRollupUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(START, ReservationStatus.CONFIRMED_BY_CLIENT),
+                snapshot(START, ReservationStatus.CANCELLED)));
+
+        // Then
+        verify(revenueRollupDao).applyEmployeeDelta(5L, StatisticsPeriod.WEEK, WEEK, -1, new BigDecimal("-90.00"), -60);
+        verify(revenueRollupDao).applyServiceDelta(2L, StatisticsPeriod.DAY, DAY, -1, new BigDecimal("-40.00"));
+    }
+
+    @Test
+    void shouldMoveOnlyDayBucketWhenCountedReservationMovesWithinWeek() {
+        // When
+        revenueRollupUpdater.onReservationChanged(new ReservationChangedEvent(
+                snapshot(START, ReservationStatus.APPROVED_BY_SALON),
+                snapshot(START.plusDays(1), ReservationStatus.APPROVED_BY_SALON)));
+
+        // Then
+        verify(revenueRollupDao).applyEmployeeDelta(5L, StatisticsPeriod.DAY, DAY, -1, new BigDecimal("-90.00"), -60);
+        verify(revenueRollupDao).applyEmployeeDelta(5L, StatisticsPeriod.DAY, DAY.plusDays(1), 1, new BigDecimal("90.00"), 60);
+        verify(revenueRollupDao, never()).applyEmployeeDelta(anyLong(), eq(StatisticsPeriod.WEEK), any(), anyLong(), any(), anyLong());
+        verify(revenueRollupDao, never()).applyEmployeeDelta(anyLong(), eq(StatisticsPeriod.MONTH), any(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void shouldRebuildRollupsOnReconcile() {
+        // Given
+        when(revenueRollupDao.rebuildRollups()).thenReturn(12);
+
+        // When
+        revenueRollupUpdater.reconcile();
+
+        // Then
+        verify(revenueRollupDao).rebuildRollups();
+    }
+
+    private ReservationSnapshot snapshot(LocalDateTime start, ReservationStatus status) {
+        return new ReservationSnapshot(10L, 1L, 5L, start, start.plusMinutes(60), new BigDecimal("90.00"), status,
+                Map.of(1L, new BigDecimal("50.00"), 2L, new BigDecimal("40.00")));
+    }
+}
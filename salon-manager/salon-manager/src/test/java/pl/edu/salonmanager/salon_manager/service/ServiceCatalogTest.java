@@ -0,0 +1,109 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.salonmanager.salon_manager.event.ServiceCatalogChangedEvent;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.projection.ServiceOfferView;
+import pl.edu.salonmanager.salon_manager.repository.ServiceOfferRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceCatalogTest {
+
+    private final ServiceOfferView haircut = new ServiceOfferView(1L, "Haircut", new BigDecimal("50.00"), 30);
+    private final ServiceOfferView coloring = new ServiceOfferView(2L, "Coloring", new BigDecimal("120.00"), 90);
+
+    @Mock
+    private ServiceOfferRepository serviceOfferRepository;
+
+    @InjectMocks
+    private ServiceCatalog serviceCatalog;
+
+    @Test
+    void shouldLoadCatalogOnceForRepeatedLookups() {
+        // Given
+        when(serviceOfferRepository.findAllViews()).thenReturn(List.of(haircut, coloring));
+
+        // When
+        serviceCatalog.findById(1L);
+        serviceCatalog.findAllById(List.of(1L, 2L));
+
+        // Then
+        assertThat(serviceCatalog.findById(2L)).contains(coloring);
+        verify(serviceOfferRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    void shouldSkipUnknownIds() {
+        // Given
+        when(serviceOfferRepository.findAllViews()).thenReturn(List.of(haircut, coloring));
+
+        // When & Then
+        assertThat(serviceCatalog.findAllById(List.of(2L, 99L, 1L))).containsExactly(coloring, haircut);
+        assertThat(serviceCatalog.findById(99L)).isEmpty();
+    }
+
+    @Test
+    void shouldReloadAfterCatalogChange() {
+        // Given
+        ServiceOfferView repricedHaircut = new ServiceOfferView(1L, "Haircut", new BigDecimal("60.00"), 30);
+        when(serviceOfferRepository.findAllViews())
+                .thenReturn(List.of(haircut))
+                .thenReturn(List.of(repricedHaircut));
+        serviceCatalog.findById(1L);
+        long versionBefore = serviceCatalog.version();
+
+        // When
+        serviceCatalog.onServiceCatalogChanged(new ServiceCatalogChangedEvent());
+
+        // Then
+        assertThat(serviceCatalog.version()).isGreaterThan(versionBefore);
+        assertThat(serviceCatalog.findById(1L)).contains(repricedHaircut);
+        verify(serviceOfferRepository, times(2)).findAllViews();
+    }
+
+    @Test
+    void shouldPickUpChangesCommittedElsewhereOnRefresh() {
+        // Given
+        ServiceOfferView repricedHaircut = new ServiceOfferView(1L, "Haircut", new BigDecimal("60.00"), 30);
+        when(serviceOfferRepository.findAllViews())
+                .thenReturn(List.of(haircut))
+                .thenReturn(List.of(repricedHaircut));
+        serviceCatalog.findById(1L);
+        long versionBefore = serviceCatalog.version();
+
+        // When
+        serviceCatalog.refresh();
+
+        // Then
+        assertThat(serviceCatalog.version()).isGreaterThan(versionBefore);
+        assertThat(serviceCatalog.findById(1L)).contains(repricedHaircut);
+        verify(serviceOfferRepository, times(2)).findAllViews();
+    }
+
+    @Test
+    void shouldKeepVersionWhenRefreshFindsNoChange() {
+        // Given
+        when(serviceOfferRepository.findAllViews()).thenReturn(List.of(haircut, coloring));
+        serviceCatalog.findById(1L);
+        String tagBefore = serviceCatalog.versionTag();
+
+        // When
+        serviceCatalog.refresh();
+
+        // Then
+        assertThat(serviceCatalog.versionTag()).isEqualTo(tagBefore);
+        assertThat(serviceCatalog.findById(2L)).contains(coloring);
+        verify(serviceOfferRepository, times(2)).findAllViews();
+    }
+}
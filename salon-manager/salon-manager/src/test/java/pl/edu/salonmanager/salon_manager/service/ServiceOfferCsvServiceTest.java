@@ -1,158 +1,82 @@
 package pl.edu.salonmanager.salon_manager.service;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
+import pl.edu.salonmanager.salon_manager.dao.ServiceOfferImportDao;
+import pl.edu.salonmanager.salon_manager.event.ServiceCatalogChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
-import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.ServiceOfferDto;
-import pl.edu.salonmanager.salon_manager.repository.ServiceOfferRepository;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.CsvImportErrorDto;
+import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.response.CsvImportReportDto;
 
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ServiceOfferCsvServiceTest {
 
+    private static final String HEADER = "name,price,durationMinutes\n";
+
     @Mock
-    private ServiceOfferRepository serviceOfferRepository;
+    private ServiceOfferImportDao serviceOfferImportDao;
 
     @Mock
-    private ServiceOfferService serviceOfferService;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ServiceOfferCsvService csvService;
 
-    private ServiceOfferDto testServiceDto1;
-    private ServiceOfferDto testServiceDto2;
-
-    @BeforeEach
-    void setUp() {
-        testServiceDto1 = new ServiceOfferDto(1L, "Strzyżenie", new BigDecimal("50.00"), 30);
-        testServiceDto2 = new ServiceOfferDto(2L, "Farbowanie", new BigDecimal("150.00"), 120);
-    }
-
-    // ==================== Export Tests ====================
-
-    @Test
-    void shouldExportServicesToCsv() {
-        // Given
-        when(serviceOfferService.getAllServices()).thenReturn(Arrays.asList(testServiceDto1, testServiceDto2));
-
-        // When
-        String csv = csvService.exportToCsv();
-
-        // Then
-        assertThat(csv).isNotNull();
-        assertThat(csv).contains("name,price,durationMinutes");
-        assertThat(csv).contains("Strzyżenie,50.00,30");
-        assertThat(csv).contains("Farbowanie,150.00,120");
-        verify(serviceOfferService).getAllServices();
-    }
-
     @Test
-    void shouldExportEmptyListToCsv() {
-        // Given
-        when(serviceOfferService.getAllServices()).thenReturn(Collections.emptyList());
-
-        // When
-        String csv = csvService.exportToCsv();
-
-        // Then
-        assertThat(csv).isEqualTo("name,price,durationMinutes\n");
-        verify(serviceOfferService).getAllServices();
-    }
-
-    @Test
-    void shouldEscapeCsvValuesWithComma() {
-        // Given
-        ServiceOfferDto serviceWithComma = new ServiceOfferDto(1L, "Strzyżenie, stylizacja", new BigDecimal("80.00"), 45);
-        when(serviceOfferService.getAllServices()).thenReturn(List.of(serviceWithComma));
-
-        // When
-        String csv = csvService.exportToCsv();
-
-        // Then
-        assertThat(csv).contains("\"Strzyżenie, stylizacja\"");
-        verify(serviceOfferService).getAllServices();
-    }
-
-    @Test
-    void shouldEscapeCsvValuesWithQuotes() {
-        // Given
-        ServiceOfferDto serviceWithQuotes = new ServiceOfferDto(1L, "Strzyżenie \"Premium\"", new BigDecimal("100.00"), 60);
-        when(serviceOfferService.getAllServices()).thenReturn(List.of(serviceWithQuotes));
-
-        // When
-        String csv = csvService.exportToCsv();
-
-        // Then
-        assertThat(csv).contains("\"Strzyżenie \"\"Premium\"\"\"");
-        verify(serviceOfferService).getAllServices();
-    }
-
-    @Test
-    void shouldEscapeCsvValuesWithNewline() {
-        // Given
-        ServiceOfferDto serviceWithNewline = new ServiceOfferDto(1L, "Strzyżenie\nz myciem", new BigDecimal("60.00"), 40);
-        when(serviceOfferService.getAllServices()).thenReturn(List.of(serviceWithNewline));
-
-        // When
-        String csv = csvService.exportToCsv();
-
-        // Then
-        assertThat(csv).contains("\"Strzyżenie\nz myciem\"");
-        verify(serviceOfferService).getAllServices();
-    }
-
-    @Test
-    void shouldHandleNullNameInExport() {
+    void shouldImportServicesFromCsv() {
         // Given
-        ServiceOfferDto serviceWithNullName = new ServiceOfferDto(1L, null, new BigDecimal("50.00"), 30);
-        when(serviceOfferService.getAllServices()).thenReturn(List.of(serviceWithNullName));
+        when(serviceOfferImportDao.insertAll(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
 
         // When
-        String csv = csvService.exportToCsv();
+        CsvImportReportDto report = csvService.importFromCsv(csv(HEADER + "Strzyżenie,50.00,30\nFarbowanie,150.00,120"));
 
         // Then
-        assertThat(csv).contains(",50.00,30");
-        verify(serviceOfferService).getAllServices();
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(report.getRowsRead()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).isEmpty();
+
+        List<CreateServiceRequest> inserted = insertedRows();
+        assertThat(inserted).extracting(CreateServiceRequest::getName).containsExactly("Strzyżenie", "Farbowanie");
+        assertThat(inserted.get(1).getPrice()).isEqualByComparingTo("150.00");
+        assertThat(inserted.get(1).getDurationMinutes()).isEqualTo(120);
+        verify(eventPublisher).publishEvent(any(ServiceCatalogChangedEvent.class));
     }
 
-    // ==================== Import Tests ====================
-
     @Test
-    void shouldImportServicesFromCsv() {
+    void shouldParseQuotedFields() {
         // Given
-        String csvContent = "name,price,durationMinutes\nStrzyżenie,50.00,30\nFarbowanie,150.00,120";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
-
-        when(serviceOfferService.createService(any(CreateServiceRequest.class)))
-                .thenReturn(testServiceDto1)
-                .thenReturn(testServiceDto2);
+        when(serviceOfferImportDao.insertAll(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        String content = HEADER
+                + "\"Strzyżenie, stylizacja\",80.00,45\r\n"
+                + "\"Strzyżenie \"\"Premium\"\"\",100.00,60\r\n"
+                + "\"Strzyżenie\nz myciem\",60.00,40\r\n";
 
         // When
-        List<ServiceOfferDto> result = csvService.importFromCsv(file);
+        CsvImportReportDto report = csvService.importFromCsv(csv(content));
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getName()).isEqualTo("Strzyżenie");
-        assertThat(result.get(1).getName()).isEqualTo("Farbowanie");
-        verify(serviceOfferService, times(2)).createService(any(CreateServiceRequest.class));
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(insertedRows()).extracting(CreateServiceRequest::getName)
+                .containsExactly("Strzyżenie, stylizacja", "Strzyżenie \"Premium\"", "Strzyżenie\nz myciem");
     }
 
     @Test
@@ -165,7 +89,7 @@ class ServiceOfferCsvServiceTest {
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("File is empty");
 
-        verify(serviceOfferService, never()).createService(any());
+        verifyNoInteractions(serviceOfferImportDao);
     }
 
     @Test
@@ -179,226 +103,197 @@ class ServiceOfferCsvServiceTest {
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("File must be a CSV file");
 
-        verify(serviceOfferService, never()).createService(any());
+        verifyNoInteractions(serviceOfferImportDao);
     }
 
     @Test
     void shouldThrowExceptionWhenHeaderIsInvalid() {
-        // Given
-        String csvContent = "invalid,header,format\nStrzyżenie,50.00,30";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
-
         // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
+        assertThatThrownBy(() -> csvService.importFromCsv(csv("invalid,header,format\nStrzyżenie,50.00,30")))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Invalid CSV format");
 
-        verify(serviceOfferService, never()).createService(any());
+        verifyNoInteractions(serviceOfferImportDao);
     }
 
     @Test
     void shouldThrowExceptionWhenHeaderIsMissing() {
-        // Given - file with content but header line is null (only whitespace/newlines)
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                "\n\n".getBytes(StandardCharsets.UTF_8));
-
         // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
+        assertThatThrownBy(() -> csvService.importFromCsv(csv("\n\n")))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Invalid CSV format");
 
-        verify(serviceOfferService, never()).createService(any());
+        verifyNoInteractions(serviceOfferImportDao);
     }
 
     @Test
-    void shouldSkipEmptyLines() {
+    void shouldAcceptHeaderWithByteOrderMark() {
         // Given
-        String csvContent = "name,price,durationMinutes\n\nStrzyżenie,50.00,30\n\n";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
-
-        when(serviceOfferService.createService(any(CreateServiceRequest.class))).thenReturn(testServiceDto1);
+        when(serviceOfferImportDao.insertAll(anyList())).thenReturn(1);
 
         // When
-        List<ServiceOfferDto> result = csvService.importFromCsv(file);
+        CsvImportReportDto report = csvService.importFromCsv(csv("\uFEFF" + HEADER + "Strzyżenie,50.00,30"));
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(serviceOfferService, times(1)).createService(any(CreateServiceRequest.class));
+        assertThat(report.getImported()).isEqualTo(1);
     }
 
     @Test
-    void shouldThrowExceptionWhenWrongNumberOfColumns() {
-        // Given
-        String csvContent = "name,price,durationMinutes\nStrzyżenie,50.00";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
-
+    void shouldThrowExceptionWhenQuoteIsUnterminated() {
         // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
+        assertThatThrownBy(() -> csvService.importFromCsv(csv(HEADER + "Valid,50.00,30\n\"Broken,50.00,30\n")))
                 .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Expected 3 columns");
+                .hasMessageContaining("line 3");
 
-        verify(serviceOfferService, never()).createService(any());
+        verifyNoInteractions(serviceOfferImportDao);
     }
 
     @Test
-    void shouldThrowExceptionWhenNameIsEmpty() {
+    void shouldSkipEmptyLines() {
         // Given
-        String csvContent = "name,price,durationMinutes\n,50.00,30";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
+        when(serviceOfferImportDao.insertAll(anyList())).thenReturn(1);
 
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Name cannot be empty");
+        // When
+        CsvImportReportDto report = csvService.importFromCsv(csv(HEADER + "\nStrzyżenie,50.00,30\n\n"));
 
-        verify(serviceOfferService, never()).createService(any());
+        // Then
+        assertThat(report.getRowsRead()).isEqualTo(1);
+        assertThat(insertedRows()).hasSize(1);
     }
 
     @Test
-    void shouldThrowExceptionWhenNameIsTooLong() {
+    void shouldNotPublishCatalogChangeWhenNothingImported() {
         // Given
-        String longName = "A".repeat(101);
-        String csvContent = "name,price,durationMinutes\n" + longName + ",50.00,30";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
+        when(serviceOfferImportDao.insertAll(anyList())).thenReturn(0);
 
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Name too long");
+        // When
+        CsvImportReportDto report = csvService.importFromCsv(csv(HEADER));
 
-        verify(serviceOfferService, never()).createService(any());
+        // Then
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(report.getImported()).isZero();
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void shouldThrowExceptionWhenPriceIsInvalid() {
-        // Given
-        String csvContent = "name,price,durationMinutes\nStrzyżenie,invalid,30";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
-
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Invalid price format");
-
-        verify(serviceOfferService, never()).createService(any());
+    void shouldReportWrongNumberOfColumns() {
+        assertSingleError(HEADER + "Strzyżenie,50.00", "Expected 3 columns");
     }
 
     @Test
-    void shouldThrowExceptionWhenPriceIsZero() {
-        // Given
-        String csvContent = "name,price,durationMinutes\nStrzyżenie,0,30";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
+    void shouldReportEmptyName() {
+        assertSingleError(HEADER + ",50.00,30", "Name cannot be empty");
+    }
 
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Price must be positive");
+    @Test
+    void shouldReportTooLongName() {
+        assertSingleError(HEADER + "A".repeat(101) + ",50.00,30", "Name too long");
+    }
 
-        verify(serviceOfferService, never()).createService(any());
+    @Test
+    void shouldReportInvalidPrice() {
+        assertSingleError(HEADER + "Strzyżenie,invalid,30", "Invalid price format");
     }
 
     @Test
-    void shouldThrowExceptionWhenPriceIsNegative() {
-        // Given
-        String csvContent = "name,price,durationMinutes\nStrzyżenie,-10.00,30";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
+    void shouldReportZeroPrice() {
+        assertSingleError(HEADER + "Strzyżenie,0,30", "Price must be positive");
+    }
 
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Price must be positive");
+    @Test
+    void shouldReportNegativePrice() {
+        assertSingleError(HEADER + "Strzyżenie,-10.00,30", "Price must be positive");
+    }
 
-        verify(serviceOfferService, never()).createService(any());
+    @Test
+    void shouldReportPriceNotFittingColumn() {
+        assertSingleError(HEADER + "Strzyżenie,123456789.00,30", "Price out of range");
+        assertSingleError(HEADER + "Strzyżenie,10.005,30", "Price out of range");
     }
 
     @Test
-    void shouldThrowExceptionWhenDurationIsInvalid() {
-        // Given
-        String csvContent = "name,price,durationMinutes\nStrzyżenie,50.00,invalid";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
+    void shouldReportInvalidDuration() {
+        assertSingleError(HEADER + "Strzyżenie,50.00,invalid", "Invalid duration format");
+    }
 
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Invalid duration format");
+    @Test
+    void shouldReportZeroDuration() {
+        assertSingleError(HEADER + "Strzyżenie,50.00,0", "Duration must be positive");
+    }
 
-        verify(serviceOfferService, never()).createService(any());
+    @Test
+    void shouldReportNegativeDuration() {
+        assertSingleError(HEADER + "Strzyżenie,50.00,-30", "Duration must be positive");
     }
 
     @Test
-    void shouldThrowExceptionWhenDurationIsZero() {
+    void shouldTrimWhitespaceFromValues() {
         // Given
-        String csvContent = "name,price,durationMinutes\nStrzyżenie,50.00,0";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
+        when(serviceOfferImportDao.insertAll(anyList())).thenReturn(1);
 
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Duration must be positive");
+        // When
+        csvService.importFromCsv(csv(HEADER + "  Strzyżenie  ,  50.00  ,  30  "));
 
-        verify(serviceOfferService, never()).createService(any());
+        // Then
+        CreateServiceRequest inserted = insertedRows().get(0);
+        assertThat(inserted.getName()).isEqualTo("Strzyżenie");
+        assertThat(inserted.getPrice()).isEqualByComparingTo(new BigDecimal("50.00"));
+        assertThat(inserted.getDurationMinutes()).isEqualTo(30);
     }
 
     @Test
-    void shouldThrowExceptionWhenDurationIsNegative() {
+    void shouldReportEveryInvalidLineAndImportNothing() {
         // Given
-        String csvContent = "name,price,durationMinutes\nStrzyżenie,50.00,-30";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
+        String content = HEADER
+                + "Valid,50.00,30\n"
+                + "Invalid,bad,30\n"
+                + "\"Multi\nline\",50.00,30\n"
+                + "Other,50.00,0\n";
 
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("Duration must be positive");
+        // When
+        CsvImportReportDto report = csvService.importFromCsv(csv(content));
 
-        verify(serviceOfferService, never()).createService(any());
+        // Then
+        assertThat(report.isSuccessful()).isFalse();
+        assertThat(report.getRowsRead()).isEqualTo(4);
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getErrorCount()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(CsvImportErrorDto::getLine).containsExactly(3, 6);
+        verifyNoInteractions(serviceOfferImportDao, eventPublisher);
     }
 
     @Test
-    void shouldTrimWhitespaceFromValues() {
+    void shouldCapReportedErrors() {
         // Given
-        String csvContent = "name,price,durationMinutes\n  Strzyżenie  ,  50.00  ,  30  ";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
-
-        when(serviceOfferService.createService(any(CreateServiceRequest.class))).thenReturn(testServiceDto1);
+        String content = HEADER + "Invalid,bad,30\n".repeat(150);
 
         // When
-        List<ServiceOfferDto> result = csvService.importFromCsv(file);
+        CsvImportReportDto report = csvService.importFromCsv(csv(content));
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(serviceOfferService).createService(argThat(req ->
-                req.getName().equals("Strzyżenie") &&
-                req.getPrice().compareTo(new BigDecimal("50.00")) == 0 &&
-                req.getDurationMinutes() == 30
-        ));
+        assertThat(report.getErrorCount()).isEqualTo(150);
+        assertThat(report.getErrors()).hasSize(100);
     }
 
-    @Test
-    void shouldIncludeLineNumberInErrorMessage() {
-        // Given
-        String csvContent = "name,price,durationMinutes\nValid,50.00,30\nInvalid,bad,30";
-        MultipartFile file = new MockMultipartFile("file", "services.csv", "text/csv",
-                csvContent.getBytes(StandardCharsets.UTF_8));
+    private void assertSingleError(String content, String message) {
+        CsvImportReportDto report = csvService.importFromCsv(csv(content));
 
-        when(serviceOfferService.createService(any(CreateServiceRequest.class))).thenReturn(testServiceDto1);
+        assertThat(report.isSuccessful()).isFalse();
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2);
+            assertThat(error.getMessage()).contains(message);
+        });
+        verifyNoInteractions(serviceOfferImportDao);
+    }
 
-        // When & Then
-        assertThatThrownBy(() -> csvService.importFromCsv(file))
-                .isInstanceOf(BadRequestException.class)
-                .hasMessageContaining("line 3");
+    @SuppressWarnings("unchecked")
+    private List<CreateServiceRequest> insertedRows() {
+        ArgumentCaptor<List<CreateServiceRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(serviceOfferImportDao).insertAll(captor.capture());
+        return captor.getValue();
+    }
 
-        verify(serviceOfferService, times(1)).createService(any(CreateServiceRequest.class));
+    private MultipartFile csv(String content) {
+        return new MockMultipartFile("file", "services.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import pl.edu.salonmanager.salon_manager.event.ServiceCatalogChangedEvent;
+import pl.edu.salonmanager.salon_manager.event.SpecializationsChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.CreateServiceRequest;
 import pl.edu.salonmanager.salon_manager.model.dto.serviceOffer.request.UpdateServiceRequest;
@@ -30,6 +33,9 @@ class ServiceOfferServiceTest {
     @Mock
     private ServiceOfferRepository serviceOfferRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ServiceOfferService serviceOfferService;
 
@@ -148,6 +154,7 @@ class ServiceOfferServiceTest {
         assertThat(result.getDurationMinutes()).isEqualTo(45);
 
         verify(serviceOfferRepository).save(any(ServiceOffer.class));
+        verify(eventPublisher).publishEvent(new ServiceCatalogChangedEvent());
     }
 
     // ========== updateService Tests ==========
@@ -175,6 +182,7 @@ class ServiceOfferServiceTest {
 
         verify(serviceOfferRepository).findById(1L);
         verify(serviceOfferRepository).save(any(ServiceOffer.class));
+        verify(eventPublisher).publishEvent(new ServiceCatalogChangedEvent());
     }
 
     @Test
@@ -202,6 +210,8 @@ class ServiceOfferServiceTest {
         // Then
         verify(serviceOfferRepository).existsById(1L);
         verify(serviceOfferRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new SpecializationsChangedEvent());
+        verify(eventPublisher).publishEvent(new ServiceCatalogChangedEvent());
     }
 
     @Test
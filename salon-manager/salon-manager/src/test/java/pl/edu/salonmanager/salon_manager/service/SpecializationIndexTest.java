@@ -0,0 +1,91 @@
+package pl.edu.salonmanager.salon_manager.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.salonmanager.salon_manager.event.SpecializationsChangedEvent;
+import pl.edu.salonmanager.salon_manager.model.dto.employeeSpecialization.projection.SpecializationPair;
+import pl.edu.salonmanager.salon_manager.repository.EmployeeSpecializationRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SpecializationIndexTest {
+
+    @Mock
+    private EmployeeSpecializationRepository employeeSpecializationRepository;
+
+    @InjectMocks
+    private SpecializationIndex specializationIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(employeeSpecializationRepository.findAllSpecializationPairs()).thenReturn(List.of(
+                new SpecializationPair(30L, 1L),
+                new SpecializationPair(10L, 1L),
+                new SpecializationPair(10L, 2L),
+                new SpecializationPair(20L, 2L),
+                new SpecializationPair(30L, 2L),
+                new SpecializationPair(30L, 3L)
+        ));
+    }
+
+    @Test
+    void shouldFindEmployeesQualifiedForAllServices() {
+        assertThat(specializationIndex.findQualifiedEmployeeIds(List.of(1L))).containsExactly(10L, 30L);
+        assertThat(specializationIndex.findQualifiedEmployeeIds(List.of(2L))).containsExactly(10L, 20L, 30L);
+        assertThat(specializationIndex.findQualifiedEmployeeIds(List.of(1L, 2L))).containsExactly(10L, 30L);
+        assertThat(specializationIndex.findQualifiedEmployeeIds(List.of(1L, 2L, 3L))).containsExactly(30L);
+    }
+
+    @Test
+    void shouldFindNobodyForUnknownService() {
+        assertThat(specializationIndex.findQualifiedEmployeeIds(List.of(1L, 99L))).isEmpty();
+        assertThat(specializationIndex.findQualifiedEmployeeIds(List.of())).isEmpty();
+    }
+
+    @Test
+    void shouldCheckSingleEmployeeQualification() {
+        assertThat(specializationIndex.isQualified(10L, List.of(1L, 2L))).isTrue();
+        assertThat(specializationIndex.isQualified(20L, List.of(1L, 2L))).isFalse();
+        assertThat(specializationIndex.isQualified(30L, List.of(3L))).isTrue();
+        assertThat(specializationIndex.isQualified(10L, List.of(99L))).isFalse();
+        assertThat(specializationIndex.isQualified(99L, List.of(1L))).isFalse();
+    }
+
+    @Test
+    void shouldLoadOnceAndReloadAfterSpecializationsChange() {
+        specializationIndex.findQualifiedEmployeeIds(List.of(1L));
+        specializationIndex.isQualified(10L, List.of(1L));
+
+        when(employeeSpecializationRepository.findAllSpecializationPairs()).thenReturn(List.of(
+                new SpecializationPair(20L, 1L)
+        ));
+        specializationIndex.onSpecializationsChanged(new SpecializationsChangedEvent());
+
+        assertThat(specializationIndex.findQualifiedEmployeeIds(List.of(1L))).containsExactly(20L);
+        assertThat(specializationIndex.isQualified(10L, List.of(1L))).isFalse();
+        verify(employeeSpecializationRepository, times(2)).findAllSpecializationPairs();
+    }
+
+    @Test
+    void shouldPickUpChangesCommittedElsewhereOnRefresh() {
+        assertThat(specializationIndex.isQualified(20L, List.of(1L))).isFalse();
+
+        when(employeeSpecializationRepository.findAllSpecializationPairs()).thenReturn(List.of(
+                new SpecializationPair(20L, 1L)
+        ));
+        specializationIndex.refresh();
+
+        assertThat(specializationIndex.isQualified(20L, List.of(1L))).isTrue();
+        assertThat(specializationIndex.findQualifiedEmployeeIds(List.of(1L))).containsExactly(20L);
+    }
+}
@@ -8,13 +8,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import pl.edu.salonmanager.salon_manager.dao.StatisticsDao;
 
+import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsDto;
+import pl.edu.salonmanager.salon_manager.model.dto.statistics.ClientStatisticsPageDto;
+import pl.edu.salonmanager.salon_manager.model.enums.ClientStatisticsSort;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import static org.mockito.Mockito.*;
 
@@ -88,4 +94,106 @@ class StatisticsServiceTest {
         assertThat(result).isNull();
         verify(statisticsDao).getClientStatisticsById(id);
     }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        // Given
+        when(statisticsDao.getClientStatisticsPage(ClientStatisticsSort.SPENDING, null, null, 21))
+                .thenReturn(List.of(sampleStats));
+
+        // When
+        ClientStatisticsPageDto page = statisticsService.getClientStatisticsPage(ClientStatisticsSort.SPENDING, null, 20);
+
+        // Then
+        assertThat(page.getContent()).containsExactly(sampleStats);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldContinueFromCursorOfPreviousPage() {
+        // Given
+        ClientStatisticsDto other = stats(2L, 4L, "600.00");
+        ClientStatisticsDto third = stats(3L, 2L, "100.00");
+        when(statisticsDao.getClientStatisticsPage(ClientStatisticsSort.SPENDING, null, null, 3))
+                .thenReturn(List.of(sampleStats, other, third));
+        when(statisticsDao.getClientStatisticsPage(ClientStatisticsSort.SPENDING, new BigDecimal("600.00"), 2L, 3))
+                .thenReturn(List.of(third));
+
+        // When
+        ClientStatisticsPageDto first = statisticsService.getClientStatisticsPage(ClientStatisticsSort.SPENDING, null, 2);
+        ClientStatisticsPageDto second = statisticsService.getClientStatisticsPage(
+                ClientStatisticsSort.SPENDING, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getContent()).containsExactly(sampleStats, other);
+        assertThat(first.getNextCursor()).isNotBlank();
+        assertThat(second.getContent()).containsExactly(third);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldUseVisitCountInCursorWhenSortingByVisits() {
+        // Given
+        ClientStatisticsDto other = stats(2L, 4L, "600.00");
+        when(statisticsDao.getClientStatisticsPage(ClientStatisticsSort.VISITS, null, null, 2))
+                .thenReturn(List.of(sampleStats, other));
+        when(statisticsDao.getClientStatisticsPage(ClientStatisticsSort.VISITS, 10L, 1L, 2))
+                .thenReturn(List.of(other));
+
+        // When
+        ClientStatisticsPageDto first = statisticsService.getClientStatisticsPage(ClientStatisticsSort.VISITS, null, 1);
+        ClientStatisticsPageDto second = statisticsService.getClientStatisticsPage(
+                ClientStatisticsSort.VISITS, first.getNextCursor(), 1);
+
+        // Then
+        assertThat(second.getContent()).containsExactly(other);
+    }
+
+    @Test
+    void shouldRejectCursorFromDifferentSortOrder() {
+        // Given
+        when(statisticsDao.getClientStatisticsPage(ClientStatisticsSort.VISITS, null, null, 2))
+                .thenReturn(List.of(sampleStats, stats(2L, 4L, "600.00")));
+        String visitsCursor = statisticsService.getClientStatisticsPage(ClientStatisticsSort.VISITS, null, 1).getNextCursor();
+
+        // When & Then
+        assertThatThrownBy(() -> statisticsService.getClientStatisticsPage(ClientStatisticsSort.SPENDING, visitsCursor, 1))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("sort order");
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        // When & Then
+        assertThatThrownBy(() -> statisticsService.getClientStatisticsPage(ClientStatisticsSort.SPENDING, "not-a-cursor", 20))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(statisticsDao);
+    }
+
+    @Test
+    void shouldRejectFractionalVisitCountInCursor() {
+        // Given
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("VISITS|1.5|3".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThatThrownBy(() -> statisticsService.getClientStatisticsPage(ClientStatisticsSort.VISITS, cursor, 20))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+        verifyNoInteractions(statisticsDao);
+    }
+
+    @Test
+    void shouldRejectLimitAboveMaximum() {
+        // When & Then
+        assertThatThrownBy(() -> statisticsService.getClientStatisticsPage(ClientStatisticsSort.SPENDING, null, 101))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Limit");
+        verifyNoInteractions(statisticsDao);
+    }
+
+    private ClientStatisticsDto stats(Long clientId, Long visits, String totalSpending) {
+        return new ClientStatisticsDto(clientId, "Client " + clientId, "client" + clientId + "@example.com",
+                visits, 30, new BigDecimal("50.00"), new BigDecimal(totalSpending));
+    }
 }
@@ -6,7 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.edu.salonmanager.salon_manager.event.UserCredentialsChangedEvent;
 import pl.edu.salonmanager.salon_manager.exception.BadRequestException;
 import pl.edu.salonmanager.salon_manager.exception.ResourceNotFoundException;
 import pl.edu.salonmanager.salon_manager.model.dto.user.response.UserDto;
@@ -22,8 +24,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -37,6 +38,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -170,4 +174,29 @@ class UserServiceTest {
         // Then
         verify(userRepository).save(any(User.class));
     }
+
+    @Test
+    void shouldPublishCredentialsChangedEventWhenDeletingUser() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+
+        // When
+        userService.deleteUser(1L);
+
+        // Then
+        verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent(savedUser.getEmail()));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenDeletingMissingUser() {
+        // Given
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> userService.deleteUser(99L))
+                .isInstanceOf(BadRequestException.class);
+        verify(userRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
+    }
 }